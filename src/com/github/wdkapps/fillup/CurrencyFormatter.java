@@ -1,162 +1,211 @@
-/*
- * *****************************************************************************
- * Copyright 2014 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.text.DecimalFormat;
-import java.text.FieldPosition;
-import java.text.Format;
-import java.text.NumberFormat;
-import java.text.ParsePosition;
-import java.util.Currency;
-import java.util.Locale;
-
-import android.util.Log;
-
-/**
- * A formatter for currency values as text Strings for a specified currency/locale.
- */
-public class CurrencyFormatter extends Format {
-	
-	protected static final long serialVersionUID = 4871547796586258218L;
-
-	/// for logging
-	protected static final String TAG = CurrencyFormatter.class.getName();
-	
-    /// locale for currently selected currency
-	protected Locale locale;
-	
-	// flag indicating whether the formatter is numeric (without currency symbol)
-	protected boolean numeric;
-    
-    /// the actual number formatter
-	protected NumberFormat nf; 
-
-	/**
-	 * Constructs an instance of CurrencyFormatter.
-	 * @param numeric true = numeric formatter, false = symbolic formatter
-	 */
-	public CurrencyFormatter(boolean numeric) {
-		this.numeric = numeric;
-	}
-	
-	/**
-	 * Returns a boolean indicating whether the formatter is numeric.
-	 * @return true = numeric formatter, false = symbolic formatter
-	 */
-	public boolean isNumeric() {
-		return this.numeric;
-	}
-	
-	/**
-	 * Returns the currently selected currency/locale
-	 * @return The currently selected currency/locale
-	 */
-	public Locale getLocale() {
-		return locale;
-	}
-	
-	/**
-	 * Specifes a currency/locale to be utilized for formatting.
-	 * @param locale The currency/locale to be utilized for formatting.
-	 */
-	public void setLocale(Locale locale) {
-		
-		this.locale = locale;
-		
-		if (numeric) {
-			nf = NumberFormat.getInstance(locale);
-			
-	    	// don't display commas (ie. 1000.00 instead of 1,000.00)
-	    	nf.setGroupingUsed(false);
-
-		} else {
-			nf = DecimalFormat.getCurrencyInstance(locale);
-		}
-		
-    	// configure fraction digits for the formatter
-    	nf.setMinimumFractionDigits(getMinimumFractionDigits());
-    	nf.setMaximumFractionDigits(getMaximumFractionDigits());
-	}
-	
-	/**
-	 * Formats a double value as a currency String.
-	 * @param value The double value
-	 * @return String The formatted currency String
-	 */
-	public String format(double value) {
-		return nf.format(value);
-	}
-
-	/**
-	 * @see java.text.Format#format(java.lang.Object, java.lang.StringBuffer, java.text.FieldPosition)
-	 */
-	@Override
-	public StringBuffer format(Object object, StringBuffer buffer, FieldPosition field) {
-		return nf.format(object, buffer, field);
-	}
-
-	/**
-	 * @see java.text.Format#parseObject(java.lang.String, java.text.ParsePosition)
-	 */
-	@Override
-	public Object parseObject(String string, ParsePosition position) {
-		return nf.parseObject(string,position);
-	}
-	
-	/**
-	 * Determine the default number of fraction digits to display for locale.
-	 * @return Number of digits
-	 */
-	protected int getDefaultFractionDigits() {
-		
-		final String TAG_ = TAG + ".getDefaultFractionDigits()";
-		
-    	int fractionDigits = 2;
-    	try {
-    		Currency currency = Currency.getInstance(locale);
-    		fractionDigits = currency.getDefaultFractionDigits();
-    	} catch(IllegalArgumentException ex) {
-    		Log.e(TAG_,"unable to determine default fraction digits for locale",ex);
-    	}
-
-    	Log.d(TAG_,"fractionDigits="+fractionDigits);
-    	
-    	if (fractionDigits < 0) fractionDigits = 0;
-    	
-    	return fractionDigits;
-	}
-	
-	/**
-	 * Determine the minimum number of fraction digits to display for locale.
-	 * @return Number of digits
-	 */
-	protected int getMinimumFractionDigits() {
-    	return getDefaultFractionDigits();
-	}
-	
-	/**
-	 * Determine the maximum number of fraction digits to display for locale.
-	 * @return Number of digits
-	 */
-	protected int getMaximumFractionDigits() {
-    	return getDefaultFractionDigits();
-	}
-
-}
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.Currency;
+import java.util.Locale;
+
+import android.util.Log;
+
+/**
+ * A formatter for currency values as text Strings for a specified currency/locale.
+ * NumberFormat is not thread safe, so each thread formats with its own copy of 
+ * the configured format (cloned on first use and whenever the locale changes). 
+ * This allows a single formatter instance to be shared by the UI thread and 
+ * background threads (e.g. report generation).
+ */
+public class CurrencyFormatter extends Format {
+	
+	protected static final long serialVersionUID = 4871547796586258218L;
+
+	/// for logging
+	protected static final String TAG = CurrencyFormatter.class.getName();
+	
+    /// locale for currently selected currency
+	protected volatile Locale locale;
+	
+	// flag indicating whether the formatter is numeric (without currency symbol)
+	protected boolean numeric;
+    
+    /// the configured number formatter (prototype only, never used directly to format)
+	protected volatile NumberFormat nf; 
+	
+	/// per thread copy of the number formatter
+	private transient ThreadLocal<ThreadFormat> threadFormat = new ThreadLocal<ThreadFormat>();
+	
+	/**
+	 * A thread's copy of the number formatter along with the prototype
+	 * it was cloned from (to detect locale changes).
+	 */
+	private static class ThreadFormat {
+		
+		/// the prototype the copy was cloned from
+		final NumberFormat prototype;
+		
+		/// the copy owned by a single thread
+		final NumberFormat copy;
+		
+		ThreadFormat(NumberFormat prototype) {
+			this.prototype = prototype;
+			this.copy = (NumberFormat)prototype.clone();
+		}
+	}
+
+	/**
+	 * Constructs an instance of CurrencyFormatter.
+	 * @param numeric true = numeric formatter, false = symbolic formatter
+	 */
+	public CurrencyFormatter(boolean numeric) {
+		this.numeric = numeric;
+	}
+	
+	/**
+	 * Returns a boolean indicating whether the formatter is numeric.
+	 * @return true = numeric formatter, false = symbolic formatter
+	 */
+	public boolean isNumeric() {
+		return this.numeric;
+	}
+	
+	/**
+	 * Returns the currently selected currency/locale
+	 * @return The currently selected currency/locale
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+	
+	/**
+	 * Specifes a currency/locale to be utilized for formatting.
+	 * @param locale The currency/locale to be utilized for formatting.
+	 */
+	public synchronized void setLocale(Locale locale) {
+		
+		this.locale = locale;
+		
+		NumberFormat format;
+		if (numeric) {
+			format = NumberFormat.getInstance(locale);
+			
+	    	// don't display commas (ie. 1000.00 instead of 1,000.00)
+			format.setGroupingUsed(false);
+
+		} else {
+			format = DecimalFormat.getCurrencyInstance(locale);
+		}
+		
+    	// configure fraction digits for the formatter
+		format.setMinimumFractionDigits(getMinimumFractionDigits());
+		format.setMaximumFractionDigits(getMaximumFractionDigits());
+		
+		// publish only after fully configured
+		nf = format;
+	}
+	
+	/**
+	 * Returns the calling thread's copy of the configured number formatter,
+	 * creating a new copy if none exists yet or the locale has changed.
+	 * @return NumberFormat owned by the calling thread.
+	 */
+	protected NumberFormat getFormat() {
+		if (threadFormat == null) {
+			// deserialized instance
+			threadFormat = new ThreadLocal<ThreadFormat>();
+		}
+		NumberFormat prototype = nf;
+		ThreadFormat local = threadFormat.get();
+		if ((local == null) || (local.prototype != prototype)) {
+			// the prototype is never modified after publication, so cloning is safe
+			local = new ThreadFormat(prototype);
+			threadFormat.set(local);
+		}
+		return local.copy;
+	}
+	
+	/**
+	 * Formats a double value as a currency String.
+	 * @param value The double value
+	 * @return String The formatted currency String
+	 */
+	public String format(double value) {
+		return getFormat().format(value);
+	}
+
+	/**
+	 * @see java.text.Format#format(java.lang.Object, java.lang.StringBuffer, java.text.FieldPosition)
+	 */
+	@Override
+	public StringBuffer format(Object object, StringBuffer buffer, FieldPosition field) {
+		return getFormat().format(object, buffer, field);
+	}
+
+	/**
+	 * @see java.text.Format#parseObject(java.lang.String, java.text.ParsePosition)
+	 */
+	@Override
+	public Object parseObject(String string, ParsePosition position) {
+		return getFormat().parseObject(string,position);
+	}
+	
+	/**
+	 * Determine the default number of fraction digits to display for locale.
+	 * @return Number of digits
+	 */
+	protected int getDefaultFractionDigits() {
+		
+		final String TAG_ = TAG + ".getDefaultFractionDigits()";
+		
+    	int fractionDigits = 2;
+    	try {
+    		Currency currency = Currency.getInstance(locale);
+    		fractionDigits = currency.getDefaultFractionDigits();
+    	} catch(IllegalArgumentException ex) {
+    		Log.e(TAG_,"unable to determine default fraction digits for locale",ex);
+    	}
+
+    	if (DebugLog.ENABLED) DebugLog.d(TAG_,"fractionDigits="+fractionDigits);
+    	
+    	if (fractionDigits < 0) fractionDigits = 0;
+    	
+    	return fractionDigits;
+	}
+	
+	/**
+	 * Determine the minimum number of fraction digits to display for locale.
+	 * @return Number of digits
+	 */
+	protected int getMinimumFractionDigits() {
+    	return getDefaultFractionDigits();
+	}
+	
+	/**
+	 * Determine the maximum number of fraction digits to display for locale.
+	 * @return Number of digits
+	 */
+	protected int getMaximumFractionDigits() {
+    	return getDefaultFractionDigits();
+	}
+
+}
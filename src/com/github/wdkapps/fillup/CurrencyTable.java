@@ -0,0 +1,251 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.TreeMap;
+
+import android.os.Build;
+import android.util.Log;
+
+/**
+ * An immutable table of the available currencies, sorted by key string 
+ * (example: "USD - English (United States)"), and the locale for each. 
+ * <p>
+ * NOTE: 
+ * Building the table requires scanning all available locales, which is
+ * time consuming. The table is therefore saved to a file in private 
+ * storage and read from the file on later launches. The file is rebuilt
+ * when the application locale, application version or Android build 
+ * changes, since any of these can change the table content.
+ */
+public class CurrencyTable {
+	
+	/// for logging
+	private static final String TAG = CurrencyTable.class.getName();
+	
+	/// name of the file the table is saved to
+	private static final String FILENAME = "currencies.txt";
+	
+	/// separator between fields in the file
+	private static final String SEPARATOR = "\t";
+	
+	/// the currency key strings (sorted)
+	private final String[] keys;
+	
+	/// the locale for each key
+	private final Locale[] locales;
+	
+	/**
+	 * Obtains the currency table, reading it from its file if the file 
+	 * is current, or building it (and saving it to the file) otherwise.
+	 * @param defaultKey Key string for the default currency.
+	 * @param defaultLocale Locale for the default currency.
+	 * @return The CurrencyTable.
+	 */
+	public static CurrencyTable load(String defaultKey, Locale defaultLocale) {
+		File file = new File(App.getContext().getFilesDir(),FILENAME);
+		String header = getHeader();
+		
+		CurrencyTable table = read(file,header);
+		if (table == null) {
+			table = build(defaultKey,defaultLocale);
+			table.write(file,header);
+		}
+		return table;
+	}
+	
+	/**
+	 * Constructs an instance of CurrencyTable.
+	 * @param map Map of currency key strings to locales (sorted by key).
+	 */
+	private CurrencyTable(TreeMap<String,Locale> map) {
+		keys = map.keySet().toArray(new String[map.size()]);
+		locales = map.values().toArray(new Locale[map.size()]);
+	}
+	
+	/**
+	 * Returns the currency key strings in sorted order.
+	 * @return Array of key Strings (a copy).
+	 */
+	public String[] getKeys() {
+		return keys.clone();
+	}
+	
+	/**
+	 * Returns the locale for a specified currency key.
+	 * @param key The currency key string.
+	 * @return The Locale, or null if the key is not in the table.
+	 */
+	public Locale getLocale(String key) {
+		int index = Arrays.binarySearch(keys,key);
+		return (index >= 0) ? locales[index] : null;
+	}
+	
+	/**
+	 * Returns a string identifying the conditions the table content 
+	 * depends on. 
+	 * @return The header String.
+	 */
+	private static String getHeader() {
+		return App.getLocale() + SEPARATOR + App.getVersionCode() + SEPARATOR + Build.FINGERPRINT;
+	}
+	
+	/**
+	 * Builds the table by scanning all available locales.
+	 * @param defaultKey Key string for the default currency.
+	 * @param defaultLocale Locale for the default currency.
+	 * @return The CurrencyTable.
+	 */
+	private static CurrencyTable build(String defaultKey, Locale defaultLocale) {
+		
+		final String tag = TAG+".build()";
+		
+		TreeMap<String,Locale> map = new TreeMap<String,Locale>();
+		
+	    for(Locale locale : Locale.getAvailableLocales()) {
+	        try {
+	        	Currency currency = Currency.getInstance(locale); 
+	        	map.put(getKey(locale,currency),locale);
+	        } catch (IllegalArgumentException ex) {
+	    		if (DebugLog.ENABLED) DebugLog.d(tag,"locale's country is not a supported ISO 3166 country: "+locale.getCountry());
+	        }
+	    }
+	    
+	    map.put(defaultKey,defaultLocale);
+	    
+		return new CurrencyTable(map);
+	}
+	
+	/**
+	 * Returns a key string for a specific currency/locale.
+     * @param locale Locale
+	 * @param currency Currency
+	 * @return String
+	 */
+	private static String getKey(Locale locale, Currency currency) {
+    	return String.format("%s - %s",
+				currency.getCurrencyCode(),
+				locale.getDisplayName(App.getLocale()));
+	}
+	
+	/**
+	 * Reads the table from a file.
+	 * @param file The file.
+	 * @param header The header the file must start with to be current.
+	 * @return The CurrencyTable, or null if the file does not exist, is 
+	 * not current, or cannot be read.
+	 */
+	private static CurrencyTable read(File file, String header) {
+		if (!file.exists()) return null;
+		
+		final String tag = TAG+".read()";
+		
+		TreeMap<String,Locale> map = new TreeMap<String,Locale>();
+		BufferedReader reader = null;
+		try {
+			Reader in = new InputStreamReader(new FileInputStream(file),"UTF-8");
+			reader = new BufferedReader(in);
+			if (!header.equals(reader.readLine())) {
+				return null;
+			}
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(SEPARATOR,-1);
+				map.put(fields[0],new Locale(fields[1],fields[2],fields[3]));
+			}
+		} catch (Throwable t) {
+			Log.e(tag,"unable to read currency table",t);
+			return null;
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					Log.e(tag,"close() failed",e);
+				}
+			}
+		}
+		return new CurrencyTable(map);
+	}
+	
+	/**
+	 * Writes the table to a file. The table is written to a temporary file
+	 * that is then renamed, so that an interrupted write never leaves a 
+	 * truncated table to be read.
+	 * @param file The file.
+	 * @param header The header identifying the conditions the table depends on.
+	 */
+	private void write(File file, String header) {
+		
+		final String tag = TAG+".write()";
+		
+		File temp = new File(file.getPath() + ".tmp");
+		boolean written = false;
+		Writer writer = null;
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp),"UTF-8"));
+			writer.write(header);
+			writer.write("\n");
+			for (int n = 0; n < keys.length; n++) {
+				Locale locale = locales[n];
+				writer.write(keys[n]);
+				writer.write(SEPARATOR);
+				writer.write(locale.getLanguage());
+				writer.write(SEPARATOR);
+				writer.write(locale.getCountry());
+				writer.write(SEPARATOR);
+				writer.write(locale.getVariant());
+				writer.write("\n");
+			}
+			writer.close();
+			writer = null;
+			written = true;
+		} catch (IOException e) {
+			Log.e(tag,"unable to write currency table",e);
+		} finally {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (IOException e) {
+					Log.e(tag,"close() failed",e);
+				}
+			}
+		}
+		
+		if (!written || !temp.renameTo(file)) {
+			Log.e(tag,"unable to replace currency table");
+			temp.delete();
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import com.androidplot.xy.XYPlot;
+
+import android.app.Activity;
+import android.os.Bundle;
+
+/**
+ * An interface for a class that manages an XYPlot view on behalf of a 
+ * parent Activity. Allows the parent to defer creation of a plot until 
+ * it is about to be seen, and to release plot data that is off screen.
+ */
+public interface DataPlot extends SettingsCoordinator.Listener {
+
+	/**
+	 * Creates the graph and draws the data.
+	 * @param savedInstanceState The saved state of the parent Activity.
+	 * @param parent The parent Activity.
+	 * @param xyplot The plot view to manage.
+	 */
+	public void onCreate(Bundle savedInstanceState, Activity parent, XYPlot xyplot);
+	
+	/**
+	 * Removes all data series from the plot view to free memory.
+	 */
+	public void release();
+	
+	/**
+	 * Draws the data again after a release, reflecting current preferences.
+	 */
+	public void restore();
+	
+}
@@ -0,0 +1,70 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import android.util.Log;
+
+/**
+ * A facade for debug logging that costs nothing in release builds.
+ * <p>
+ * ENABLED is a compile time constant, so a call guarded as shown below is 
+ * removed entirely by the compiler when it is false. Callers that build a 
+ * message by concatenation (especially inside loops) should use the guard 
+ * so that the message String is never built when logging is disabled:
+ * <pre>
+ *    if (DebugLog.ENABLED) DebugLog.d(tag,"x="+x+" y="+y);
+ * </pre>
+ * Calls with a constant message may omit the guard.
+ */
+public final class DebugLog {
+	
+	/// true if debug logging is enabled (false for release builds)
+	public static final boolean ENABLED = BuildConfig.DEBUG;
+
+	/**
+	 * Private constructor (static methods only).
+	 */
+	private DebugLog() {
+	}
+	
+	/**
+	 * Sends a debug log message if debug logging is enabled.
+	 * @param tag A tag String identifying the source of the message.
+	 * @param msg The message to log.
+	 */
+	public static void d(String tag, String msg) {
+		if (ENABLED) {
+			Log.d(tag,msg);
+		}
+	}
+	
+	/**
+	 * Sends a debug log message and exception if debug logging is enabled.
+	 * @param tag A tag String identifying the source of the message.
+	 * @param msg The message to log.
+	 * @param t The exception to log.
+	 */
+	public static void d(String tag, String msg, Throwable t) {
+		if (ENABLED) {
+			Log.d(tag,msg,t);
+		}
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.List;
+import java.util.Set;
+
+import android.app.Activity;
+import android.os.AsyncTask;
+import android.os.Bundle;
+import android.view.View;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+import android.widget.ProgressBar;
+
+/**
+ * Implements an Activity that displays statistics for all vehicles in
+ * the log (the fleet).
+ */
+public class FleetStatisticsActivity extends Activity implements SettingsCoordinator.Listener {
+
+	/// monthly totals for all vehicles, read in a single query (null until read)
+	private FleetSummary summary;
+	
+	/// the vehicles in the log (null until read)
+	private List<Vehicle> vehicles;
+	
+	/// the background task reading the log data (null if none)
+	private ReadTask task;
+	
+	/// progress indicator displayed while the log data is read
+	private ProgressBar progress;
+	
+	/// the Android WebView for display of statistics data
+	private WebView webview;
+	
+	/// buttons for selection of range of data to evaluate
+	private PlotDateRangeButtons rangeButtons;
+	
+    /**
+     * Called when the Activity is created.
+     * @see android.app.Activity#onCreate(android.os.Bundle)
+     */
+	@Override
+	protected void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		setContentView(R.layout.activity_statistics);
+		
+    	// initialize the layout
+    	rangeButtons = new PlotDateRangeButtons(this,Settings.KEY_PLOT_DATE_RANGE);
+		webview = (WebView)findViewById(R.id.webviewStats);
+		progress = (ProgressBar)findViewById(R.id.progressStats);
+    	webview.getSettings().setDefaultTextEncodingName("utf-8");
+    	webview.setScrollBarStyle(View.SCROLLBARS_INSIDE_OVERLAY);
+    	
+    	// automatically scroll to top of page when data changes
+    	webview.setWebViewClient(new WebViewClient() {
+    		public void onPageFinished(WebView view, String url) {
+    			view.scrollTo(0,0);
+    		}
+    	});
+    	
+        // setup to be notified when settings change (plot range)
+		SettingsCoordinator.getInstance().register(this);
+		
+		// read the data from the gas log and display the report when complete
+		progress.setVisibility(View.VISIBLE);
+		task = new ReadTask();
+		task.execute();
+	}
+	
+	/**
+	 * Called when the Activity is being destroyed.
+	 * @see android.app.Activity#onDestroy()
+	 */
+	@Override
+	protected void onDestroy() {
+		SettingsCoordinator.getInstance().unregister(this);
+		if (task != null) {
+			task.cancel(false);
+			task = null;
+		}
+		super.onDestroy();
+	}
+	
+	/**
+	 * Display a FleetStatisticsReport for the selected date range in the WebView
+	 * (unless the log data has not been read yet).
+	 */
+	private void displayReport() {
+		if (summary == null) return;
+		HtmlData report = new FleetStatisticsReport(summary,vehicles,rangeButtons.getPlotDateRange());
+       	webview.loadDataWithBaseURL(null, report.getHtml(), "text/html", "utf-8", null);
+	}
+
+	/**
+	 * Called when one or more settings have changed.
+	 * @see com.github.wdkapps.fillup.SettingsCoordinator.Listener#onSettingsChanged(java.util.Set)
+	 */
+	@Override
+	public void onSettingsChanged(Set<String> keys) {
+		
+		// update the display when the plot date range, units or currency change
+		if (keys.contains(Settings.KEY_PLOT_DATE_RANGE) || 
+			keys.contains(Settings.KEY_UNITS) ||
+			keys.contains(Settings.KEY_CURRENCY)) {
+			displayReport();
+		} 
+	}
+	
+	/**
+	 * A background task that reads the monthly totals of all vehicles 
+	 * (which scans all records in the log) and the vehicles, and 
+	 * displays the report when complete.
+	 */
+	private class ReadTask extends AsyncTask<Void,Void,Void> {
+		
+		/// the monthly totals for all vehicles
+		private FleetSummary summary;
+		
+		/// the vehicles in the log
+		private List<Vehicle> vehicles;
+
+		/**
+		 * Reads the log data on a background thread.
+		 * @see android.os.AsyncTask#doInBackground(Params[])
+		 */
+		@Override
+		protected Void doInBackground(Void... params) {
+			GasLog gaslog = GasLog.getInstance();
+			summary = gaslog.readFleetSummary();
+			vehicles = gaslog.readAllVehicles();
+			return null;
+		}
+
+		/**
+		 * Displays the report on the UI thread, unless the Activity 
+		 * has been destroyed.
+		 * @see android.os.AsyncTask#onPostExecute(java.lang.Object)
+		 */
+		@Override
+		protected void onPostExecute(Void result) {
+			if (task != this) return;
+			task = null;
+			progress.setVisibility(View.GONE);
+			FleetStatisticsActivity.this.summary = summary;
+			FleetStatisticsActivity.this.vehicles = vehicles;
+			displayReport();
+		}
+	}
+	
+}
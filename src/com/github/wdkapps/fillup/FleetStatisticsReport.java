@@ -0,0 +1,242 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import android.util.Log;
+
+/**
+ * A report for display of statistics for all vehicles in the log, derived
+ * from a FleetSummary. Contains a summary table with the totals for each 
+ * vehicle over a date range, followed by a table of fleet totals for each
+ * month in the range (most recent month first).
+ */
+public class FleetStatisticsReport implements HtmlData {
+
+	/// a tag string for debug logging (the name of this class)
+	private static final String TAG = FleetStatisticsReport.class.getName();
+	
+	/// end of line string
+	private static final String newline = System.getProperty("line.separator");
+	
+	/// the monthly totals for the fleet
+	private final FleetSummary summary;
+	
+	/// the vehicles in the fleet
+	private final List<Vehicle> vehicles;
+	
+	/// the date range of the report
+	private final PlotDateRange range;
+	
+	/// destination for the html data while the report is being written
+	private Appendable html;
+	
+	/// current units of measurement for display of labels
+	private Units units;
+	
+	/// a row index used during creation
+	private int row;
+	
+	/**
+	 * Constructs an instance of FleetStatisticsReport.
+	 * @param summary The monthly totals for the fleet.
+	 * @param vehicles The vehicles in the fleet.
+	 * @param range The date range of the report.
+	 */
+	public FleetStatisticsReport(FleetSummary summary, List<Vehicle> vehicles, PlotDateRange range) {
+		this.summary = summary;
+		this.vehicles = vehicles;
+		this.range = range;
+	}
+
+	/**
+	 * Returns the report as an HTML String.
+	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
+	 */
+	@Override
+	public String getHtml() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			writeTo(sb);
+		} catch (Throwable t) {
+			String errmsg = App.getContext().getString(R.string.toast_create_report_failed);
+			Log.e(TAG,"Error creating report",t);
+			sb = new StringBuilder();
+			sb.append("<html>");
+			sb.append(errmsg).append("<br/>");
+			sb.append(t.getMessage());
+			sb.append("/html>");
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Writes the report as HTML data to a specified destination.
+	 * @see com.github.wdkapps.fillup.HtmlData#writeTo(java.lang.Appendable)
+	 */
+	@Override
+	public void writeTo(Appendable out) throws IOException {
+		String stats_top = App.getContext().getString(R.string.asset_stats_top_html);
+		String stats_bottom = App.getContext().getString(R.string.asset_stats_bottom_html);
+		HtmlTemplate template = HtmlTemplate.getInstance(stats_top,stats_bottom);
+		
+		html = out;
+		try {
+			units = SettingsSnapshot.getInstance().getUnits();
+			html.append(template.getHead());
+			appendVehicleTable();
+			appendMonthTables();
+			html.append(template.getTail());
+		} finally {
+			html = null;
+		}
+	}
+	
+	/**
+	 * Appends a table containing the totals for each vehicle over the 
+	 * date range.
+	 */
+	private void appendVehicleTable() throws IOException {
+		final String cssClass = "summary";
+		html.append("<div>").append(newline);
+		html.append("<table"+property("class",cssClass)+">").append(newline);
+		appendTableHeaderRow(cssClass,getString(R.string.stats_fleet_prefix) + range.getSummary(),"2");
+		row = 0;
+		for (Vehicle vehicle : vehicles) {
+			MonthlyTotals totals = summary.getTotals(vehicle,range);
+			String value = String.format(App.getLocale(),getString(R.string.stats_calc_fleet_vehicle),
+					totals.getDistance(),
+					units.getDistanceLabelLowerCase(),
+					totals.getGallons(),
+					units.getLiquidVolumeLabelLowerCase(),
+					CurrencyManager.getInstance().getSymbolicFormatter().format(totals.getCost()),
+					totals.getCount(),
+					getString(R.string.odometer_label),
+					totals.getOdometer());
+			value = value.replace("(","<br/>(");
+			appendTableRow(cssClass,new String[]{vehicle.getName(),value});
+		}
+		html.append("</table>").append(newline);
+		html.append("</div>").append(newline);
+		html.append("<p/>").append(newline);
+	}
+	
+	/**
+	 * Appends a table containing the fleet totals for each month in the
+	 * date range, most recent month first.
+	 */
+	private void appendMonthTables() throws IOException {
+		List<Month> months = new ArrayList<Month>();
+		Iterator<Month> iterator = new MonthIterator(range.getStartDate(),range.getEndDate());
+		while (iterator.hasNext()) {
+			months.add(0,iterator.next());
+		}
+		
+		final String cssClass = "month";
+		for (Month month : months) {
+			MonthlyTotals totals = summary.getTotals(month);
+			html.append("<div>").append(newline);
+			html.append("<table"+property("class",cssClass)+">").append(newline);
+			appendTableHeaderRow(cssClass,month.getLongLabel(),"2");
+			row = 0;
+			
+			appendTableRow(cssClass,new String[]{
+					getString(R.string.stats_label_distance),
+					String.format(App.getLocale(),getString(R.string.stats_calc_distance_noavg),
+							totals.getDistance(),
+							units.getDistanceLabelLowerCase())});
+			
+			appendTableRow(cssClass,new String[]{
+					getString(R.string.stats_label_gallons),
+					String.format(App.getLocale(),getString(R.string.stats_calc_gallons_noavg),
+							totals.getGallons(),
+							units.getLiquidVolumeLabelLowerCase())});
+			
+			appendTableRow(cssClass,new String[]{
+					getString(R.string.stats_label_cost),
+					CurrencyManager.getInstance().getSymbolicFormatter().format(totals.getCost())});
+			
+			appendTableRow(cssClass,new String[]{
+					getString(R.string.stats_label_fillups),
+					String.valueOf(totals.getCount())});
+			
+			html.append("</table>").append(newline);
+			html.append("</div>").append(newline);
+			html.append("<p/>").append(newline);
+		}
+	}
+
+	/**
+	 * Generates a generic HTML table header row consisting of a single
+	 * cell that spans a specified number of table columns.
+	 * @param cssClass The css class value.
+	 * @param cell The header cell content as a String.
+	 * @param colspan The number of table columns that the header cell spans
+	 */
+	private void appendTableHeaderRow(String cssClass, String cell, String colspan) throws IOException {
+		html.append("<tr"+property("class",cssClass)+">").append(newline);
+		html.append("  <th"+property("class",cssClass)+property("colspan",colspan)+">").append(cell).append("</th>").append(newline);
+		html.append("</tr>").append(newline);
+	}
+	
+	/**
+	 * Generates a generic HTML table row.<p>
+	 * NOTE: marks odd numbered rows to support alternating colors for older browsers.
+	 * @param cssClass The css class value.
+	 * @param cells The cell content for the row (each cell is one table column).
+	 */
+	private void appendTableRow(String cssClass, String[] cells) throws IOException {
+		if ((row & 1) == 1) {
+			html.append("<tr"+property("class",cssClass+" odd")+">").append(newline);
+		} else {			
+			html.append("<tr"+property("class",cssClass)+">").append(newline);
+		}
+		for (String cell : cells) {
+			html.append("  <td"+property("class",cssClass)+">").append(cell).append("</td>").append(newline);
+		}		
+		html.append("</tr>").append(newline);
+		row++;
+	}
+	
+	/**
+	 * Returns an HTML property definition in the form of: attribute="value".
+	 * @param attribute The attribute name of the property.
+	 * @param value The value to be assigned to the property.
+	 * @return The property definition String.
+	 */
+	private String property(String attribute, String value) {
+		return String.format(" %s=\"%s\"", attribute, value);
+	}
+	
+	/**
+	 * Convenience method to retrieve a String resource.
+	 * @param id The desired resource identifier. 
+	 * @return The String data associated with the resource.
+	 * @see android.content.res.Resources#getString(int id)
+	 */
+	private String getString(int id) {
+		return App.getContext().getResources().getString(id);
+	}
+
+}
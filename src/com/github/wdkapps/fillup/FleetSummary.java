@@ -0,0 +1,105 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly totals of gas record data for every vehicle in the log, and
+ * for the fleet of vehicles as a whole (see GasLog.readFleetSummary()).
+ */
+public class FleetSummary {
+	
+	/// monthly totals for each vehicle (in month order), keyed by vehicle id
+	private final Map<Integer,List<MonthlyTotals>> vehicles = new HashMap<Integer,List<MonthlyTotals>>();
+	
+	/// monthly totals for the fleet, keyed by month
+	private final Map<Month,MonthlyTotals> fleet = new HashMap<Month,MonthlyTotals>();
+	
+	/**
+	 * Adds the totals for one vehicle and month. Months must be added 
+	 * in order for each vehicle.
+	 * @param vid The vehicle id.
+	 * @param totals The totals for the month.
+	 */
+	void add(int vid, MonthlyTotals totals) {
+		
+		List<MonthlyTotals> months = vehicles.get(vid);
+		if (months == null) {
+			months = new ArrayList<MonthlyTotals>();
+			vehicles.put(vid,months);
+		}
+		months.add(totals);
+		
+		MonthlyTotals sum = fleet.get(totals.getMonth());
+		if (sum == null) {
+			sum = new MonthlyTotals(totals.getMonth());
+			fleet.put(totals.getMonth(),sum);
+		}
+		sum.append(totals);
+	}
+	
+	/**
+	 * Returns the monthly totals for a specified vehicle.
+	 * @param vehicle The Vehicle.
+	 * @return A List of MonthlyTotals in month order (empty if no data).
+	 */
+	public List<MonthlyTotals> getMonths(Vehicle vehicle) {
+		List<MonthlyTotals> months = vehicles.get(vehicle.getID());
+		if (months == null) {
+			months = Collections.emptyList();
+		}
+		return Collections.unmodifiableList(months);
+	}
+	
+	/**
+	 * Returns the totals for a specified vehicle over a range of dates.
+	 * @param vehicle The Vehicle.
+	 * @param range The date range.
+	 * @return The totals for months within the range.
+	 */
+	public MonthlyTotals getTotals(Vehicle vehicle, PlotDateRange range) {
+		MonthlyTotals sum = new MonthlyTotals(new Month(range.getEndDate()));
+		for (MonthlyTotals totals : getMonths(vehicle)) {
+			if (range.contains(totals.getMonth().getDate())) {
+				sum.append(totals);
+			}
+		}
+		return sum;
+	}
+	
+	/**
+	 * Returns the fleet totals for a specified month.
+	 * @param month The Month.
+	 * @return The totals for all vehicles for the month.
+	 */
+	public MonthlyTotals getTotals(Month month) {
+		MonthlyTotals totals = fleet.get(month);
+		if (totals == null) {
+			totals = new MonthlyTotals(month);
+		}
+		return totals;
+	}
+
+}
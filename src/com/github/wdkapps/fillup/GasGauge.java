@@ -252,8 +252,8 @@ public class GasGauge extends View {
 	@Override
 	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
 		final String tag = TAG + ".onMeasure()";
-		Log.d(tag, "Width spec: " + MeasureSpec.toString(widthMeasureSpec));
-		Log.d(tag, "Height spec: " + MeasureSpec.toString(heightMeasureSpec));
+		if (DebugLog.ENABLED) DebugLog.d(tag,"Width spec: " + MeasureSpec.toString(widthMeasureSpec));
+		if (DebugLog.ENABLED) DebugLog.d(tag,"Height spec: " + MeasureSpec.toString(heightMeasureSpec));
 
 		int widthMode = MeasureSpec.getMode(widthMeasureSpec);
 		int widthSize = MeasureSpec.getSize(widthMeasureSpec);
@@ -358,7 +358,7 @@ public class GasGauge extends View {
 	@Override
 	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
 		final String tag = TAG + ".onSizeChanged()";
-		Log.d(tag, "Size changed to " + w + "x" + h);
+		if (DebugLog.ENABLED) DebugLog.d(tag,"Size changed to " + w + "x" + h);
 		regenerateBackground();
 	}
 
@@ -512,7 +512,7 @@ public class GasGauge extends View {
 			// if gesture has finished, notify listener of new hand position 
 			if ((event.getAction() == MotionEvent.ACTION_UP) && 
 				(handPositionChangedListener != null)) {
-				Log.d(tag,String.format("handPosition=%f",handPosition));
+				if (DebugLog.ENABLED) DebugLog.d(tag,String.format("handPosition=%f",handPosition));
 				handPositionChangedListener.onHandPositionChanged(this,handPosition);
 			}
 	    	return true;
@@ -1,677 +1,1505 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
-import android.content.ContentValues;
-import android.content.Context;
-import android.database.Cursor;
-import android.database.SQLException;
-import android.database.sqlite.SQLiteConstraintException;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
-import android.util.Log;
-
-/**
- * Implements an abstract log for the storage of gasoline records. Provides 
- * CRUD methods to create, read, update, and delete gasoline records from 
- * the log. The underlying storage mechanism is an SQLite database.
- */
-public class GasLog {
-	
-    /// singleton instance
-    private static GasLog instance;
-    
-	/// a tag string for debug logging (the name of this class)
-	private static final String TAG = GasLog.class.getName();
-	
-    /// database table names
-	private static final String VEHICLES_TABLE = "Vehicles";
-    private static final String RECORDS_TABLE = "Records";
-
-    /// column names for RECORDS_TABLE
-    private static final String RECORD_ID = "_id";
-    private static final String RECORD_VEHICLE_ID = "_vid";
-    private static final String RECORD_TIME = "time";
-    private static final String RECORD_ODOMETER = "odometer";
-    private static final String RECORD_GALLONS = "gallons";
-    private static final String RECORD_FULLTANK = "fulltank";
-    private static final String RECORD_HIDDEN = "hidden";
-    private static final String RECORD_COST = "cost";
-    private static final String RECORD_NOTES = "notes";
-    
-    
-    // column names for VEHICLE_TABLE
-    private static final String VEHICLE_ID = "_id";
-    private static final String VEHICLE_NAME = "name";
-    private static final String VEHICLE_TANK_SIZE="tanksize";
-
-    /// array of all column names for VEHICLES_TABLE 
-    private static final String[] VEHICLES_TABLE_COLUMNS = 
-    		new String[] {VEHICLE_ID, VEHICLE_NAME, VEHICLE_TANK_SIZE};
-    
-    /// array of all column names for RECORDS_TABLE 
-    private static final String[] RECORDS_TABLE_COLUMNS = new String[] {
-    	RECORD_ID,
-    	RECORD_VEHICLE_ID,
-    	RECORD_TIME,RECORD_ODOMETER,
-    	RECORD_GALLONS,
-    	RECORD_FULLTANK,
-    	RECORD_HIDDEN,
-    	RECORD_COST,
-    	RECORD_NOTES
-    };
-    
-    /// SQL commands to create the database
-    public static final String[] DATABASE_CREATE = new String[] {
-
-    	"create table " + VEHICLES_TABLE + " ( " + 
-    			VEHICLE_ID          + " integer primary key autoincrement, " + 
-    			VEHICLE_NAME        + " text not null unique, " + 
-    			VEHICLE_TANK_SIZE   + " real not null); ",
-
-		"create table " + RECORDS_TABLE + " ( " + 
-    			RECORD_ID           + " integer primary key autoincrement, " + 
-    			RECORD_VEHICLE_ID   + " integer not null, " +
-    			RECORD_TIME         + " integer not null, " +
-    			RECORD_ODOMETER     + " integer not null, " + 
-    			RECORD_GALLONS      + " real not null, " + 
-    			RECORD_FULLTANK     + " integer not null, " +
-    			RECORD_HIDDEN       + " integer not null default 0, " +
-    			RECORD_COST         + " real not null default 0, " +
-    			RECORD_NOTES        + " text, " +
-    			"unique ("+RECORD_VEHICLE_ID+","+RECORD_ODOMETER+"), " + 
-    			"foreign key ("+RECORD_VEHICLE_ID+") references "+VEHICLES_TABLE+" ("+VEHICLE_ID+"));"
-    };
-    
-    /// SQL commands to delete the database
-    public static final String[] DATABASE_DELETE = new String[] {
-    	"drop table if exists " + RECORDS_TABLE + ";",
-    	"drop table if exists " + VEHICLES_TABLE + ";"
-    };
-    
-	/// the name of the database
-	public static final String DATABASE_NAME = "gaslog.db";
-	
-	/// the database version number 
-    public static final int DATABASE_VERSION = 5;
-
-    /// context of the instance creator
-    private final Context context;
-    
-    /// a helper instance used to open and close the database 
-    private final GasLogOpenHelper helper;
-    
-    /// the database
-    private final SQLiteDatabase db;
-    
-    /**
-     * Determines if the log database file currently exists.
-     * @return true if file exists, false otherwise.
-     */
-    public static boolean exists() {
-        File dbFile = App.getContext().getDatabasePath(DATABASE_NAME);
-        return dbFile.exists();
-    }
-    
-    /**
-     * Returns a single instance, creating it if necessary.
-     * @return GasLog Singleton instance.
-     */
-    public static GasLog getInstance() {
-    	if (instance == null) {
-            instance = new GasLog();
-    	}
-    	return instance;
-    }
-    
-    /**
-     * Destroys any existing log instance, closing the database.
-     */
-    public void finalize() throws Throwable {
-    	if (instance != null) {
-    		instance.helper.close();
-    		instance = null;
-    	}
-        super.finalize();
-    }
-    
-    /**
-     * Constructs an instance of GasLog (private to enforce singleton).
-     */
-    private GasLog() {
-    	this.context = App.getContext();
-        this.helper = new GasLogOpenHelper(this.context);
-        this.db = helper.getWritableDatabase();
-    }
-    
-    /**
-     * Returns the database version number reported by SQLite.
-     * @return the database version.
-     */
-    public int getDatabaseVersion() {
-    	return db.getVersion();
-    }
-    
-    /**
-     * Convenience method to test assertion.
-     * @param assertion An asserted boolean condition. 
-     * @param tag A tag String identifying the calling method.
-     * @param msg An error message to display/log.
-     * @throws RuntimeException if the assertion is false
-     */
-    private void ASSERT(boolean assertion, String tag, String msg) {
-    	if (!assertion) {
-    		String assert_msg = "ASSERT failed: " + msg;
-    		Log.e(tag,assert_msg);
-    		throw new RuntimeException(assert_msg);
-    	}
-    }
-
-    /**
-     * Convenience method to convert a GasRecord instance to a set of key/value
-     * pairs in a ContentValues instance utilized by SQLite access methods.
-     *
-     * @param record The GasRecord to convert.
-     * @return A ContentValues instance representing the specified GasRecord.
-     */
-    private ContentValues getContentValues(GasRecord record) {
-    	ContentValues values = new ContentValues();
-    	values.put(RECORD_ID, record.getID());
-    	values.put(RECORD_VEHICLE_ID, record.getVehicleID());
-    	values.put(RECORD_TIME, record.getDate().getTime());
-    	values.put(RECORD_ODOMETER,record.getOdometer());
-    	values.put(RECORD_GALLONS, record.getGallons());
-    	values.put(RECORD_FULLTANK, record.isFullTank());
-    	values.put(RECORD_HIDDEN, record.isCalculationHidden());
-    	values.put(RECORD_COST, record.getCost());
-    	values.put(RECORD_NOTES, record.getNotes());
-    	return values;
-    }
-    
-    /**
-     * Convenience method to convert a Vehicle instance to a set of key/value
-     * pairs in a ContentValues instance utilized by SQLite access methods.
-     *
-     * @param vehicle The Vehicle to convert.
-     * @return A ContentValues instance representing the specified Vehicle.
-     */
-    private ContentValues getContentValues(Vehicle vehicle) {
-    	ContentValues values = new ContentValues();
-    	values.put(VEHICLE_ID, vehicle.getID());
-    	values.put(VEHICLE_NAME, vehicle.getName());
-    	values.put(VEHICLE_TANK_SIZE, vehicle.getTankSize());
-    	return values;
-    }
-    
-    /**
-     * Convenience method to create a GasRecord instance from values read
-     * from the database.
-     * @param c A Cursor containing results of a database query. 
-     * @return A GasRecord instance (null if no data).
-     */
-    private GasRecord getRecordFromCursor(Cursor c) {
-    	final String tag = TAG+".getRecordFromCursor()";
-    	GasRecord record = null;
-    	if (c != null) {
-    		int id = c.getInt(c.getColumnIndex(RECORD_ID));
-    		int vid = c.getInt(c.getColumnIndex(RECORD_VEHICLE_ID));
-    		long time = c.getLong(c.getColumnIndex(RECORD_TIME));
-    		int odometer = c.getInt(c.getColumnIndex(RECORD_ODOMETER));
-    		float gallons = c.getFloat(c.getColumnIndex(RECORD_GALLONS));
-    		int fulltank = c.getInt(c.getColumnIndex(RECORD_FULLTANK));
-    		int hidden = c.getInt(c.getColumnIndex(RECORD_HIDDEN));
-    		double cost = c.getDouble(c.getColumnIndex(RECORD_COST));
-    		String notes = c.getString(c.getColumnIndex(RECORD_NOTES));
-    		
-    		record = new GasRecord();
-    		record.setID(id);
-    		record.setVehicleID(vid);
-    		record.setDate(new Date(time));
-    		record.setOdometer(odometer);
-    		record.setGallons(gallons);
-    		record.setFullTank(fulltank == 1);
-    		record.setHiddenCalculation(hidden == 1);
-    		record.setCost(cost);
-    		record.setNotes(notes);
-    		
-    		try {
-    			record.calculatePrice();
-    		} catch (NumberFormatException e) {
-    			Log.e(tag,e.getMessage());
-    		}
-    	}
-    	return record;
-    }
-
-    /**
-     * Convenience method to create a Vehicle instance from values read
-     * from the database.
-     * @param c A Cursor containing results of a database query. 
-     * @return A Vehicle instance (null if no data).
-     */
-    private Vehicle getVehicleFromCursor(Cursor c) {
-    	Vehicle vehicle = null;
-    	if (c != null) {
-    		vehicle = new Vehicle();
-    		int id = c.getInt(c.getColumnIndex(VEHICLE_ID));
-    		String name = c.getString(c.getColumnIndex(VEHICLE_NAME));
-    		float tanksize = c.getFloat(c.getColumnIndex(VEHICLE_TANK_SIZE));
-    		vehicle.setID(id);
-    		vehicle.setName(name);
-    		vehicle.setTankSize(tanksize);
-    	}
-    	return vehicle;
-    }
-    
-    /**
-     * Creates a vehicle in the log.
-     * @param vehicle The Vehicle to create.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean createVehicle(Vehicle vehicle) {
-    	final String tag = TAG+".createVehicle()";
-    	ASSERT((vehicle.getID() == null),tag,"vehicle id must be null");
-    	boolean success = false;
-    	try {
-    		long rowID = db.insertOrThrow(VEHICLES_TABLE, null, getContentValues(vehicle));
-   			vehicle.setID((int)rowID);
-   			success = (rowID != -1);
-    	} catch (SQLiteConstraintException e) {
-    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
-    		Utilities.toast(context,context.getString(R.string.toast_duplicate_vehicle_name));
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	}
-    	return success;
-    }
-    
-    /**
-     * Updates a vehicle in the log.
-     * @param vehicle The Vehicle to update.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean updateVehicle(Vehicle vehicle) {
-    	final String tag = TAG+".updateVehicle()";
-		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-		boolean success = false;
-		try {
-			ContentValues values = getContentValues(vehicle);
-			values.remove(VEHICLE_ID);
-			String whereClause = VEHICLE_ID + "=" + vehicle.getID();
-			int count = db.update(VEHICLES_TABLE,values,whereClause,null);
-			success = (count != 0);
-		} catch (SQLiteConstraintException e) {
-			Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
-			Utilities.toast(context,context.getString(R.string.toast_duplicate_vehicle_name));
-		} catch (SQLException e) {
-			Log.e(tag,"SQLException: "+e.getMessage());
-		}
-		return success;
-    }
-    
-    /**
-     * Reads all vehicles contained in the log.
-     * @return A List of all Vehicle's in the log (empty if none exist).
-     */
-    public List<Vehicle> readAllVehicles() {
-    	final String tag = TAG+".readAllVehicles()";
-    	List<Vehicle> list = new ArrayList<Vehicle>();
-    	Cursor cursor = null;
-    	try {
-    		// SELECT * FROM Vehicles ORDER BY name;
-    		String orderBy = VEHICLE_NAME;
-    		cursor = db.query(
-    				VEHICLES_TABLE, 
-    				VEHICLES_TABLE_COLUMNS,
-    				null,null,null,null,
-    				orderBy,
-    				null
-    				);
-
-    		// create a list of Vehicle instances from the data
-    		if (cursor != null) {
-    			if (cursor.moveToFirst()) {
-    				do {
-    					Vehicle vehicle = getVehicleFromCursor(cursor);
-    					list.add(vehicle);
-    				} while (cursor.moveToNext());
-    			}
-    		}
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    		list.clear();
-    	} finally {
-    		if (cursor != null) cursor.close();
-    	}
-
-    	// return the list of Vehicles
-    	return list;
-    }
-    
-    /**
-     * Deletes a specified vehicle from the log.
-     * @param vehicle The Vehicle to delete.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean deleteVehicle(Vehicle vehicle) {
-    	final String tag = TAG+".deleteVehicle()";
-		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-    	
-		boolean success = false;
-		
-    	// delete all records for the vehicle
-    	if (!deleteAllRecords(vehicle)) {
-    		return false;
-    	}
-    	
-    	// delete the vehicle
-    	try {
-    		String whereClause = VEHICLE_ID + "=" + vehicle.getID();
-    		String [] whereArgs = null;
-    		int count = db.delete(VEHICLES_TABLE, whereClause, whereArgs);
-    		success = (count == 1);
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	} 
-    	
-    	return success;
-    }
-    
-    /**
-     * Determines the current odometer value in the log for a specific vehicle.
-     * @param vehicle The Vehicle being evaluated.
-     * @return The current odometer value (int) in the log for the vehicle. (-1 if no data)
-     */
-    public int readCurrentOdometer(Vehicle vehicle) {
-    	final String tag = TAG+".readCurrentOdometer()";
-    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-
-    	int value = -1;
-    	
-    	Cursor cursor = null;
-
-    	try {
-    		// query the database for maximum value of the odometer column
-    		final String MAX_ODOMETER = "MAX(" + RECORD_ODOMETER + ")";
-    		final String[] columns = new String[] {MAX_ODOMETER};
-    		String selection = RECORD_VEHICLE_ID + "=" + vehicle.getID();
-    		cursor = db.query(
-    				RECORDS_TABLE, 
-    				columns,
-    				selection, 
-    				null, null, null, null);
-
-    		// get the value from the query results 
-    		if (cursor != null) {
-    			if (cursor.moveToFirst()) {
-    				do {
-    					value = cursor.getInt(cursor.getColumnIndex(MAX_ODOMETER));
-    				} while (cursor.moveToNext());
-    			}
-    		}
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	} finally {
-    		if (cursor != null) cursor.close();
-    	}
-
-		// return the value
-		return value;
-    }
-    
-    /**
-     * Creates a gasoline record in the log.
-     * @param record The GasRecord to create.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean createRecord(Vehicle vehicle, GasRecord record) {
-    	final String tag = TAG+".createRecord()";
-    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-    	ASSERT((record.getID() == null),tag,"record id must be null");
-    	boolean success = false;
-    	record.setVehicleID(vehicle.getID());
-    	try {
-    		long rowID = db.insertOrThrow(RECORDS_TABLE, null, getContentValues(record));
-    		record.setID((int)rowID);
-    		success = true;
-    	} catch (SQLiteConstraintException e) {
-    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
-    		Utilities.toast(context,context.getString(R.string.toast_duplicate_odometer_value));
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	}
-    	
-    	return success;
-    }    	
-    
-    /**
-     * Updates a gasoline record in the log.
-     * @param record The GasRecord to update.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean updateRecord(GasRecord record) {
-    	final String tag = TAG+".updateRecord()";
-		ASSERT((record.getID() != null),tag,"record id cannot be null");
-    	boolean success = false;
-    	try {
-        	ContentValues values = getContentValues(record);
-        	values.remove(RECORD_ID);
-        	String whereClause = RECORD_ID + "=" + record.getID();
-    		int count = db.update(RECORDS_TABLE,values,whereClause,null);
-    		success = (count > 0);
-    	} catch (SQLiteConstraintException e) {
-    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
-    		Utilities.toast(context,context.getString(R.string.toast_duplicate_odometer_value));
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	}
-    	return success;
-    }
-    
-    /**
-     * Reads all gasoline records contained in the log for a specific vehicle.
-     * @param vehicle The Vehicle to read the records for. 
-     * @return A List of all GasRecord's in the log for the vehicle (empty if none exist).
-     */
-    public List<GasRecord> readAllRecords(Vehicle vehicle) {
-       	final String tag = TAG+".readAllRecords()";
-		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-
-		List<GasRecord> list = new ArrayList<GasRecord>();
-		
-		Cursor cursor = null;
-
-		try {
-			// SELECT * FROM Records WHERE vid=vehicle.getID() ORDER BY odometer;
-			String orderBy = RECORD_ODOMETER;
-			String selection = RECORD_VEHICLE_ID + "=" + vehicle.getID();
-			cursor = db.query(
-					RECORDS_TABLE, 
-					RECORDS_TABLE_COLUMNS,
-					selection,
-					null,null,null,
-					orderBy,
-					null
-					);
-
-			// create a list of GasRecords from the data
-			if (cursor != null) {
-				if (cursor.moveToFirst()) {
-					do {
-						GasRecord record = getRecordFromCursor(cursor);
-						list.add(record);
-					} while (cursor.moveToNext());
-				}
-			}
-
-			// calculate mileage based on the data
-			GasRecordList.calculateMileage(list);
-			
-		} catch (SQLException e) {
-			Log.e(tag,"SQLException: "+e.getMessage());
-			list.clear();
-		} finally {
-			if (cursor != null) cursor.close();
-		}
-
-		// return the list of GasRecords
-    	return list;
-    }
-    
-    /**
-     * Deletes a specified gasoline record from the log.
-     * @param record The GasRecord to delete.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean deleteRecord(GasRecord record) {
-
-    	final String tag = TAG+".deleteRecord()";
-    	
-		ASSERT((record.getID() != null),tag,"record id cannot be null");
-		
-    	boolean success = false;
-    	
-    	try {
-        	String whereClause = RECORD_ID + "=" + record.getID();
-        	String [] whereArgs = null;
-        	int count = db.delete(RECORDS_TABLE, whereClause, whereArgs);
-    		success = (count == 1);
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	}
-    	
-    	return success;
-    }
-
-    /**
-     * Deletes all gasoline records from the log for a specific vehicle.
-     * @param vehicle The Vehicle to delete records for.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean deleteAllRecords(Vehicle vehicle) {
-    	final String tag = TAG+".deleteAllRecords()";
-    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
-    	boolean success = false;
-    	try {
-    		String whereClause = RECORD_VEHICLE_ID + "=" + vehicle.getID();
-    		String [] whereArgs = null;
-    		db.delete(RECORDS_TABLE, whereClause, whereArgs);
-    		success = true;
-    	} catch (SQLException e) {
-    		Log.e(tag,"SQLException: "+e.getMessage());
-    	}
-    	
-    	return success;
-    }
-    
-    /**
-     * Reads gasoline record data from a specified ASCII CSV formatted file
-     * into the log for a specific vehicle. 
-     * @param vehicle The Vehicle to import records for.
-     * @param file The ASCII CSV data file to import.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean importData(Vehicle vehicle, InputStream file) {
-    	
-    	final String tag = TAG+".importData()";
-    	
-    	boolean success = false;
-    	
-    	db.beginTransaction();
-    	
-		int num = 0;
-    	BufferedReader reader = null;
-    	try {
-    		reader = new BufferedReader(new InputStreamReader(file));
-    		
-    		String line;
-    		do {
-    			line = reader.readLine();
-    			num++;
-    			if (line != null) {
-    				GasRecord record = new GasRecord(line);
-    				if (!createRecord(vehicle,record)) {
-    					throw new SQLiteException("create failed");
-    				}
-    			}
-    		} while (line != null);
-    		
-    		success = true;
-    		db.setTransactionSuccessful();
-    		
-    	} catch(Throwable t) {
-    		Log.e(tag,"import failed",t);
-    		String format = context.getString(R.string.toast_stopped_at_csv_line);
-    		Utilities.toast(context, String.format(format,num));
-    	} finally {
-    		db.endTransaction();
-    		if (reader != null) { 
-    			try {
-    				reader.close();
-    			} catch (IOException e) {
-    				Log.e(tag,"close() failed",e);
-    			}
-    		}
-    	}
-    	
-    	return success;
-    }
-    
-    /**
-     * Copies all existing log data for a specific vehicle to an ASCII CSV file.
-     * @param vehicle The Vehicle to export data for.
-     * @param file The ASCII CSV file to create.
-     * @return Flag indicating success/failure (true=success)
-     */
-    public boolean exportData(Vehicle vehicle, File file) {
-    	
-    	final String tag = TAG+".exportData()";
-    	
-    	boolean status = false;
-    	
-    	List<GasRecord> list = readAllRecords(vehicle);
-    	
-    	PrintStream out = null;
-    	try {
-    		out = new PrintStream(new FileOutputStream(file));
-    		for (GasRecord record : list) {
-    			out.println(record.toStringCSV());
-    		}
-    		status = true;
-    	} catch(Throwable t) {
-    		Log.e(tag,"export failed",t);
-    	} finally {
-    		if (out != null) out.close();
-    	}
-    	
-    	return status;
-    }
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+/**
+ * Implements an abstract log for the storage of gasoline records. Provides 
+ * CRUD methods to create, read, update, and delete gasoline records from 
+ * the log. The underlying storage mechanism is an SQLite database.
+ */
+public class GasLog {
+	
+    /// singleton instance
+    private static GasLog instance;
+    
+	/// a tag string for debug logging (the name of this class)
+	private static final String TAG = GasLog.class.getName();
+	
+    /// database table names
+	private static final String VEHICLES_TABLE = "Vehicles";
+    private static final String RECORDS_TABLE = "Records";
+    static final String NOTES_TABLE = "RecordNotes";
+    static final String TAGS_TABLE = "RecordTags";
+
+    /// column names for RECORDS_TABLE
+    private static final String RECORD_ID = "_id";
+    private static final String RECORD_VEHICLE_ID = "_vid";
+    private static final String RECORD_TIME = "time";
+    private static final String RECORD_ODOMETER = "odometer";
+    private static final String RECORD_GALLONS = "gallons";
+    private static final String RECORD_FULLTANK = "fulltank";
+    private static final String RECORD_HIDDEN = "hidden";
+    private static final String RECORD_COST = "cost";
+    private static final String RECORD_NOTES = "notes";
+    
+    
+    /// column names for TAGS_TABLE
+    private static final String TAG_RECORD_ID = "_rid";
+    private static final String TAG_VEHICLE_ID = "_vid";
+    private static final String TAG_NAME = "tag";
+    
+    // column names for VEHICLE_TABLE
+    private static final String VEHICLE_ID = "_id";
+    private static final String VEHICLE_NAME = "name";
+    private static final String VEHICLE_TANK_SIZE="tanksize";
+
+    /// array of all column names for VEHICLES_TABLE 
+    private static final String[] VEHICLES_TABLE_COLUMNS = 
+    		new String[] {VEHICLE_ID, VEHICLE_NAME, VEHICLE_TANK_SIZE};
+    
+    /// array of all column names for RECORDS_TABLE 
+    private static final String[] RECORDS_TABLE_COLUMNS = new String[] {
+    	RECORD_ID,
+    	RECORD_VEHICLE_ID,
+    	RECORD_TIME,RECORD_ODOMETER,
+    	RECORD_GALLONS,
+    	RECORD_FULLTANK,
+    	RECORD_HIDDEN,
+    	RECORD_COST,
+    	RECORD_NOTES
+    };
+    
+    /// SQL commands to create the database
+    public static final String[] DATABASE_CREATE = new String[] {
+
+    	"create table " + VEHICLES_TABLE + " ( " + 
+    			VEHICLE_ID          + " integer primary key autoincrement, " + 
+    			VEHICLE_NAME        + " text not null unique, " + 
+    			VEHICLE_TANK_SIZE   + " real not null); ",
+
+		"create table " + RECORDS_TABLE + " ( " + 
+    			RECORD_ID           + " integer primary key autoincrement, " + 
+    			RECORD_VEHICLE_ID   + " integer not null, " +
+    			RECORD_TIME         + " integer not null, " +
+    			RECORD_ODOMETER     + " integer not null, " + 
+    			RECORD_GALLONS      + " real not null, " + 
+    			RECORD_FULLTANK     + " integer not null, " +
+    			RECORD_HIDDEN       + " integer not null default 0, " +
+    			RECORD_COST         + " real not null default 0, " +
+    			RECORD_NOTES        + " text, " +
+    			"unique ("+RECORD_VEHICLE_ID+","+RECORD_ODOMETER+"), " + 
+    			"foreign key ("+RECORD_VEHICLE_ID+") references "+VEHICLES_TABLE+" ("+VEHICLE_ID+"));"
+    };
+    
+    /// SQL commands to create indexes for filtering records (database version 6)
+    public static final String[] DATABASE_CREATE_INDEXES = new String[] {
+    	
+    	"create index RecordsTime on " + RECORDS_TABLE + " (" + RECORD_VEHICLE_ID + "," + RECORD_TIME + ");",
+    	
+    	"create index RecordsCost on " + RECORDS_TABLE + " (" + RECORD_VEHICLE_ID + "," + RECORD_COST + ");",
+    	
+    	// full text index of record notes (docid = record id)
+    	"create virtual table " + NOTES_TABLE + " using fts3 (" + RECORD_NOTES + ");",
+    	
+    	// keep the full text index in sync with the records 
+    	"create trigger RecordNotesInsert after insert on " + RECORDS_TABLE + " begin " +
+    			"insert into " + NOTES_TABLE + " (docid," + RECORD_NOTES + ") values (new." + RECORD_ID + ",new." + RECORD_NOTES + "); end;",
+    	
+    	"create trigger RecordNotesUpdate after update of " + RECORD_NOTES + " on " + RECORDS_TABLE + 
+    			" when old." + RECORD_NOTES + " is not new." + RECORD_NOTES + " begin " +
+    			"update " + NOTES_TABLE + " set " + RECORD_NOTES + "=new." + RECORD_NOTES + " where docid=new." + RECORD_ID + "; end;",
+    	
+    	"create trigger RecordNotesDelete after delete on " + RECORDS_TABLE + " begin " +
+    			"delete from " + NOTES_TABLE + " where docid=old." + RECORD_ID + "; end;",
+    	
+    	// index notes for any existing records
+    	"insert into " + NOTES_TABLE + " (docid," + RECORD_NOTES + ") select " + RECORD_ID + "," + RECORD_NOTES + " from " + RECORDS_TABLE + ";"
+    };
+    
+    /// SQL commands to create the table of tags extracted from record notes (database version 7)
+    public static final String[] DATABASE_CREATE_TAGS = new String[] {
+    	
+    	"create table " + TAGS_TABLE + " ( " +
+    			TAG_RECORD_ID       + " integer not null, " +
+    			TAG_VEHICLE_ID      + " integer not null, " +
+    			TAG_NAME            + " text not null, " +
+    			"primary key ("+TAG_RECORD_ID+","+TAG_NAME+"), " +
+    			"foreign key ("+TAG_RECORD_ID+") references "+RECORDS_TABLE+" ("+RECORD_ID+"));",
+    	
+    	// select records by vehicle and tag
+    	"create index RecordTagsVehicle on " + TAGS_TABLE + " (" + TAG_VEHICLE_ID + "," + TAG_NAME + "," + TAG_RECORD_ID + ");",
+    	
+    	// tags are written with the record, but deleted by the database (for deleteAllRecords())
+    	"create trigger RecordTagsDelete after delete on " + RECORDS_TABLE + " begin " +
+    			"delete from " + TAGS_TABLE + " where " + TAG_RECORD_ID + "=old." + RECORD_ID + "; end;"
+    };
+    
+    /// SQL commands to delete the database
+    public static final String[] DATABASE_DELETE = new String[] {
+    	"drop table if exists " + TAGS_TABLE + ";",
+    	"drop table if exists " + NOTES_TABLE + ";",
+    	"drop table if exists " + RECORDS_TABLE + ";",
+    	"drop table if exists " + VEHICLES_TABLE + ";"
+    };
+    
+	/// the name of the database
+	public static final String DATABASE_NAME = "gaslog.db";
+	
+	/// the database version number 
+    public static final int DATABASE_VERSION = 7;
+
+    /// context of the instance creator
+    private final Context context;
+    
+    /// a helper instance used to open and close the database 
+    private final GasLogOpenHelper helper;
+    
+    /// the database
+    private final SQLiteDatabase db;
+    
+    /// SQL commands to write the log, compiled once (see compileStatement())
+    private static final String INSERT_RECORD = 
+    		"INSERT INTO " + RECORDS_TABLE + " (" + 
+    		RECORD_VEHICLE_ID + "," + RECORD_TIME + "," + RECORD_ODOMETER + "," + RECORD_GALLONS + "," + 
+    		RECORD_FULLTANK + "," + RECORD_HIDDEN + "," + RECORD_COST + "," + RECORD_NOTES + 
+    		") VALUES (?,?,?,?,?,?,?,?)";
+    private static final String UPDATE_RECORD = 
+    		"UPDATE " + RECORDS_TABLE + " SET " + 
+    		RECORD_VEHICLE_ID + "=?," + RECORD_TIME + "=?," + RECORD_ODOMETER + "=?," + RECORD_GALLONS + "=?," + 
+    		RECORD_FULLTANK + "=?," + RECORD_HIDDEN + "=?," + RECORD_COST + "=?," + RECORD_NOTES + "=?" + 
+    		" WHERE " + RECORD_ID + "=?";
+    private static final String DELETE_RECORD = 
+    		"DELETE FROM " + RECORDS_TABLE + " WHERE " + RECORD_ID + "=?";
+    private static final String DELETE_ALL_RECORDS = 
+    		"DELETE FROM " + RECORDS_TABLE + " WHERE " + RECORD_VEHICLE_ID + "=?";
+    private static final String INSERT_VEHICLE = 
+    		"INSERT INTO " + VEHICLES_TABLE + " (" + VEHICLE_NAME + "," + VEHICLE_TANK_SIZE + ") VALUES (?,?)";
+    private static final String UPDATE_VEHICLE = 
+    		"UPDATE " + VEHICLES_TABLE + " SET " + VEHICLE_NAME + "=?," + VEHICLE_TANK_SIZE + "=?" + 
+    		" WHERE " + VEHICLE_ID + "=?";
+    private static final String DELETE_VEHICLE = 
+    		"DELETE FROM " + VEHICLES_TABLE + " WHERE " + VEHICLE_ID + "=?";
+    private static final String DELETE_TAGS = 
+    		"DELETE FROM " + TAGS_TABLE + " WHERE " + TAG_RECORD_ID + "=?";
+    private static final String INSERT_TAG = 
+    		"INSERT INTO " + TAGS_TABLE + " (" + TAG_RECORD_ID + "," + TAG_VEHICLE_ID + "," + TAG_NAME + 
+    		") VALUES (?,?,?)";
+    
+    /// returns the number of rows changed by the last statement executed
+    /// note: SQLiteStatement.executeUpdateDelete() requires API 11
+    private static final String CHANGES = "SELECT changes()";
+    
+    /// precompiled statements to write the log, held for the lifetime of the database
+    /// note: only used within a transaction, which serializes their use across threads
+    private final SQLiteStatement insertRecord;
+    private final SQLiteStatement updateRecord;
+    private final SQLiteStatement deleteRecord;
+    private final SQLiteStatement deleteAllRecords;
+    private final SQLiteStatement insertVehicle;
+    private final SQLiteStatement updateVehicle;
+    private final SQLiteStatement deleteVehicle;
+    private final SQLiteStatement deleteTags;
+    private final SQLiteStatement insertTag;
+    private final SQLiteStatement changes;
+    
+    /// data version, incremented each time the log data is written
+    private volatile int version = 0;
+    
+    /// summary of each vehicle, keyed by vehicle id (null until first needed, guarded by this)
+    private Map<Integer,VehicleSummary> vehicleCache = null;
+    
+    /// flag indicating that vehicle summary updates are deferred (during import, guarded by this)
+    private boolean deferSummaries = false;
+    
+    /**
+     * Determines if the log database file currently exists.
+     * @return true if file exists, false otherwise.
+     */
+    public static boolean exists() {
+        File dbFile = App.getContext().getDatabasePath(DATABASE_NAME);
+        return dbFile.exists();
+    }
+    
+    /**
+     * Returns a single instance, creating it if necessary.
+     * @return GasLog Singleton instance.
+     */
+    public static synchronized GasLog getInstance() {
+    	if (instance == null) {
+            instance = new GasLog();
+    	}
+    	return instance;
+    }
+    
+    /**
+     * Destroys any existing log instance, closing the database.
+     */
+    public void finalize() throws Throwable {
+    	if (instance != null) {
+    		instance.closeStatements();
+    		instance.helper.close();
+    		instance = null;
+    	}
+        super.finalize();
+    }
+    
+    /**
+     * Constructs an instance of GasLog (private to enforce singleton).
+     */
+    private GasLog() {
+    	this.context = App.getContext();
+        this.helper = new GasLogOpenHelper(this.context);
+        this.db = helper.getWritableDatabase();
+        this.insertRecord = db.compileStatement(INSERT_RECORD);
+        this.updateRecord = db.compileStatement(UPDATE_RECORD);
+        this.deleteRecord = db.compileStatement(DELETE_RECORD);
+        this.deleteAllRecords = db.compileStatement(DELETE_ALL_RECORDS);
+        this.insertVehicle = db.compileStatement(INSERT_VEHICLE);
+        this.updateVehicle = db.compileStatement(UPDATE_VEHICLE);
+        this.deleteVehicle = db.compileStatement(DELETE_VEHICLE);
+        this.deleteTags = compileOptional(DELETE_TAGS);
+        this.insertTag = compileOptional(INSERT_TAG);
+        this.changes = db.compileStatement(CHANGES);
+    }
+    
+    /**
+     * Compiles a statement for a table that may not exist, because creating 
+     * it failed (see GasLogOpenHelper.onOpen()).
+     * @param sql The SQL statement.
+     * @return The compiled statement, or null if it could not be compiled.
+     */
+    private SQLiteStatement compileOptional(String sql) {
+    	try {
+    		return db.compileStatement(sql);
+    	} catch (SQLException e) {
+    		Log.e(TAG,"unable to compile "+sql,e);
+    		return null;
+    	}
+    }
+    
+    /**
+     * Releases the precompiled statements (before the database is closed).
+     */
+    private void closeStatements() {
+    	SQLiteStatement[] statements = new SQLiteStatement[] {
+    		insertRecord, updateRecord, deleteRecord, deleteAllRecords,
+    		insertVehicle, updateVehicle, deleteVehicle,
+    		deleteTags, insertTag, changes
+    	};
+    	for (SQLiteStatement statement : statements) {
+    		if (statement != null) statement.close();
+    	}
+    }
+    
+    /**
+     * Returns the database version number reported by SQLite.
+     * @return the database version.
+     */
+    public int getDatabaseVersion() {
+    	return db.getVersion();
+    }
+    
+    /**
+     * Returns the current data version. The data version changes each 
+     * time the log data is written, so results derived from the log data
+     * can be cached and compared against it to determine if they are stale.
+     * @return the data version.
+     */
+    public int getDataVersion() {
+    	return version;
+    }
+    
+    /**
+     * Increments the data version to indicate that the log data has changed.
+     */
+    private void dataChanged() {
+    	version++;
+    	RecordPrefetcher.invalidate();
+    }
+    
+    /**
+     * Convenience method to test assertion.
+     * @param assertion An asserted boolean condition. 
+     * @param tag A tag String identifying the calling method.
+     * @param msg An error message to display/log.
+     * @throws RuntimeException if the assertion is false
+     */
+    private void ASSERT(boolean assertion, String tag, String msg) {
+    	if (!assertion) {
+    		String assert_msg = "ASSERT failed: " + msg;
+    		Log.e(tag,assert_msg);
+    		throw new RuntimeException(assert_msg);
+    	}
+    }
+
+    /**
+     * Convenience method to bind the values of a GasRecord instance to the 
+     * first parameters of a precompiled statement (INSERT_RECORD or UPDATE_RECORD).
+     * @param statement The statement.
+     * @param record The GasRecord to bind.
+     */
+    private void bindRecord(SQLiteStatement statement, GasRecord record) {
+    	statement.clearBindings();
+    	DatabaseUtils.bindObjectToProgram(statement,1,record.getVehicleID());
+    	DatabaseUtils.bindObjectToProgram(statement,2,record.getDate().getTime());
+    	DatabaseUtils.bindObjectToProgram(statement,3,record.getOdometer());
+    	DatabaseUtils.bindObjectToProgram(statement,4,record.getGallons());
+    	DatabaseUtils.bindObjectToProgram(statement,5,record.isFullTank());
+    	DatabaseUtils.bindObjectToProgram(statement,6,record.isCalculationHidden());
+    	DatabaseUtils.bindObjectToProgram(statement,7,record.getCost());
+    	DatabaseUtils.bindObjectToProgram(statement,8,record.getNotes());
+    }
+    
+    /**
+     * Convenience method to bind the values of a Vehicle instance to the 
+     * first parameters of a precompiled statement (INSERT_VEHICLE or UPDATE_VEHICLE).
+     * @param statement The statement.
+     * @param vehicle The Vehicle to bind.
+     */
+    private void bindVehicle(SQLiteStatement statement, Vehicle vehicle) {
+    	statement.clearBindings();
+    	DatabaseUtils.bindObjectToProgram(statement,1,vehicle.getName());
+    	DatabaseUtils.bindObjectToProgram(statement,2,vehicle.getTankSize());
+    }
+    
+    /**
+     * Executes a precompiled UPDATE or DELETE statement.
+     * @param statement The statement, with parameters bound.
+     * @return The number of rows changed.
+     * @throws SQLException if an error occurs executing the statement.
+     */
+    private int executeUpdateDelete(SQLiteStatement statement) {
+    	statement.execute();
+    	return (int)changes.simpleQueryForLong();
+    }
+    
+    /**
+     * Convenience method to create a GasRecord instance from values read
+     * from the database.
+     * @param c A Cursor containing results of a database query. 
+     * @return A GasRecord instance (null if no data).
+     */
+    private GasRecord getRecordFromCursor(Cursor c) {
+    	final String tag = TAG+".getRecordFromCursor()";
+    	GasRecord record = null;
+    	if (c != null) {
+    		int id = c.getInt(c.getColumnIndex(RECORD_ID));
+    		int vid = c.getInt(c.getColumnIndex(RECORD_VEHICLE_ID));
+    		long time = c.getLong(c.getColumnIndex(RECORD_TIME));
+    		int odometer = c.getInt(c.getColumnIndex(RECORD_ODOMETER));
+    		float gallons = c.getFloat(c.getColumnIndex(RECORD_GALLONS));
+    		int fulltank = c.getInt(c.getColumnIndex(RECORD_FULLTANK));
+    		int hidden = c.getInt(c.getColumnIndex(RECORD_HIDDEN));
+    		double cost = c.getDouble(c.getColumnIndex(RECORD_COST));
+    		String notes = c.getString(c.getColumnIndex(RECORD_NOTES));
+    		
+    		record = new GasRecord();
+    		record.setID(id);
+    		record.setVehicleID(vid);
+    		record.setDate(new Date(time));
+    		record.setOdometer(odometer);
+    		record.setGallons(gallons);
+    		record.setFullTank(fulltank == 1);
+    		record.setHiddenCalculation(hidden == 1);
+    		record.setCost(cost);
+    		record.setNotes(notes);
+    		
+    		try {
+    			record.calculatePrice();
+    		} catch (NumberFormatException e) {
+    			Log.e(tag,e.getMessage());
+    		}
+    	}
+    	return record;
+    }
+
+    /**
+     * Convenience method to create a Vehicle instance from values read
+     * from the database.
+     * @param c A Cursor containing results of a database query. 
+     * @return A Vehicle instance (null if no data).
+     */
+    private Vehicle getVehicleFromCursor(Cursor c) {
+    	Vehicle vehicle = null;
+    	if (c != null) {
+    		vehicle = new Vehicle();
+    		int id = c.getInt(c.getColumnIndex(VEHICLE_ID));
+    		String name = c.getString(c.getColumnIndex(VEHICLE_NAME));
+    		float tanksize = c.getFloat(c.getColumnIndex(VEHICLE_TANK_SIZE));
+    		vehicle.setID(id);
+    		vehicle.setName(name);
+    		vehicle.setTankSize(tanksize);
+    	}
+    	return vehicle;
+    }
+    
+    /**
+     * Creates a vehicle in the log.
+     * @param vehicle The Vehicle to create.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean createVehicle(Vehicle vehicle) {
+    	final String tag = TAG+".createVehicle()";
+    	ASSERT((vehicle.getID() == null),tag,"vehicle id must be null");
+    	long rowID = -1;
+    	db.beginTransaction();
+    	try {
+    		bindVehicle(insertVehicle,vehicle);
+    		rowID = insertVehicle.executeInsert();
+    		if (rowID != -1) {
+    			db.setTransactionSuccessful();
+    		}
+    	} catch (SQLiteConstraintException e) {
+    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
+    		Utilities.toast(context,context.getString(R.string.toast_duplicate_vehicle_name));
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	
+    	// publish the new vehicle only once the insert has been committed
+    	boolean success = (rowID != -1);
+    	if (success) {
+    		vehicle.setID((int)rowID);
+    		dataChanged();
+    		putVehicleSummary(new VehicleSummary(new Vehicle(vehicle)));
+    	}
+    	return success;
+    }
+    
+    /**
+     * Updates a vehicle in the log.
+     * @param vehicle The Vehicle to update.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean updateVehicle(Vehicle vehicle) {
+    	final String tag = TAG+".updateVehicle()";
+		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+		boolean success = false;
+		db.beginTransaction();
+		try {
+			bindVehicle(updateVehicle,vehicle);
+			updateVehicle.bindLong(3,vehicle.getID());
+			int count = executeUpdateDelete(updateVehicle);
+			db.setTransactionSuccessful();
+			success = (count != 0);
+			dataChanged();
+			updateVehicleSummary(vehicle);
+		} catch (SQLiteConstraintException e) {
+			Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
+			Utilities.toast(context,context.getString(R.string.toast_duplicate_vehicle_name));
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+		} finally {
+			db.endTransaction();
+		}
+		return success;
+    }
+    
+    /**
+     * Reads all vehicles contained in the log. 
+     * <p>
+     * NOTE: 
+     * Vehicles are obtained from the vehicle cache, so the database is
+     * only read the first time. The returned Vehicle instances are copies
+     * and may be modified by the caller.
+     * @return A List of all Vehicle's in the log, ordered by name (empty if none exist).
+     */
+    public List<Vehicle> readAllVehicles() {
+    	List<Vehicle> list = new ArrayList<Vehicle>();
+    	for (VehicleSummary summary : getVehicleSummaries()) {
+    		list.add(new Vehicle(summary.getVehicle()));
+    	}
+    	Collections.sort(list,new VehicleNameComparator());
+    	return list;
+    }
+    
+    /**
+     * Returns the summary of the log data for a specific vehicle. 
+     * <p>
+     * NOTE: 
+     * The summary is obtained from the vehicle cache, which is maintained
+     * as the log is written, so the database is only read the first time.
+     * @param vehicle The Vehicle.
+     * @return The VehicleSummary.
+     */
+    public VehicleSummary readVehicleSummary(Vehicle vehicle) {
+    	final String tag = TAG+".readVehicleSummary()";
+    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+    	VehicleSummary summary = getVehicleSummary(vehicle.getID());
+    	if (summary == null) {
+    		summary = new VehicleSummary(new Vehicle(vehicle));
+    	}
+    	return summary;
+    }
+    
+    /**
+     * Returns the vehicle cache, reading all vehicles and their summaries
+     * from the database if the cache does not yet exist.
+     * @return Map of VehicleSummary instances keyed by vehicle id.
+     */
+    private synchronized Map<Integer,VehicleSummary> getVehicleCache() {
+    	if (vehicleCache == null) {
+    		vehicleCache = new HashMap<Integer,VehicleSummary>();
+    		for (Vehicle vehicle : queryAllVehicles()) {
+    			vehicleCache.put(vehicle.getID(),querySummary(vehicle));
+    		}
+    	}
+    	return vehicleCache;
+    }
+    
+    /**
+     * Returns a copy of the summaries in the vehicle cache, so that they can 
+     * be iterated while the log is written. 
+     * @return List of VehicleSummary instances.
+     */
+    private synchronized List<VehicleSummary> getVehicleSummaries() {
+    	return new ArrayList<VehicleSummary>(getVehicleCache().values());
+    }
+    
+    /**
+     * Returns the summary for a specific vehicle id from the vehicle cache.
+     * @param vid The vehicle id.
+     * @return The VehicleSummary, or null if the vehicle is not in the cache.
+     */
+    private synchronized VehicleSummary getVehicleSummary(Integer vid) {
+    	return getVehicleCache().get(vid);
+    }
+    
+    /**
+     * Updates the cached summary for a specific vehicle (if the cache exists)
+     * after the log data for the vehicle has been written.
+     * @param vehicle The Vehicle whose data was written.
+     */
+    private void updateVehicleSummary(Vehicle vehicle) {
+    	synchronized (this) {
+    		if ((vehicleCache == null) || deferSummaries) return;
+    	}
+    	// query outside the lock (the caller may hold a database transaction)
+    	putVehicleSummary(querySummary(new Vehicle(vehicle)));
+    }
+    
+    /**
+     * Adds or replaces a summary in the vehicle cache (if the cache exists).
+     * @param summary The VehicleSummary.
+     */
+    private synchronized void putVehicleSummary(VehicleSummary summary) {
+    	if (vehicleCache != null) {
+    		vehicleCache.put(summary.getVehicle().getID(),summary);
+    	}
+    }
+    
+    /**
+     * Updates the cached summary for a specific vehicle id (if the cache exists)
+     * after the log data for the vehicle has been written.
+     * @param vid The id of the vehicle whose data was written.
+     */
+    private void updateVehicleSummary(Integer vid) {
+    	if (vid != null) {
+    		VehicleSummary summary = null;
+    		synchronized (this) {
+    			if (vehicleCache != null) summary = vehicleCache.get(vid);
+    		}
+    		if (summary != null) {
+    			updateVehicleSummary(summary.getVehicle());
+    		}
+    	}
+    }
+    
+    /**
+     * Reads the summary of the log data for a specific vehicle from the database.
+     * @param vehicle The Vehicle.
+     * @return The VehicleSummary.
+     */
+    private VehicleSummary querySummary(Vehicle vehicle) {
+    	final String tag = TAG+".querySummary()";
+    	
+    	int count = 0;
+    	int odometer = -1;
+    	Date date = null;
+    	int distance = 0;
+    	float gallons = 0f;
+    	
+    	Cursor cursor = null;
+    	
+    	try {
+    		List<String> args = new ArrayList<String>();
+    		RecordQuery query = new RecordQuery().setVehicle(vehicle);
+    		String selection = getSelection(query,null,args);
+    		
+    		// record count, current odometer and last fill up date
+    		final String[] columns = new String[] {
+    				"COUNT(*)",
+    				"MAX(" + RECORD_ODOMETER + ")",
+    				"MAX(" + RECORD_TIME + ")"
+    		};
+    		cursor = db.query(RECORDS_TABLE,columns,selection,toArray(args),null,null,null);
+    		if (cursor.moveToFirst()) {
+    			count = cursor.getInt(0);
+    			if (count > 0) {
+    				odometer = cursor.getInt(1);
+    				date = new Date(cursor.getLong(2));
+    			}
+    		}
+    		cursor.close();
+    		cursor = null;
+    		
+    		// odometer values for the last two full tanks
+    		args.clear();
+    		query.setFullTank(true);
+    		selection = getSelection(query,null,args);
+    		cursor = db.query(
+    				RECORDS_TABLE,
+    				new String[] {RECORD_ODOMETER,RECORD_HIDDEN},
+    				selection,
+    				toArray(args),null,null,
+    				RECORD_ODOMETER + " DESC",
+    				"2");
+    		if ((cursor.getCount() == 2) && cursor.moveToFirst() && (cursor.getInt(1) == 0)) {
+    			int end = cursor.getInt(0);
+    			cursor.moveToNext();
+    			int start = cursor.getInt(0);
+    			cursor.close();
+    			cursor = null;
+    			
+    			// gasoline used between the last two full tanks
+    			args.clear();
+    			query.setFullTank(null).setOdometerRange(start+1,end);
+    			selection = getSelection(query,null,args);
+    			cursor = db.query(
+    					RECORDS_TABLE,
+    					new String[] {"SUM(" + RECORD_GALLONS + ")"},
+    					selection,
+    					toArray(args),null,null,null);
+    			if (cursor.moveToFirst()) {
+    				distance = end - start;
+    				gallons = cursor.getFloat(0);
+    			}
+    		}
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		if (cursor != null) cursor.close();
+    	}
+    	
+    	return new VehicleSummary(vehicle,count,odometer,date,distance,gallons);
+    }
+    
+    /**
+     * Reads all vehicles contained in the database.
+     * @return A List of all Vehicle's in the log (empty if none exist).
+     */
+    private List<Vehicle> queryAllVehicles() {
+    	final String tag = TAG+".queryAllVehicles()";
+    	List<Vehicle> list = new ArrayList<Vehicle>();
+    	Cursor cursor = null;
+    	try {
+    		// SELECT * FROM Vehicles ORDER BY name;
+    		String orderBy = VEHICLE_NAME;
+    		cursor = db.query(
+    				VEHICLES_TABLE, 
+    				VEHICLES_TABLE_COLUMNS,
+    				null,null,null,null,
+    				orderBy,
+    				null
+    				);
+
+    		// create a list of Vehicle instances from the data
+    		if (cursor != null) {
+    			if (cursor.moveToFirst()) {
+    				do {
+    					Vehicle vehicle = getVehicleFromCursor(cursor);
+    					list.add(vehicle);
+    				} while (cursor.moveToNext());
+    			}
+    		}
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    		list.clear();
+    	} finally {
+    		if (cursor != null) cursor.close();
+    	}
+
+    	// return the list of Vehicles
+    	return list;
+    }
+    
+    /**
+     * Deletes a specified vehicle from the log.
+     * @param vehicle The Vehicle to delete.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean deleteVehicle(Vehicle vehicle) {
+    	final String tag = TAG+".deleteVehicle()";
+		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+    	
+		boolean success = false;
+		
+    	// delete all records for the vehicle
+    	if (!deleteAllRecords(vehicle)) {
+    		return false;
+    	}
+    	
+    	// delete the vehicle
+    	db.beginTransaction();
+    	try {
+    		deleteVehicle.bindLong(1,vehicle.getID());
+    		int count = executeUpdateDelete(deleteVehicle);
+    		db.setTransactionSuccessful();
+    		success = (count == 1);
+    		dataChanged();
+    		synchronized (this) {
+    			if (vehicleCache != null) vehicleCache.remove(vehicle.getID());
+    		}
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	
+    	return success;
+    }
+    
+    /**
+     * Determines the current odometer value in the log for a specific vehicle.
+     * The value is obtained from the vehicle cache (see readVehicleSummary()).
+     * @param vehicle The Vehicle being evaluated.
+     * @return The current odometer value (int) in the log for the vehicle. (-1 if no data)
+     */
+    public int readCurrentOdometer(Vehicle vehicle) {
+    	return readVehicleSummary(vehicle).getOdometer();
+    }
+    
+    /**
+     * Reads monthly totals for all vehicles in the log in a single 
+     * aggregate query. The distance for a month is the difference between 
+     * the last odometer value in the month and the last odometer value 
+     * in the previous month with data (or the first odometer value, for 
+     * the first month), consistent with the trips in MonthlyTrips. Months
+     * are in time order, so back-dated records can leave the odometer 
+     * lower than in an earlier month; distance is measured from the highest
+     * earlier value and is never negative.
+     * @return The FleetSummary (empty if no data).
+     */
+    public FleetSummary readFleetSummary() {
+    	final String tag = TAG+".readFleetSummary()";
+    	
+    	FleetSummary summary = new FleetSummary();
+    	
+    	Cursor cursor = null;
+    	
+    	try {
+    		// group by vehicle and local calendar month of the record time
+    		final String MONTH = "strftime('%Y-%m'," + RECORD_TIME + "/1000,'unixepoch','localtime')";
+    		final String[] columns = new String[] {
+    				RECORD_VEHICLE_ID,
+    				"MAX(" + RECORD_TIME + ")",
+    				"SUM(" + RECORD_GALLONS + ")",
+    				"SUM(" + RECORD_COST + ")",
+    				"COUNT(*)",
+    				"MAX(" + RECORD_ODOMETER + ")",
+    				"MIN(" + RECORD_ODOMETER + ")"
+    		};
+    		String groupBy = RECORD_VEHICLE_ID + "," + MONTH;
+    		String orderBy = RECORD_VEHICLE_ID + "," + MONTH;
+    		cursor = db.query(
+    				RECORDS_TABLE, 
+    				columns,
+    				null, null, 
+    				groupBy,
+    				null,
+    				orderBy);
+    		
+    		int vid = -1;
+    		int previous = 0;
+    		if (cursor.moveToFirst()) {
+    			do {
+    				int id = cursor.getInt(0);
+    				long time = cursor.getLong(1);
+    				float gallons = cursor.getFloat(2);
+    				double cost = cursor.getDouble(3);
+    				int count = cursor.getInt(4);
+    				int max = cursor.getInt(5);
+    				int min = cursor.getInt(6);
+    				if (id != vid) {
+    					// first month for the vehicle
+    					vid = id;
+    					previous = min;
+    				}
+    				// a month of back-dated records (odometer below that of an
+    				// earlier month) contributes no distance, rather than negative
+    				Month month = new Month(new Date(time));
+    				int distance = Math.max(0,max-previous);
+    				summary.add(vid,new MonthlyTotals(month,distance,gallons,cost,count,max));
+    				previous = Math.max(previous,max);
+    			} while (cursor.moveToNext());
+    		}
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		if (cursor != null) cursor.close();
+    	}
+    	
+    	return summary;
+    }
+    
+    /**
+     * Creates a gasoline record in the log.
+     * @param record The GasRecord to create.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean createRecord(Vehicle vehicle, GasRecord record) {
+    	final String tag = TAG+".createRecord()";
+    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+    	ASSERT((record.getID() == null),tag,"record id must be null");
+    	boolean success = false;
+    	record.setVehicleID(vehicle.getID());
+    	db.beginTransaction();
+    	try {
+    		bindRecord(insertRecord,record);
+    		long rowID = insertRecord.executeInsert();
+    		record.setID((int)rowID);
+    		writeTags(record);
+    		db.setTransactionSuccessful();
+    		success = true;
+    		dataChanged();
+    		updateVehicleSummary(vehicle.getID());
+    	} catch (SQLiteConstraintException e) {
+    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
+    		Utilities.toast(context,context.getString(R.string.toast_duplicate_odometer_value));
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	
+    	return success;
+    }    	
+    
+    /**
+     * Updates a gasoline record in the log.
+     * @param record The GasRecord to update.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean updateRecord(GasRecord record) {
+    	final String tag = TAG+".updateRecord()";
+		ASSERT((record.getID() != null),tag,"record id cannot be null");
+    	boolean success = false;
+    	db.beginTransaction();
+    	try {
+    		bindRecord(updateRecord,record);
+    		updateRecord.bindLong(9,record.getID());
+    		int count = executeUpdateDelete(updateRecord);
+    		if (count > 0) {
+    			writeTags(record);
+    		}
+    		db.setTransactionSuccessful();
+    		success = (count > 0);
+    		dataChanged();
+    		updateVehicleSummary(record.getVehicleID());
+    	} catch (SQLiteConstraintException e) {
+    		Log.e(tag,"SQLiteConstraintException: "+e.getMessage());
+    		Utilities.toast(context,context.getString(R.string.toast_duplicate_odometer_value));
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	return success;
+    }
+    
+    /**
+     * Reads all gasoline records contained in the log for a specific vehicle.
+     * @param vehicle The Vehicle to read the records for. 
+     * @return A List of all GasRecord's in the log for the vehicle (empty if none exist).
+     */
+    public List<GasRecord> readAllRecords(Vehicle vehicle) {
+       	final String tag = TAG+".readAllRecords()";
+		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+
+		List<GasRecord> list = readRecords(new RecordQuery().setVehicle(vehicle));
+		
+		// calculate mileage based on the data
+		GasRecordList.calculateMileage(list);
+		
+    	return list;
+    }
+    
+    /**
+     * Reads the gasoline records contained in the log that match a query.
+     * NOTE: mileage is not calculated for the returned records, since that
+     * depends on records that may not match (see readAllRecords()).
+     * @param query The RecordQuery specifying which records to read.
+     * @return A List of the matching GasRecord's sorted by odometer value (empty if none).
+     */
+    public List<GasRecord> readRecords(RecordQuery query) {
+       	final String tag = TAG+".readRecords()";
+
+		List<GasRecord> list = new ArrayList<GasRecord>();
+		
+		Cursor cursor = null;
+
+		try {
+			// SELECT * FROM Records WHERE query ORDER BY odometer;
+			List<String> args = new ArrayList<String>();
+			String orderBy = RECORD_ODOMETER;
+			String selection = getSelection(query,null,args);
+			cursor = db.query(
+					RECORDS_TABLE, 
+					RECORDS_TABLE_COLUMNS,
+					selection,
+					toArray(args),
+					null,null,
+					orderBy,
+					null
+					);
+
+			// create a list of GasRecords from the data
+			if (cursor != null) {
+				if (cursor.moveToFirst()) {
+					do {
+						GasRecord record = getRecordFromCursor(cursor);
+						list.add(record);
+					} while (cursor.moveToNext());
+				}
+			}
+
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+			list.clear();
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+
+		// return the list of GasRecords
+    	return list;
+    }
+    
+    /**
+     * Reads the ids of the gasoline records contained in the log that match 
+     * a query. 
+     * @param query The RecordQuery specifying which records match.
+     * @return A Set of record ids (empty if none match).
+     */
+    public Set<Integer> readRecordIds(RecordQuery query) {
+       	final String tag = TAG+".readRecordIds()";
+		
+		Set<Integer> ids = new HashSet<Integer>();
+		
+		Cursor cursor = null;
+		try {
+			// SELECT _id FROM Records WHERE query;
+			List<String> args = new ArrayList<String>();
+			cursor = db.query(
+					RECORDS_TABLE, 
+					new String[] {RECORD_ID},
+					getSelection(query,null,args),
+					toArray(args),
+					null,null,null);
+			while (cursor.moveToNext()) {
+				ids.add(cursor.getInt(0));
+			}
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+			ids.clear();
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+		
+		return ids;
+    }
+    
+    /**
+     * Compiles a query into an SQL selection (WHERE clause) for the records 
+     * table. Each criterion value is a parameter of the selection, so the 
+     * selection is the same String for all queries with the same criteria 
+     * specified, and the database reuses its compiled statement. The 
+     * indexes on record time and cost, the full text index of record notes 
+     * and the index of tags are used to evaluate the criteria.
+     * @param query The RecordQuery to compile.
+     * @param table The table name to qualify column names with (null if none).
+     * @param args The List to append the selection arguments to.
+     * @return The selection String ("1" if the query matches all records).
+     */
+    private String getSelection(RecordQuery query, String table, List<String> args) {
+    	return getSelection(query,table,args,true);
+    }
+    
+    /**
+     * Compiles a query into an SQL selection (WHERE clause) for the records 
+     * table, optionally omitting the notes criterion (for a statement that
+     * evaluates it with its own MATCH on the full text index).
+     * @param query The RecordQuery to compile.
+     * @param table The table name to qualify column names with (null if none).
+     * @param args The List to append the selection arguments to.
+     * @param notes true to include the notes criterion, false to omit it.
+     * @return The selection String ("1" if the query matches all records).
+     */
+    private String getSelection(RecordQuery query, String table, List<String> args, boolean notes) {
+    	
+    	String prefix = (table == null) ? "" : table + ".";
+    	StringBuilder selection = new StringBuilder();
+    	
+    	if (query.getVehicleId() != null) {
+    		and(selection).append(prefix + RECORD_VEHICLE_ID + "=?");
+    		args.add(query.getVehicleId().toString());
+    	}
+		if (query.getStartDate() != null) {
+			and(selection).append(prefix + RECORD_TIME + ">=?");
+			args.add(Long.toString(query.getStartDate().getTime()));
+		}
+		if (query.getEndDate() != null) {
+			and(selection).append(prefix + RECORD_TIME + "<?");
+			args.add(Long.toString(query.getEndDate().getTime()));
+		}
+		if (query.getMinimumOdometer() != null) {
+			and(selection).append(prefix + RECORD_ODOMETER + ">=?");
+			args.add(query.getMinimumOdometer().toString());
+		}
+		if (query.getMaximumOdometer() != null) {
+			and(selection).append(prefix + RECORD_ODOMETER + "<=?");
+			args.add(query.getMaximumOdometer().toString());
+		}
+		if (query.getFullTank() != null) {
+			and(selection).append(prefix + RECORD_FULLTANK + "=?");
+			args.add(query.getFullTank() ? "1" : "0");
+		}
+		if (query.getHidden() != null) {
+			and(selection).append(prefix + RECORD_HIDDEN + "=?");
+			args.add(query.getHidden() ? "1" : "0");
+		}
+		if (query.getMinimumCost() != null) {
+			and(selection).append(prefix + RECORD_COST + ">=?");
+			args.add(query.getMinimumCost().toString());
+		}
+		if (query.getMaximumCost() != null) {
+			and(selection).append(prefix + RECORD_COST + "<=?");
+			args.add(query.getMaximumCost().toString());
+		}
+		if (query.getTag() != null) {
+			and(selection).append(prefix + RECORD_ID + " IN (SELECT " + TAG_RECORD_ID + " FROM " + TAGS_TABLE + 
+					" WHERE " + TAG_NAME + "=?");
+			args.add(query.getTag());
+			if (query.getVehicleId() != null) {
+				selection.append(" AND " + TAG_VEHICLE_ID + "=?");
+				args.add(query.getVehicleId().toString());
+			}
+			selection.append(")");
+		}
+		String match = notes ? query.getNotesQuery() : null;
+		if (match != null) {
+			and(selection).append(prefix + RECORD_ID + " IN (SELECT docid FROM " + NOTES_TABLE + 
+					" WHERE " + RECORD_NOTES + " MATCH ?)");
+			args.add(match);
+		}
+		
+		return (selection.length() > 0) ? selection.toString() : "1";
+    }
+    
+    /**
+     * Appends the AND operator to a selection, unless it is empty.
+     * @param selection The selection being built.
+     * @return The selection.
+     */
+    private static StringBuilder and(StringBuilder selection) {
+    	if (selection.length() > 0) selection.append(" AND ");
+    	return selection;
+    }
+    
+    /**
+     * Converts a List of selection arguments to an array.
+     * @param args The List of arguments.
+     * @return The arguments as a String array.
+     */
+    private static String[] toArray(List<String> args) {
+    	return args.toArray(new String[args.size()]);
+    }
+    
+    /**
+     * Searches the notes of the gasoline records that match a query using 
+     * the full text index. Each word of the notes search text matches notes 
+     * containing a word with that prefix, and all words must match. The
+     * other criteria of the query are applied in the same statement, so the
+     * result contains exactly the records that match the query.
+     * NOTE: mileage is not calculated for the returned records, since that
+     * depends on records that do not match.
+     * @param query The RecordQuery specifying which records match (including
+     * the notes search text). 
+     * @return A List of NoteMatch, best match first (empty if none match or
+     * the query has no notes search text).
+     */
+    public List<NoteMatch> searchNotes(RecordQuery query) {
+       	final String tag = TAG+".searchNotes()";
+		
+		List<NoteMatch> list = new ArrayList<NoteMatch>();
+		
+		String match = query.getNotesQuery();
+		if (match == null) return list;
+		
+		// SELECT Records.*, snippet(RecordNotes), offsets(RecordNotes) FROM RecordNotes 
+		// JOIN Records ON Records._id = RecordNotes.docid WHERE RecordNotes MATCH notes AND query;
+		StringBuilder sql = new StringBuilder("SELECT ");
+		for (String column : RECORDS_TABLE_COLUMNS) {
+			sql.append(RECORDS_TABLE + "." + column + ",");
+		}
+		sql.append("snippet(" + NOTES_TABLE + ",?,?,?) AS snippet,");
+		sql.append("offsets(" + NOTES_TABLE + ") AS offsets");
+		sql.append(" FROM " + NOTES_TABLE + " JOIN " + RECORDS_TABLE);
+		sql.append(" ON " + RECORDS_TABLE + "." + RECORD_ID + "=" + NOTES_TABLE + ".docid");
+		List<String> args = new ArrayList<String>();
+		args.add(NoteMatch.MATCH_START);
+		args.add(NoteMatch.MATCH_END);
+		args.add(NoteMatch.ELLIPSIS);
+		sql.append(" WHERE " + NOTES_TABLE + " MATCH ?");
+		args.add(match);
+		sql.append(" AND " + getSelection(query,RECORDS_TABLE,args,false));
+		
+		Cursor cursor = null;
+		try {
+			cursor = db.rawQuery(sql.toString(),toArray(args));
+			int snippetColumn = cursor.getColumnIndex("snippet");
+			int offsetsColumn = cursor.getColumnIndex("offsets");
+			while (cursor.moveToNext()) {
+				GasRecord record = getRecordFromCursor(cursor);
+				String snippet = cursor.getString(snippetColumn);
+				String offsets = cursor.getString(offsetsColumn);
+				list.add(new NoteMatch(record,snippet,offsets));
+			}
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+			list.clear();
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+		
+		// order by rank (the matchinfo() function is not available to rank in SQL)
+		Collections.sort(list,NoteMatch.RANK);
+		
+		return list;
+    }
+    
+    /**
+     * Replaces the tags of a gasoline record with the tags contained in its 
+     * notes (see NoteTags).
+     * @param record The GasRecord.
+     * @throws SQLException if an error occurs writing the tags.
+     */
+    private void writeTags(GasRecord record) {
+    	if ((deleteTags == null) || (insertTag == null)) return;
+    	writeTags(deleteTags,insertTag,record.getID(),record.getVehicleID(),record.getNotes());
+    }
+    
+    /**
+     * Replaces the tags of a gasoline record with the tags contained in its 
+     * notes (see NoteTags).
+     * @param deleteTags The compiled DELETE_TAGS statement.
+     * @param insertTag The compiled INSERT_TAG statement.
+     * @param rid The record id.
+     * @param vid The vehicle id of the record.
+     * @param notes The record notes (can be null).
+     * @throws SQLException if an error occurs writing the tags.
+     */
+    private static void writeTags(SQLiteStatement deleteTags, SQLiteStatement insertTag, int rid, int vid, String notes) {
+    	deleteTags.bindLong(1,rid);
+    	deleteTags.execute();
+    	insertTag.bindLong(1,rid);
+    	insertTag.bindLong(2,vid);
+    	for (String name : NoteTags.parse(notes)) {
+    		insertTag.bindString(3,name);
+    		insertTag.executeInsert();
+    	}
+    }
+    
+    /**
+     * Writes the tags for all existing gasoline records. Called by 
+     * GasLogOpenHelper when the table of tags is added to the database.
+     * @param db The database.
+     * @throws SQLException if an error occurs writing the tags.
+     */
+    static void writeAllTags(SQLiteDatabase db) {
+    	SQLiteStatement deleteTags = null;
+    	SQLiteStatement insertTag = null;
+    	Cursor cursor = null;
+    	try {
+    		deleteTags = db.compileStatement(DELETE_TAGS);
+    		insertTag = db.compileStatement(INSERT_TAG);
+    		
+    		// SELECT _id, _vid, notes FROM Records WHERE notes LIKE '%#%';
+    		cursor = db.query(
+    				RECORDS_TABLE,
+    				new String[] {RECORD_ID,RECORD_VEHICLE_ID,RECORD_NOTES},
+    				RECORD_NOTES + " LIKE '%#%'",
+    				null,null,null,null);
+    		while (cursor.moveToNext()) {
+    			writeTags(deleteTags,insertTag,cursor.getInt(0),cursor.getInt(1),cursor.getString(2));
+    		}
+    	} finally {
+    		if (cursor != null) cursor.close();
+    		if (deleteTags != null) deleteTags.close();
+    		if (insertTag != null) insertTag.close();
+    	}
+    }
+    
+    /**
+     * Reads the distinct tags of the gasoline records for a specific vehicle.
+     * @param vehicle The Vehicle to read the tags for.
+     * @return A List of tags in alphabetical order (empty if none).
+     */
+    public List<String> readTags(Vehicle vehicle) {
+       	final String tag = TAG+".readTags()";
+		ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+		
+		List<String> list = new ArrayList<String>();
+		
+		Cursor cursor = null;
+		try {
+			// SELECT DISTINCT tag FROM RecordTags WHERE _vid=vehicle.getID() ORDER BY tag;
+			cursor = db.query(
+					true,
+					TAGS_TABLE,
+					new String[] {TAG_NAME},
+					TAG_VEHICLE_ID + "=?",
+					new String[] {vehicle.getID().toString()},
+					null,null,
+					TAG_NAME,
+					null);
+			while (cursor.moveToNext()) {
+				list.add(cursor.getString(0));
+			}
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+			list.clear();
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+		
+		return list;
+    }
+    
+    /**
+     * Reads the totals of the gasoline records that match a query, grouped
+     * by tag.
+     * @param query The RecordQuery specifying which records to total.
+     * @return A List of TagTotals in alphabetical order of tag (empty if none).
+     */
+    public List<TagTotals> readTagTotals(RecordQuery query) {
+       	final String tag = TAG+".readTagTotals()";
+		
+		List<TagTotals> list = new ArrayList<TagTotals>();
+		
+		// SELECT tag, count(*), sum(gallons), sum(cost) FROM RecordTags JOIN Records ON Records._id=_rid 
+		// WHERE query GROUP BY tag ORDER BY tag;
+		List<String> args = new ArrayList<String>();
+		String sql = 
+				"SELECT " + TAGS_TABLE + "." + TAG_NAME + ", count(*), " +
+				"sum(" + RECORDS_TABLE + "." + RECORD_GALLONS + "), " +
+				"sum(" + RECORDS_TABLE + "." + RECORD_COST + ")" +
+				" FROM " + TAGS_TABLE + " JOIN " + RECORDS_TABLE +
+				" ON " + RECORDS_TABLE + "." + RECORD_ID + "=" + TAGS_TABLE + "." + TAG_RECORD_ID +
+				" WHERE " + getSelection(query,RECORDS_TABLE,args) +
+				" GROUP BY " + TAGS_TABLE + "." + TAG_NAME +
+				" ORDER BY " + TAGS_TABLE + "." + TAG_NAME;
+		
+		Cursor cursor = null;
+		try {
+			cursor = db.rawQuery(sql,toArray(args));
+			while (cursor.moveToNext()) {
+				list.add(new TagTotals(
+						cursor.getString(0),
+						cursor.getInt(1),
+						cursor.getDouble(2),
+						cursor.getDouble(3)));
+			}
+		} catch (SQLException e) {
+			Log.e(tag,"SQLException: "+e.getMessage());
+			list.clear();
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+		
+		return list;
+    }
+    
+    /**
+     * Deletes a specified gasoline record from the log.
+     * @param record The GasRecord to delete.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean deleteRecord(GasRecord record) {
+
+    	final String tag = TAG+".deleteRecord()";
+    	
+		ASSERT((record.getID() != null),tag,"record id cannot be null");
+		
+    	boolean success = false;
+    	
+    	db.beginTransaction();
+    	try {
+    		deleteRecord.bindLong(1,record.getID());
+    		int count = executeUpdateDelete(deleteRecord);
+    		db.setTransactionSuccessful();
+    		success = (count == 1);
+    		dataChanged();
+    		updateVehicleSummary(record.getVehicleID());
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	
+    	return success;
+    }
+
+    /**
+     * Deletes all gasoline records from the log for a specific vehicle.
+     * @param vehicle The Vehicle to delete records for.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean deleteAllRecords(Vehicle vehicle) {
+    	final String tag = TAG+".deleteAllRecords()";
+    	ASSERT((vehicle.getID() != null),tag,"vehicle id cannot be null");
+    	boolean success = false;
+    	db.beginTransaction();
+    	try {
+    		deleteAllRecords.bindLong(1,vehicle.getID());
+    		deleteAllRecords.execute();
+    		db.setTransactionSuccessful();
+    		success = true;
+    		dataChanged();
+    		updateVehicleSummary(vehicle.getID());
+    	} catch (SQLException e) {
+    		Log.e(tag,"SQLException: "+e.getMessage());
+    	} finally {
+    		db.endTransaction();
+    	}
+    	
+    	return success;
+    }
+    
+    /**
+     * Reads gasoline record data from a specified ASCII CSV formatted file
+     * into the log for a specific vehicle. 
+     * @param vehicle The Vehicle to import records for.
+     * @param file The ASCII CSV data file to import.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean importData(Vehicle vehicle, InputStream file) {
+    	
+    	final String tag = TAG+".importData()";
+    	
+    	boolean success = false;
+    	
+    	db.beginTransaction();
+    	
+    	// update the vehicle summary once, after all records are imported
+    	synchronized (this) {
+    		deferSummaries = true;
+    	}
+    	
+		int num = 0;
+    	BufferedReader reader = null;
+    	try {
+    		reader = new BufferedReader(new InputStreamReader(file));
+    		
+    		String line;
+    		do {
+    			line = reader.readLine();
+    			num++;
+    			if (line != null) {
+    				GasRecord record = new GasRecord(line);
+    				if (!createRecord(vehicle,record)) {
+    					throw new SQLiteException("create failed");
+    				}
+    			}
+    		} while (line != null);
+    		
+    		success = true;
+    		db.setTransactionSuccessful();
+    		
+    	} catch(Throwable t) {
+    		Log.e(tag,"import failed",t);
+    		String format = context.getString(R.string.toast_stopped_at_csv_line);
+    		Utilities.toast(context, String.format(format,num));
+    	} finally {
+    		db.endTransaction();
+    		dataChanged();
+    		synchronized (this) {
+    			deferSummaries = false;
+    		}
+    		updateVehicleSummary(vehicle.getID());
+    		if (reader != null) { 
+    			try {
+    				reader.close();
+    			} catch (IOException e) {
+    				Log.e(tag,"close() failed",e);
+    			}
+    		}
+    	}
+    	
+    	return success;
+    }
+    
+    /**
+     * Copies all existing log data for a specific vehicle to an ASCII CSV file.
+     * @param vehicle The Vehicle to export data for.
+     * @param file The ASCII CSV file to create.
+     * @return Flag indicating success/failure (true=success)
+     */
+    public boolean exportData(Vehicle vehicle, File file) {
+    	
+    	final String tag = TAG+".exportData()";
+    	
+    	boolean status = false;
+    	
+    	List<GasRecord> list = readAllRecords(vehicle);
+    	
+    	PrintStream out = null;
+    	try {
+    		out = new PrintStream(new FileOutputStream(file));
+    		for (GasRecord record : list) {
+    			out.println(record.toStringCSV());
+    		}
+    		status = true;
+    	} catch(Throwable t) {
+    		Log.e(tag,"export failed",t);
+    	} finally {
+    		if (out != null) out.close();
+    	}
+    	
+    	return status;
+    }
+}
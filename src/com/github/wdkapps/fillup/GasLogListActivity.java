@@ -22,23 +22,32 @@ package com.github.wdkapps.fillup;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import android.app.Activity;
 import android.app.Dialog;
 import android.content.Intent;
-import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.net.Uri;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Environment;
-import android.preference.PreferenceManager;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.ContextMenu;
 import android.view.ContextMenu.ContextMenuInfo;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.AdapterView;
+import android.widget.CheckBox;
+import android.widget.CompoundButton;
+import android.widget.EditText;
+import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.AdapterView.AdapterContextMenuInfo;
 import android.widget.AdapterView.OnItemClickListener;
@@ -54,21 +63,55 @@ extends Activity
 implements ConfirmationDialog.Listener, 
 	StorageSelectionDialog.Listener, 
 	OnItemClickListener, 
-	OnSharedPreferenceChangeListener 
+	SettingsCoordinator.Listener 
 {
 	
 	/// key name for the Vehicle to pass via Intent
 	/// gas records for this vehicle are displayed in the list 
 	public final static String VEHICLE = GasLogListActivity.class.getName() + ".VEHICLE";
 	
+	/// tag string for logging
+	private static final String TAG = GasLogListActivity.class.getName();
+	
 	/// the gasoline log
 	private GasLog gaslog;
 	
 	/// the vehicle to display gas records for (obtained via Intent)
 	private Vehicle vehicle;
 
-	/// a list of records in the log 
+	/// a list of all records in the log for the vehicle
+	private List<GasRecord> allRecords;
+	
+	/// the list of records displayed (all records, or those matching the filter) 
 	private List<GasRecord> records;
+	
+	/// the filter selecting which records are displayed
+	private RecordQuery filter = new RecordQuery();
+	
+	/// ids of the records matching the filter (null = no filter)
+	private Set<Integer> matches = null;
+	
+	/// task reading the ids of records matching the filter (null if none)
+	private FilterTask filterTask = null;
+	
+	/// time to wait (milliseconds) for further typing before applying the filter
+	private static final long FILTER_DELAY = 300;
+	
+	/// applies the filter once typing in the filter bar pauses
+	private final Runnable delayedFilter = new Runnable() {
+		@Override
+		public void run() {
+			applyFilter();
+		}
+	};
+	
+	/// the filter bar and its widgets
+	private View filterBar;
+	private EditText filterNotes;
+	private CheckBox filterFullTank;
+	private Spinner filterDateRange;
+	private EditText filterMinCost;
+	private EditText filterMaxCost;
 
 	/// the currently selected row from the list of records 
 	private int selectedRow;
@@ -95,13 +138,17 @@ implements ConfirmationDialog.Listener,
 
         // initialize other attributes
         gaslog = GasLog.getInstance();
-		records = gaslog.readAllRecords(vehicle);
+		allRecords = RecordPrefetcher.getRecords(vehicle);
+		records = new ArrayList<GasRecord>(allRecords);
 		listView = (ListView)findViewById(R.id.gas_log_list);
 		adapter = new GasLogListAdapter(this,records);
 
 		// configure ListView to use our adapter
 		listView.setAdapter(adapter);
 		
+		// enable fast scrolling by month (see GasLogListAdapter sections)
+		listView.setFastScrollEnabled(true);
+		
 		// configure ListView to use our context menu when a record is clicked
 		registerForContextMenu(listView);
 		listView.setLongClickable(false);
@@ -115,11 +162,25 @@ implements ConfirmationDialog.Listener,
 		// set column header labels to reflect current unit preference
 		updateColumnHeaderLabels();
 		
+		// configure the filter bar widgets
+		setupFilterBar();
+		
         // setup to be notified when preferences change
-		SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(this);;
-		prefs.registerOnSharedPreferenceChangeListener(this);
+		SettingsCoordinator.getInstance().register(this);
     }
 
+	/**
+	 * Called when the Activity is being destroyed.
+	 * @see android.app.Activity#onDestroy()
+	 */
+	@Override
+	protected void onDestroy() {
+		SettingsCoordinator.getInstance().unregister(this);
+		filterBar.removeCallbacks(delayedFilter);
+		cancelFilter();
+		super.onDestroy();
+	}
+
     /**
      * Initialize the Activity's standard options menu. This is only called 
      * once, the first time the options menu is displayed. 
@@ -141,7 +202,9 @@ implements ConfirmationDialog.Listener,
     @Override
     public boolean onPrepareOptionsMenu(Menu menu) {
     	MenuItem itemExport = menu.findItem(R.id.itemExport);
-    	itemExport.setEnabled(!records.isEmpty());
+    	itemExport.setEnabled(!allRecords.isEmpty());
+    	MenuItem itemFilter = menu.findItem(R.id.itemFilter);
+    	itemFilter.setChecked(isFilterBarVisible());
     	return true;
     }
     
@@ -158,12 +221,16 @@ implements ConfirmationDialog.Listener,
     		getGas(null);
     		return true;
     	
+    	case R.id.itemFilter:
+    		setFilterBarVisible(!isFilterBarVisible());
+    		return true;
+    	
     	case R.id.itemImport:
     		showDialog(DIALOG_SELECT_STORAGE_LOCATION_ID);
     		return true;
 
     	case R.id.itemExport:
-    		if (records.isEmpty()) {
+    		if (allRecords.isEmpty()) {
     			Utilities.toast(this,getString(R.string.toast_no_data_to_export));
     		} else {
     			File file = getExportFile();
@@ -204,7 +271,7 @@ implements ConfirmationDialog.Listener,
     	GasRecord record = records.get(selectedRow);
 
     	// adjust menu contents for "show estimate"
-    	if (!MileageEstimateDialog.isDisplayable(vehicle,records,selectedRow)) {
+    	if (!MileageEstimateDialog.isDisplayable(vehicle,allRecords,getPosition(record))) {
     		menu.removeItem(R.id.itemShowEstimate);
     	}
 
@@ -255,7 +322,7 @@ implements ConfirmationDialog.Listener,
     		return true;
 
     	case R.id.itemShowEstimate:
-        	MileageEstimateDialog.init(vehicle,records,selectedRow);
+        	MileageEstimateDialog.init(vehicle,allRecords,getPosition(records.get(selectedRow)));
     		showDialog(DIALOG_SHOW_ESTIMATE_ID);
     		return true;
     		
@@ -279,10 +346,11 @@ implements ConfirmationDialog.Listener,
      * @param record The gas record.
      */
     protected void toggleHiddenCalculation(GasRecord record) {
-    	boolean hidden = record.isCalculationHidden();
-    	record.setHiddenCalculation(!hidden);
-		if (gaslog.updateRecord(record)) {
-			adapter.notifyDataSetChanged();
+    	List<GasRecord> list = GasRecordList.copy(allRecords);
+    	GasRecord copy = list.get(getPosition(record));
+    	copy.setHiddenCalculation(!record.isCalculationHidden());
+		if (gaslog.updateRecord(copy)) {
+			updateRecords(list);
 		} else {
 			Utilities.toast(this,getString(R.string.toast_failed));
 		}
@@ -306,12 +374,317 @@ implements ConfirmationDialog.Listener,
     		return;
     	} 
     	
-    	records.clear();
-    	records.addAll(gaslog.readAllRecords(vehicle));
-    	adapter.notifyDataSetChanged();
+    	updateRecords(gaslog.readAllRecords(vehicle));
 		Utilities.toast(this,getString(R.string.toast_import_complete));
     }
     
+    /**
+     * Returns the position of a displayed record in the list of all records.
+     * @param record The displayed GasRecord.
+     * @return The index of the record in the list of all records.
+     */
+    private int getPosition(GasRecord record) {
+    	return GasRecordList.findById(allRecords,record.getID());
+    }
+    
+    /**
+     * Replaces all records with a new list of the records (ie. after the log 
+     * has been written) and updates the display.
+     * NOTE: The new list must not share record instances with the 
+     * current list (see GasRecordList.copy()).
+     * @param list The new list of all records.
+     */
+    protected void updateRecords(List<GasRecord> list) {
+    	
+    	// calculate mileage for the new list
+    	GasRecordList.calculateMileage(list);
+    	
+    	// keep existing instances of unchanged records
+    	allRecords = new GasRecordListDiff(allRecords,list).getList();
+    	
+    	// the log has changed - apply the filter (or the one in progress) again,
+    	// in the meantime displaying the records that matched before
+    	if (filterTask != null) {
+    		RecordQuery pending = filterTask.filter;
+    		cancelFilter();
+    		startFilter(pending);
+    	} else if (matches != null) {
+    		startFilter(filter);
+    	}
+    	
+    	showRecords();
+    }
+    
+    /**
+     * Updates the displayed records to reflect all records and the filter, 
+     * updating only the rows that were inserted, removed, changed or moved. 
+     * Unchanged rows keep their formatted text, and the scroll position is 
+     * preserved relative to the first visible record. 
+     */
+    private void showRecords() {
+    	
+    	final String tag = TAG + ".showRecords()";
+    	
+    	// select the records to display
+    	List<GasRecord> list;
+    	if (matches == null) {
+    		list = allRecords;
+    	} else {
+    		list = new ArrayList<GasRecord>(matches.size());
+    		for (GasRecord record : allRecords) {
+    			if (matches.contains(record.getID())) {
+    				list.add(record);
+    			}
+    		}
+    	}
+    	
+    	// determine what changed
+    	GasRecordListDiff diff = new GasRecordListDiff(records,list);
+    	if (DebugLog.ENABLED) DebugLog.d(tag,diff.toString());
+    	if (diff.isEmpty()) return;
+    	
+    	// discard formatted text for records that changed or were removed
+    	for (GasRecord record : diff.getStaleRecords()) {
+    		adapter.invalidate(record);
+    	}
+    	
+    	// positions unchanged - just rebind the visible rows that changed
+    	if (!diff.isStructural()) {
+    		records.clear();
+    		records.addAll(diff.getList());
+    		int first = listView.getFirstVisiblePosition();
+    		int last = listView.getLastVisiblePosition();
+    		for (Integer position : diff.getChangedPositions()) {
+    			// the next row's month section header may also be affected
+    			for (int n = position; n <= position + 1; n++) {
+    				if ((n >= first) && (n <= last)) {
+    					View view = listView.getChildAt(n - first);
+    					adapter.getView(n,view,listView);
+    				}
+    			}
+    		}
+    		return;
+    	}
+    	
+    	// remember the first visible record and its offset
+    	GasRecord anchor = null;
+    	int offset = 0;
+    	int first = listView.getFirstVisiblePosition();
+    	if ((first >= 0) && (first < records.size()) && (listView.getChildCount() > 0)) {
+    		anchor = records.get(first);
+    		offset = listView.getChildAt(0).getTop();
+    	}
+    	
+    	records.clear();
+    	records.addAll(diff.getList());
+    	adapter.notifyStructureChanged();
+    	
+    	// restore scroll position relative to the first visible record
+    	if (anchor != null) {
+    		int position = GasRecordList.findById(records,anchor.getID());
+    		if (position >= 0) {
+    			listView.setSelectionFromTop(position,offset);
+    		}
+    	}
+    }
+    
+    /**
+     * Locates the filter bar widgets and sets up to apply the 
+     * filter each time the user changes any of them.
+     */
+    private void setupFilterBar() {
+    	
+    	filterBar = findViewById(R.id.filterBar);
+    	filterNotes = (EditText)findViewById(R.id.filterNotes);
+    	filterFullTank = (CheckBox)findViewById(R.id.filterFullTank);
+    	filterDateRange = (Spinner)findViewById(R.id.filterDateRange);
+    	filterMinCost = (EditText)findViewById(R.id.filterMinCost);
+    	filterMaxCost = (EditText)findViewById(R.id.filterMaxCost);
+    	
+    	TextWatcher watcher = new TextWatcher() {
+			@Override
+			public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+			@Override
+			public void onTextChanged(CharSequence s, int start, int before, int count) {}
+			@Override
+			public void afterTextChanged(Editable s) {
+				// wait for typing to pause rather than query for each keystroke
+				filterBar.removeCallbacks(delayedFilter);
+				filterBar.postDelayed(delayedFilter,FILTER_DELAY);
+			}
+    	};
+    	filterNotes.addTextChangedListener(watcher);
+    	filterMinCost.addTextChangedListener(watcher);
+    	filterMaxCost.addTextChangedListener(watcher);
+    	
+    	filterFullTank.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+			@Override
+			public void onCheckedChanged(CompoundButton button, boolean isChecked) {
+				applyFilter();
+			}
+    	});
+    	
+    	filterDateRange.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+			@Override
+			public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+				applyFilter();
+			}
+			@Override
+			public void onNothingSelected(AdapterView<?> parent) {
+				applyFilter();
+			}
+    	});
+    }
+    
+    /**
+     * Determines whether the filter bar is visible.
+     * @return true if visible.
+     */
+    private boolean isFilterBarVisible() {
+    	return (filterBar.getVisibility() == View.VISIBLE);
+    }
+    
+    /**
+     * Shows or hides the filter bar. The filter only applies while the 
+     * filter bar is visible.
+     * @param visible true to show the filter bar.
+     */
+    private void setFilterBarVisible(boolean visible) {
+    	filterBar.setVisibility(visible ? View.VISIBLE : View.GONE);
+    	if (visible) {
+    		filterNotes.requestFocus();
+    	}
+    	applyFilter();
+    }
+    
+    /**
+     * Creates a query for the vehicle's records from the current state of 
+     * the filter bar widgets.
+     * @return The RecordQuery (empty if the filter bar is hidden).
+     * @see RecordQuery#isEmpty()
+     */
+    private RecordQuery getFilter() {
+    	
+    	RecordQuery filter = new RecordQuery().setVehicle(vehicle);
+    	if (!isFilterBarVisible()) return filter;
+    	
+    	filter.setNotes(filterNotes.getText().toString());
+    	filter.setFullTank(filterFullTank.isChecked() ? Boolean.TRUE : null);
+    	
+    	// date range: first entry is "all dates", others are PlotDateRange values
+    	int position = filterDateRange.getSelectedItemPosition();
+    	if (position > 0) {
+    		PlotDateRange range = new PlotDateRange(this,position - 1);
+    		filter.setDateRange(range.getStartDate(),range.getEndDate());
+    	}
+    	
+    	filter.setCostRange(getCostValue(filterMinCost),getCostValue(filterMaxCost));
+    	
+    	return filter;
+    }
+    
+    /**
+     * Returns the cost value entered into a filter bar widget.
+     * @param text The EditText widget.
+     * @return The cost value (null if blank or invalid).
+     */
+    private Double getCostValue(EditText text) {
+    	try {
+    		return Double.valueOf(text.getText().toString());
+    	} catch (NumberFormatException e) {
+    		return null;
+    	}
+    }
+    
+    /**
+     * Applies the filter specified by the filter bar. The matching records 
+     * are determined by the database on a background thread, and the display 
+     * updated when complete. Any filter still in progress is abandoned.
+     */
+    private void applyFilter() {
+    	
+    	filterBar.removeCallbacks(delayedFilter);
+    	cancelFilter();
+    	
+    	RecordQuery filter = getFilter();
+    	if (filter.isEmpty()) {
+    		this.filter = filter;
+    		matches = null;
+    		showRecords();
+    		adapter.setSnippets(null);
+    		return;
+    	}
+    	
+    	startFilter(filter);
+    }
+    
+    /**
+     * Starts a task to determine the records matching a filter.
+     * @param filter The query selecting the matching records.
+     */
+    private void startFilter(RecordQuery filter) {
+    	filterTask = new FilterTask(filter);
+    	filterTask.execute();
+    }
+    
+    /**
+     * Abandons any filter still in progress.
+     */
+    private void cancelFilter() {
+    	if (filterTask != null) {
+    		filterTask.cancel(false);
+    		filterTask = null;
+    	}
+    }
+    
+    /**
+     * Reads the ids of the records matching a filter on a background thread,
+     * along with snippets of the notes matching the notes search text (if any).
+     */
+    private class FilterTask extends AsyncTask<Void,Void,Set<Integer>> {
+    	
+    	/// the query selecting the matching records
+    	private final RecordQuery filter;
+    	
+    	/// snippets of the matching notes by record id (null if no notes search)
+    	private Map<Integer,CharSequence> snippets = null;
+    	
+    	/**
+    	 * Constructs an instance of FilterTask.
+    	 * @param filter The query selecting the matching records.
+    	 */
+    	FilterTask(RecordQuery filter) {
+    		this.filter = filter;
+    	}
+
+		@Override
+		protected Set<Integer> doInBackground(Void... params) {
+			if (filter.getNotesQuery() == null) {
+				return gaslog.readRecordIds(filter);
+			}
+			
+			// a single full text search selects the records and their snippets
+			Set<Integer> ids = new HashSet<Integer>();
+			snippets = new HashMap<Integer,CharSequence>();
+			for (NoteMatch match : gaslog.searchNotes(filter)) {
+				Integer id = match.getRecord().getID();
+				ids.add(id);
+				snippets.put(id,match.getSnippet());
+			}
+			return ids;
+		}
+		
+		@Override
+		protected void onPostExecute(Set<Integer> ids) {
+			if (isCancelled() || (filterTask != this)) return;
+			filterTask = null;
+			GasLogListActivity.this.filter = filter;
+			matches = ids;
+			showRecords();
+			adapter.setSnippets(snippets);
+		}
+    }
+    
     /**
      * Return the name and path to a file for exporting log data.
      * @return The File.
@@ -414,22 +787,21 @@ implements ConfirmationDialog.Listener,
 		Utilities.toast(this,getString(R.string.toast_data_saved));
 
 		// determine if full tank has been recorded before
-		boolean previousFullTank = GasRecordList.hasFullTank(records);
-
-		// add the new record to the list
-		records.add(record);
+		boolean previousFullTank = GasRecordList.hasFullTank(allRecords);
 
-		// recalculate mileage for the list
-		GasRecordList.calculateMileage(records);
+		// add the new record to the list and update the list view
+		List<GasRecord> list = GasRecordList.copy(allRecords);
+		list.add(record);
+		updateRecords(list);
 
-		// notify adapter that the list has changed
-		adapter.notifyDataSetChanged();
+		// scroll the row into view (if it matches the filter)
+		int row = GasRecordList.findById(records,record.getID());
+		if (row >= 0) {
+			listView.setSelection(row);
+		}
 
 		// find the position of the record in the list
-		int position = GasRecordList.find(records,record);
-
-		// scroll that row into view
-		listView.setSelection(position);
+		int position = GasRecordList.find(allRecords,record);
 
 		// need a previous full tank in the log to do any calculations
 		if (!previousFullTank) {
@@ -445,8 +817,8 @@ implements ConfirmationDialog.Listener,
 		} 
 
 		// display mileage estimate if possible
-		if (MileageEstimateDialog.isDisplayable(vehicle,records,position)) {
-			MileageEstimateDialog.init(vehicle,records,position);
+		if (MileageEstimateDialog.isDisplayable(vehicle,allRecords,position)) {
+			MileageEstimateDialog.init(vehicle,allRecords,position);
 			showDialog(DIALOG_SHOW_ESTIMATE_ID);
 		} 
 			
@@ -470,9 +842,9 @@ implements ConfirmationDialog.Listener,
      */
     protected void onEditRowResult(GasRecord record) {
 		if (gaslog.updateRecord(record)) {
-			records.set(selectedRow,record);
-			GasRecordList.calculateMileage(records);
-			adapter.notifyDataSetChanged();
+			List<GasRecord> list = GasRecordList.copy(allRecords);
+			list.set(getPosition(record),record);
+			updateRecords(list);
 		} else {
 			Utilities.toast(this,getString(R.string.toast_edit_failed));
 		}
@@ -491,14 +863,10 @@ implements ConfirmationDialog.Listener,
     	if (gaslog.deleteRecord(record)) {
     		// success!
     		
-    		// remove the record from our list of records
-    		records.remove(selectedRow);
-    		
-    		// re-calculate mileage based on the modified data
-    		GasRecordList.calculateMileage(records);
-    		
-    		// update the list view
-    		adapter.notifyDataSetChanged();
+    		// remove the record from our list of records and update the list view
+    		List<GasRecord> list = GasRecordList.copy(allRecords);
+    		list.remove(getPosition(record));
+    		updateRecords(list);
     	} else {
     		Utilities.toast(this,getString(R.string.toast_delete_failed));
     	}
@@ -692,7 +1060,7 @@ implements ConfirmationDialog.Listener,
 	 * units for distance, liquid volume, etc.
 	 */
 	protected void updateColumnHeaderLabels() {
-        Units units = new Units(Settings.KEY_UNITS);
+        Units units = SettingsSnapshot.getInstance().getUnits();
         TextView label = (TextView)findViewById(R.id.headerGallons);
         label.setText(units.getLiquidVolumeLabel());
         label = (TextView)findViewById(R.id.headerMileage);
@@ -700,18 +1068,20 @@ implements ConfirmationDialog.Listener,
 	}
 	
 	/**
-	 * Called when a shared preference value changes.
-	 * @see android.content.SharedPreferences.OnSharedPreferenceChangeListener#onSharedPreferenceChanged(android.content.SharedPreferences, java.lang.String)
+	 * Called when one or more settings have changed. Updates the data and
+	 * the list view once for the batch of changes.
+	 * @see com.github.wdkapps.fillup.SettingsCoordinator.Listener#onSettingsChanged(java.util.Set)
 	 */
 	@Override
-	public void onSharedPreferenceChanged(SharedPreferences sharedPreferences,String key) {
-		if (key.equals(Settings.KEY_UNITS)) {
+	public void onSettingsChanged(Set<String> keys) {
+		
+		if (keys.contains(Settings.KEY_UNITS)) {
 
 			// update the column header labels to reflect new units
 			updateColumnHeaderLabels();
 
 			// re-calculate mileage based on the new units
-			GasRecordList.calculateMileage(records);
+			GasRecordList.calculateMileage(allRecords);
 		}
 		
 		// update the list view
@@ -1,169 +1,411 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.util.List;
-
-import android.app.Activity;
-import android.text.Html;
-import android.view.LayoutInflater;
-import android.view.View;
-import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
-import android.widget.TextView;
-
-/**
- * An Android ArrayAdapter for the purpose of displaying gasoline records
- * in an Android ListView.
- */
-public class GasLogListAdapter extends ArrayAdapter<GasRecord> {
-	
-	/// the Android Activity owning the ListView
-	private final Activity activity;
-		
-	/// a list of gasoline records for display 
-	private final List<GasRecord> records;
-	
-    /// currently configured units of measurement
-    private Units units;
-    
-    /// currently settings for displaying cost and notes
-    private boolean isCostDisplayable;
-    private boolean isNotesDisplayable;
-
-	
-	/**
-	 * Constructs an instance of GasLogListAdapter.
-	 *
-	 * @param activity The Android Activity instance that owns the ListView.
-	 * @param records The List of GasRecord instances for display in the ListView.
-	 */
-	public GasLogListAdapter(Activity activity, List<GasRecord> records) {
-		super(activity,R.layout.row_gas_log_list,records);
-		this.activity = activity;
-		this.records = records;
-		getSettings();
-	}
-	
-	/**
-	 * Gets current configuration values from Settings. Better performance 
-	 * keeping a local copy of these values, but we need to update
-	 * when they change.
-	 * @see GasLogListAdapter#notifyDataSetChanged()
-	 */
-	private void getSettings() {
-		this.units = new Units(Settings.KEY_UNITS);
-		this.isCostDisplayable = Settings.isCostDisplayable();
-		this.isNotesDisplayable = Settings.isNotesDisplayable();
-	}
-	
-	/**
-	 * Constructs and populates a View for display of the GasRecord date at the index
-	 * of the List specified by the position parameter.
-	 * @see android.widget.ArrayAdapter#getView(int, android.view.View, android.view.ViewGroup)
-	 */
-	@Override
-	public View getView(int position, View view, ViewGroup parent) {
-		
-		// create a view for the row if it doesn't already exist
-		if (view == null) {
-			LayoutInflater inflater = activity.getLayoutInflater();
-			view = inflater.inflate(R.layout.row_gas_log_list,null);
-		} 
-		
-		// get widgets from the view
-		TextView columnDate = (TextView)view.findViewById(R.id.columnDate);
-		TextView columnOdometer = (TextView)view.findViewById(R.id.columnOdometer);
-		TextView columnGallons = (TextView)view.findViewById(R.id.columnGallons);
-		TextView columnMileage = (TextView)view.findViewById(R.id.columnMileage);
-		TextView rowCost = (TextView)view.findViewById(R.id.rowCost);
-		TextView rowNotes = (TextView)view.findViewById(R.id.rowNotes);
-		
-		// populate row widgets from record data
-		GasRecord record = records.get(position);
-		
-		// date
-		columnDate.setText(record.getDateString());
-
-		// odometer (bold if tank is full) 
-		if (record.isFullTank()) {
-			columnOdometer.setText(Html.fromHtml("<b>"+record.getOdometerString()+"</b>"));
-		} else {
-			columnOdometer.setText(record.getOdometerString());
-		}
-		
-		// gallons
-		columnGallons.setText(record.getGallonsString());
-		
-		// mpg
-		String mileage = "";
-		if (record.hasCalculation()) {
-			mileage = record.getCalculation().getMileageString();
-			if (mileage.length() > "9999.99".length()) {
-				mileage = "#VAL!";
-			}
-			if (record.isCalculationHidden()) {
-				mileage = "---";
-			}
-		}
-		columnMileage.setText(mileage);
-		
-		// cost (don't display if zero)
-		if (!isCostDisplayable || (record.getCost() == 0d)) {
-			rowCost.setVisibility(View.GONE);
-		} else {
-			String cost = String.format("<b>%s</b>: %s (%s %s)",
-					App.getContext().getString(R.string.cost_label),
-					CurrencyManager.getInstance().getSymbolicFormatter().format(record.getCost()),
-					CurrencyManager.getInstance().getSymbolicFractionalFormatter().format(record.getPrice()),
-					units.getLiquidVolumeRatioLabel());
-			rowCost.setText(Html.fromHtml(cost));
-			rowCost.setVisibility(View.VISIBLE);
-		}
-
-		// notes (don't display if blank)
-		String notes = record.getNotes();
-		if (!isNotesDisplayable || (notes == null) || notes.trim().isEmpty()) {
-			rowNotes.setVisibility(View.GONE);
-		} else {
-			notes = String.format("<b>%s</b>: %s",
-					App.getContext().getString(R.string.notes_label),
-					notes);
-			rowNotes.setText(Html.fromHtml(notes));
-			rowNotes.setVisibility(View.VISIBLE);
-		}
-		
-		// return the view
-		return view;
-	}
-
-	/**
-	 * Called by parent when the underlying data set changes.
-	 * @see android.widget.ArrayAdapter#notifyDataSetChanged()
-	 */
-	@Override
-	public void notifyDataSetChanged() {
-		
-		// configuration may have changed - get current settings
-		getSettings();
-		
-		super.notifyDataSetChanged();
-	}
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.app.Activity;
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ArrayAdapter;
+import android.widget.SectionIndexer;
+import android.widget.TextView;
+
+/**
+ * An Android ArrayAdapter for the purpose of displaying gasoline records
+ * in an Android ListView. Row widgets are located once per row view (see 
+ * ViewHolder) and the text displayed for each record is formatted once and 
+ * cached (see RowModel) until settings or data change, so that binding a 
+ * row while scrolling requires no formatting. The records are grouped into
+ * month sections, indexed for the ListView fast scroller (see SectionIndexer).
+ */
+public class GasLogListAdapter extends ArrayAdapter<GasRecord> implements SectionIndexer {
+	
+	/// the Android Activity owning the ListView
+	private final Activity activity;
+		
+	/// a list of gasoline records for display 
+	private final List<GasRecord> records;
+	
+    /// currently configured units of measurement
+    private Units units;
+    
+    /// currently settings for displaying cost and notes
+    private boolean isCostDisplayable;
+    private boolean isNotesDisplayable;
+    
+    /// snippets of notes matching a search, by record id (null = no search)
+    private Map<Integer,CharSequence> snippets = null;
+    
+    /// cache of formatted row text, by record instance
+    private final Map<GasRecord,RowModel> cache = new IdentityHashMap<GasRecord,RowModel>();
+    
+    /// month section labels ("MMM YYYY"), null until needed
+    private String[] sections = null;
+    
+    /// position of the first record in each month section (ascending)
+    private int[] offsets = null;
+    
+    /**
+     * The row widgets, located once when the row view is inflated
+     * and saved as the view's tag.
+     */
+    private static class ViewHolder {
+    	TextView rowSection;
+    	TextView columnDate;
+    	TextView columnOdometer;
+    	TextView columnGallons;
+    	TextView columnMileage;
+    	TextView rowCost;
+    	TextView rowNotes;
+    }
+    
+    /**
+     * The formatted text to display for a record. A null cost or 
+     * notes value indicates that the row is hidden.
+     */
+    private static class RowModel {
+    	CharSequence date;
+    	CharSequence odometer;
+    	CharSequence gallons;
+    	CharSequence mileage;
+    	CharSequence cost;
+    	CharSequence notes;
+    }
+	
+	/**
+	 * Constructs an instance of GasLogListAdapter.
+	 *
+	 * @param activity The Android Activity instance that owns the ListView.
+	 * @param records The List of GasRecord instances for display in the ListView.
+	 */
+	public GasLogListAdapter(Activity activity, List<GasRecord> records) {
+		super(activity,R.layout.row_gas_log_list,records);
+		this.activity = activity;
+		this.records = records;
+		getSettings();
+	}
+	
+	/**
+	 * Gets current configuration values from Settings. Better performance 
+	 * keeping a local copy of these values, but we need to update
+	 * when they change.
+	 * @see GasLogListAdapter#notifyDataSetChanged()
+	 */
+	private void getSettings() {
+		SettingsSnapshot settings = SettingsSnapshot.getInstance();
+		this.units = settings.getUnits();
+		this.isCostDisplayable = settings.isCostDisplayable();
+		this.isNotesDisplayable = settings.isNotesDisplayable();
+	}
+	
+	/**
+	 * Constructs and populates a View for display of the GasRecord date at the index
+	 * of the List specified by the position parameter.
+	 * @see android.widget.ArrayAdapter#getView(int, android.view.View, android.view.ViewGroup)
+	 */
+	@Override
+	public View getView(int position, View view, ViewGroup parent) {
+		
+		// create a view for the row if it doesn't already exist
+		ViewHolder holder;
+		if (view == null) {
+			LayoutInflater inflater = activity.getLayoutInflater();
+			view = inflater.inflate(R.layout.row_gas_log_list,null);
+			holder = new ViewHolder();
+			holder.rowSection = (TextView)view.findViewById(R.id.rowSection);
+			holder.columnDate = (TextView)view.findViewById(R.id.columnDate);
+			holder.columnOdometer = (TextView)view.findViewById(R.id.columnOdometer);
+			holder.columnGallons = (TextView)view.findViewById(R.id.columnGallons);
+			holder.columnMileage = (TextView)view.findViewById(R.id.columnMileage);
+			holder.rowCost = (TextView)view.findViewById(R.id.rowCost);
+			holder.rowNotes = (TextView)view.findViewById(R.id.rowNotes);
+			view.setTag(holder);
+		} else {
+			holder = (ViewHolder)view.getTag();
+		}
+		
+		// get formatted text for the record
+		RowModel row = getRowModel(records.get(position));
+		
+		// month section header for the first record in each section
+		int section = getSectionForPosition(position);
+		if (offsets[section] == position) {
+			holder.rowSection.setText(sections[section]);
+			holder.rowSection.setVisibility(View.VISIBLE);
+		} else {
+			holder.rowSection.setVisibility(View.GONE);
+		}
+		
+		// populate row widgets
+		holder.columnDate.setText(row.date);
+		holder.columnOdometer.setText(row.odometer);
+		holder.columnGallons.setText(row.gallons);
+		holder.columnMileage.setText(row.mileage);
+		
+		if (row.cost == null) {
+			holder.rowCost.setVisibility(View.GONE);
+		} else {
+			holder.rowCost.setText(row.cost);
+			holder.rowCost.setVisibility(View.VISIBLE);
+		}
+
+		if (row.notes == null) {
+			holder.rowNotes.setVisibility(View.GONE);
+		} else {
+			holder.rowNotes.setText(row.notes);
+			holder.rowNotes.setVisibility(View.VISIBLE);
+		}
+		
+		// return the view
+		return view;
+	}
+	
+	/**
+	 * Returns the formatted text for a record, from the cache if possible.
+	 * @param record The GasRecord to display.
+	 * @return RowModel containing the formatted text.
+	 */
+	private RowModel getRowModel(GasRecord record) {
+		RowModel row = cache.get(record);
+		if (row == null) {
+			row = createRowModel(record);
+			cache.put(record,row);
+		}
+		return row;
+	}
+	
+	/**
+	 * Formats the text to display for a record.
+	 * @param record The GasRecord to display.
+	 * @return RowModel containing the formatted text.
+	 */
+	private RowModel createRowModel(GasRecord record) {
+		
+		RowModel row = new RowModel();
+		
+		// date
+		row.date = record.getDateString();
+
+		// odometer (bold if tank is full) 
+		if (record.isFullTank()) {
+			row.odometer = bold(record.getOdometerString());
+		} else {
+			row.odometer = record.getOdometerString();
+		}
+		
+		// gallons
+		row.gallons = record.getGallonsString();
+		
+		// mpg
+		String mileage = "";
+		if (record.hasCalculation()) {
+			mileage = record.getCalculation().getMileageString();
+			if (mileage.length() > "9999.99".length()) {
+				mileage = "#VAL!";
+			}
+			if (record.isCalculationHidden()) {
+				mileage = "---";
+			}
+		}
+		row.mileage = mileage;
+		
+		// cost (don't display if zero)
+		if (isCostDisplayable && (record.getCost() != 0d)) {
+			String cost = String.format("%s (%s %s)",
+					CurrencyManager.getInstance().getSymbolicFormatter().format(record.getCost()),
+					CurrencyManager.getInstance().getSymbolicFractionalFormatter().format(record.getPrice()),
+					units.getLiquidVolumeRatioLabel());
+			row.cost = labeled(R.string.cost_label,cost);
+		}
+
+		// notes (don't display if blank), or the snippet matching a search
+		String notes = record.getNotes();
+		CharSequence snippet = (snippets == null) ? null : snippets.get(record.getID());
+		if (snippet != null) {
+			row.notes = labeled(R.string.notes_label,snippet);
+		} else if (isNotesDisplayable && (notes != null) && !notes.trim().isEmpty()) {
+			row.notes = labeled(R.string.notes_label,notes);
+		}
+		
+		return row;
+	}
+	
+	/**
+	 * Returns text styled in bold.
+	 * @param text The text to style.
+	 * @return Spanned text.
+	 */
+	private static Spanned bold(String text) {
+		SpannableStringBuilder sb = new SpannableStringBuilder(text);
+		sb.setSpan(new StyleSpan(Typeface.BOLD),0,sb.length(),Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+		return sb;
+	}
+	
+	/**
+	 * Returns a value preceded by a bold label (ie. "Cost: value").
+	 * @param labelId The resource id of the label string.
+	 * @param value The value text.
+	 * @return Spanned text.
+	 */
+	private static Spanned labeled(int labelId, CharSequence value) {
+		SpannableStringBuilder sb = new SpannableStringBuilder(App.getContext().getString(labelId));
+		sb.setSpan(new StyleSpan(Typeface.BOLD),0,sb.length(),Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+		sb.append(": ").append(value);
+		return sb;
+	}
+	
+	/**
+	 * Determines the month sections from the records (one pass), recording
+	 * the position of the first record in each section. A new section starts 
+	 * whenever the month differs from that of the previous record.
+	 */
+	private void buildSections() {
+		
+		int count = records.size();
+		int[] starts = new int[Math.max(count,1)];
+		String[] labels = new String[starts.length];
+		int n = 0;
+		int previous = -1;
+		Calendar calendar = Calendar.getInstance();
+		
+		for (int position = 0; position < count; position++) {
+			Date date = records.get(position).getDate();
+			calendar.setTime(date);
+			int month = (calendar.get(Calendar.YEAR) * 12) + calendar.get(Calendar.MONTH);
+			if (month != previous) {
+				starts[n] = position;
+				labels[n] = new Month(date).getLongLabel();
+				n++;
+				previous = month;
+			}
+		}
+		
+		// an empty list has a single empty section
+		if (n == 0) {
+			starts[0] = 0;
+			labels[0] = "";
+			n = 1;
+		}
+		
+		offsets = Arrays.copyOf(starts,n);
+		sections = Arrays.copyOf(labels,n);
+	}
+	
+	/**
+	 * Returns the month section labels.
+	 * @see android.widget.SectionIndexer#getSections()
+	 */
+	@Override
+	public Object[] getSections() {
+		if (sections == null) buildSections();
+		return sections;
+	}
+
+	/**
+	 * Returns the position of the first record in a section.
+	 * @see android.widget.SectionIndexer#getPositionForSection(int)
+	 */
+	@Override
+	public int getPositionForSection(int section) {
+		if (offsets == null) buildSections();
+		if (section < 0) section = 0;
+		if (section >= offsets.length) section = offsets.length - 1;
+		return offsets[section];
+	}
+
+	/**
+	 * Returns the section containing a position (binary search of section offsets).
+	 * @see android.widget.SectionIndexer#getSectionForPosition(int)
+	 */
+	@Override
+	public int getSectionForPosition(int position) {
+		if (offsets == null) buildSections();
+		int index = Arrays.binarySearch(offsets,position);
+		if (index < 0) {
+			// not the start of a section - use the section before the insertion point
+			index = -index - 2;
+		}
+		return Math.max(index,0);
+	}
+	
+	/**
+	 * Sets the snippets of notes to display in place of the notes for records
+	 * matching a search, showing why each record matched.
+	 * @param snippets Map of record id to snippet (null if no search).
+	 * @see NoteMatch#getSnippet()
+	 */
+	public void setSnippets(Map<Integer,CharSequence> snippets) {
+		if ((snippets == null) && (this.snippets == null)) return;
+		this.snippets = snippets;
+		cache.clear();
+		super.notifyDataSetChanged();
+	}
+	
+	/**
+	 * Discards the cached text for a record that has changed (or been removed).
+	 * Month sections are determined again as the record date may have changed.
+	 * @param record The GasRecord instance.
+	 */
+	public void invalidate(GasRecord record) {
+		cache.remove(record);
+		sections = null;
+		offsets = null;
+	}
+
+	/**
+	 * Called by parent when records have been inserted, removed or moved,
+	 * but settings have not changed. Retains the cached text for unchanged 
+	 * records (changed records must be invalidated first). 
+	 * @see #invalidate(GasRecord)
+	 */
+	public void notifyStructureChanged() {
+		sections = null;
+		offsets = null;
+		super.notifyDataSetChanged();
+	}
+
+	/**
+	 * Called by parent when the underlying data set changes. Discards 
+	 * all cached text since the data or settings may have changed.
+	 * @see android.widget.ArrayAdapter#notifyDataSetChanged()
+	 */
+	@Override
+	public void notifyDataSetChanged() {
+		
+		// configuration may have changed - get current settings
+		getSettings();
+		cache.clear();
+		sections = null;
+		offsets = null;
+		
+		super.notifyDataSetChanged();
+	}
+}
@@ -1,111 +1,194 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.util.LinkedList;
-
-import android.content.Context;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
-import android.util.Log;
-
-/**
- * An Android SQLiteOpenHelper for our gas log database.
- */
-class GasLogOpenHelper extends SQLiteOpenHelper {
-	
-	/// tag for logging
-	private static final String TAG = GasLogOpenHelper.class.getName();
-	
-	/**
-	 * Constructs an instance of GasLogOpenHelper.
-	 * @param context The application or activity Context that owns the database.
-	 */
-	public GasLogOpenHelper(Context context) {
-        super(context, GasLog.DATABASE_NAME, null, GasLog.DATABASE_VERSION);
-	}
-
-	/**
-	 * Creates the database.
-	 * @see android.database.sqlite.SQLiteOpenHelper#onCreate(android.database.sqlite.SQLiteDatabase)
-	 */
-	@Override
-	public void onCreate(SQLiteDatabase db) {
-		execSQL(db,GasLog.DATABASE_CREATE);
-    }
-
-	/**
-	 * Upgrades the database to a new version.
-	 * @see android.database.sqlite.SQLiteOpenHelper#onUpgrade(android.database.sqlite.SQLiteDatabase, int, int)
-	 */
-	@Override
-	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-		
-		final String tag = TAG + ".onUpgrade()";
-		
-		Log.d(tag,"oldVersion="+oldVersion+"  newVersion="+newVersion);
-		
-		LinkedList<String> sql = new LinkedList<String>();
-		
-		while (oldVersion < newVersion) {
-			
-			switch (oldVersion) {
-			case 2:
-				sql.add("ALTER TABLE Records ADD COLUMN hidden integer not null default 0;");
-				break;
-			
-			case 3:
-				sql.add("ALTER TABLE Vehicles ADD COLUMN tanksize real not null default 16.0;");
-				break;
-			
-			case 4:
-				sql.add("ALTER TABLE Records ADD COLUMN cost real not null default 0.0;");
-				sql.add("ALTER TABLE Records ADD COLUMN notes text;");
-				break;
-			}
-			
-			oldVersion++;
-		}
-
-		try {
-			execSQL(db,(String[])sql.toArray(new String[sql.size()]));
-		} catch (Throwable t) {
-			String message = App.getContext().getString(R.string.toast_database_update_failed);
-			Utilities.toast(App.getContext(),message );
-			Log.e(tag,message,t);
-			execSQL(db,GasLog.DATABASE_DELETE);
-			onCreate(db);
-		}
-	}
-	
-	/**
-	 * Convenience method to execute an array or SQL command Strings.
-	 * @param db The database.
-	 * @param statements Array of SQL statement Strings to execute.
-	 */
-	private void execSQL(SQLiteDatabase db, String [] statements) {
-		final String tag = TAG + ".execSQL()";
-		for (String sql : statements) {
-			Log.d(tag,sql);
-			db.execSQL(sql);
-		}
-	}
-
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.LinkedList;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+/**
+ * An Android SQLiteOpenHelper for our gas log database.
+ */
+class GasLogOpenHelper extends SQLiteOpenHelper {
+	
+	/// tag for logging
+	private static final String TAG = GasLogOpenHelper.class.getName();
+	
+	/**
+	 * Constructs an instance of GasLogOpenHelper.
+	 * @param context The application or activity Context that owns the database.
+	 */
+	public GasLogOpenHelper(Context context) {
+        super(context, GasLog.DATABASE_NAME, null, GasLog.DATABASE_VERSION);
+	}
+
+	/**
+	 * Creates the database.
+	 * @see android.database.sqlite.SQLiteOpenHelper#onCreate(android.database.sqlite.SQLiteDatabase)
+	 */
+	@Override
+	public void onCreate(SQLiteDatabase db) {
+		execSQL(db,GasLog.DATABASE_CREATE);
+		execSQL(db,GasLog.DATABASE_CREATE_INDEXES);
+		execSQL(db,GasLog.DATABASE_CREATE_TAGS);
+    }
+	
+	/**
+	 * Called when the database has been opened (after it is created or
+	 * upgraded). Creates the indexes, full text index and tags table if they
+	 * do not exist yet. They are derived from the records, so they are 
+	 * created separately from the upgrade of the records: if creating them 
+	 * fails, the records are kept and creating them is tried again the next 
+	 * time the database is opened.
+	 * @see android.database.sqlite.SQLiteOpenHelper#onOpen(android.database.sqlite.SQLiteDatabase)
+	 */
+	@Override
+	public void onOpen(SQLiteDatabase db) {
+		super.onOpen(db);
+		if (db.isReadOnly()) return;
+		
+		if (!exists(db,GasLog.NOTES_TABLE)) {
+			createDerived(db,GasLog.DATABASE_CREATE_INDEXES,false);
+		}
+		if (!exists(db,GasLog.TAGS_TABLE)) {
+			createDerived(db,GasLog.DATABASE_CREATE_TAGS,true);
+		}
+	}
+
+	/**
+	 * Upgrades the database to a new version.
+	 * @see android.database.sqlite.SQLiteOpenHelper#onUpgrade(android.database.sqlite.SQLiteDatabase, int, int)
+	 */
+	@Override
+	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+		
+		final String tag = TAG + ".onUpgrade()";
+		
+		if (DebugLog.ENABLED) DebugLog.d(tag,"oldVersion="+oldVersion+"  newVersion="+newVersion);
+		
+		LinkedList<String> sql = new LinkedList<String>();
+		
+		while (oldVersion < newVersion) {
+			
+			switch (oldVersion) {
+			case 2:
+				sql.add("ALTER TABLE Records ADD COLUMN hidden integer not null default 0;");
+				break;
+			
+			case 3:
+				sql.add("ALTER TABLE Vehicles ADD COLUMN tanksize real not null default 16.0;");
+				break;
+			
+			case 4:
+				sql.add("ALTER TABLE Records ADD COLUMN cost real not null default 0.0;");
+				sql.add("ALTER TABLE Records ADD COLUMN notes text;");
+				break;
+			
+			// note: versions 6 and 7 add only indexes and tags (see onOpen())
+			}
+			
+			oldVersion++;
+		}
+
+		try {
+			execSQL(db,(String[])sql.toArray(new String[sql.size()]));
+		} catch (Throwable t) {
+			Log.e(tag,"upgrade failed",t);
+			showUpdateFailed();
+			execSQL(db,GasLog.DATABASE_DELETE);
+			onCreate(db);
+		}
+	}
+	
+	/**
+	 * Creates database objects derived from the records, as a single 
+	 * transaction. If this fails, the failure is logged and reported, but 
+	 * the records are not affected.
+	 * @param db The database.
+	 * @param statements The SQL statements that create the objects.
+	 * @param writeTags true to extract tags from the notes of existing records.
+	 */
+	private void createDerived(SQLiteDatabase db, String[] statements, boolean writeTags) {
+		final String tag = TAG + ".createDerived()";
+		db.beginTransaction();
+		try {
+			execSQL(db,statements);
+			if (writeTags) {
+				GasLog.writeAllTags(db);
+			}
+			db.setTransactionSuccessful();
+		} catch (Throwable t) {
+			Log.e(tag,"unable to create "+statements[0],t);
+			showUpdateFailed();
+		} finally {
+			db.endTransaction();
+		}
+	}
+	
+	/**
+	 * Determines whether a table exists in the database.
+	 * @param db The database.
+	 * @param name The table name.
+	 * @return true if the table exists.
+	 */
+	private static boolean exists(SQLiteDatabase db, String name) {
+		Cursor cursor = db.rawQuery("SELECT 1 FROM sqlite_master WHERE type='table' AND name=?",new String[] {name});
+		try {
+			return cursor.moveToFirst();
+		} finally {
+			cursor.close();
+		}
+	}
+	
+	/**
+	 * Reports to the user that the database update failed.
+	 */
+	private static void showUpdateFailed() {
+		final String message = App.getContext().getString(R.string.toast_database_update_failed);
+		
+		// note: the database may be opened on a background thread (without a Looper)
+		new Handler(Looper.getMainLooper()).post(new Runnable() {
+			@Override
+			public void run() {
+				Utilities.toast(App.getContext(),message);
+			}
+		});
+	}
+	
+	/**
+	 * Convenience method to execute an array or SQL command Strings.
+	 * @param db The database.
+	 * @param statements Array of SQL statement Strings to execute.
+	 */
+	private void execSQL(SQLiteDatabase db, String [] statements) {
+		final String tag = TAG + ".execSQL()";
+		for (String sql : statements) {
+			DebugLog.d(tag,sql);
+			db.execSQL(sql);
+		}
+	}
+
+}
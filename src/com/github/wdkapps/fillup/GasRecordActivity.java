@@ -143,7 +143,7 @@ View.OnFocusChangeListener {
         editTextNotes = (EditText)findViewById(R.id.editTextNotes);
         
         // update labels to reflect current units
-        Units units = new Units(Settings.KEY_UNITS);
+        Units units = SettingsSnapshot.getInstance().getUnits();
         TextView label = (TextView)findViewById(R.id.textViewOdometer);
         String format = getString(R.string.odometer_units_label);
         label.setText(String.format(App.getLocale(),format,units.getDistanceLabelLowerCase()));
@@ -425,7 +425,7 @@ View.OnFocusChangeListener {
      */
     protected boolean getData() {
     	
-		Units units = new Units(Settings.KEY_UNITS);
+		Units units = SettingsSnapshot.getInstance().getUnits();
 		String message;
     	
 		// reset any previous errors
@@ -642,7 +642,7 @@ View.OnFocusChangeListener {
         String message;
         String value;
         
-        Units units = new Units(Settings.KEY_UNITS);
+        Units units = SettingsSnapshot.getInstance().getUnits();
     	
     	switch (id) {
     	case DIALOG_CONFIRM_ODOMETER_LOW_ID:
@@ -0,0 +1,205 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares an existing (displayed) list of gas records with a new list of 
+ * the same records, matching records by ID. Records whose displayed data is 
+ * unchanged are replaced in the new list by their existing instances, so 
+ * that anything derived from them (ie. formatted row text) remains valid. 
+ * Records that were inserted, removed, changed, or moved (different odometer 
+ * order) are identified so that only those need to be updated.
+ * 
+ * NOTE: Both lists are expected to be sorted by odometer value with mileage
+ * calculated (see GasRecordList.calculateMileage()).
+ */
+public class GasRecordListDiff {
+	
+	/// the new list, with unchanged records replaced by their existing instances
+	private final List<GasRecord> list;
+	
+	/// positions in the new list of records that are changed
+	private final List<Integer> changed = new ArrayList<Integer>();
+	
+	/// existing record instances that were changed or removed
+	private final List<GasRecord> stale = new ArrayList<GasRecord>();
+	
+	/// number of records inserted
+	private int inserted = 0;
+	
+	/// number of records removed
+	private int removed = 0;
+	
+	/// flag indicating whether any existing record moved relative to the others
+	private boolean moved = false;
+
+	/**
+	 * Constructs a GasRecordListDiff by comparing two lists.
+	 * @param oldList The existing list of records.
+	 * @param newList The new list of records.
+	 */
+	public GasRecordListDiff(List<GasRecord> oldList, List<GasRecord> newList) {
+		
+		// index the existing records by id
+		Map<Integer,Integer> positions = new HashMap<Integer,Integer>(oldList.size() * 2);
+		for (int n = 0; n < oldList.size(); n++) {
+			positions.put(oldList.get(n).getID(),n);
+		}
+		
+		list = new ArrayList<GasRecord>(newList);
+		int previous = -1;
+		
+		for (int n = 0; n < list.size(); n++) {
+			
+			GasRecord record = list.get(n);
+			Integer position = positions.remove(record.getID());
+			
+			if (position == null) {
+				inserted++;
+				continue;
+			}
+			
+			// existing records must remain in the same relative order 
+			if (position < previous) moved = true;
+			previous = position;
+			
+			GasRecord existing = oldList.get(position);
+			if (isSame(existing,record)) {
+				list.set(n,existing);
+			} else {
+				changed.add(n);
+				stale.add(existing);
+			}
+		}
+		
+		// whatever remains was removed
+		removed = positions.size();
+		for (Integer position : positions.values()) {
+			stale.add(oldList.get(position));
+		}
+	}
+	
+	/**
+	 * Determines whether two instances of a record display the same data,
+	 * including the mileage calculation.
+	 * @param a The existing record.
+	 * @param b The new record.
+	 * @return true if the same.
+	 */
+	private static boolean isSame(GasRecord a, GasRecord b) {
+		
+		if (!a.equals(b)) return false;
+		
+		if (a.hasCalculation() != b.hasCalculation()) return false;
+		
+		if (a.hasCalculation()) {
+			MileageCalculation ca = a.getCalculation();
+			MileageCalculation cb = b.getCalculation();
+			return (ca.getDistanceDriven() == cb.getDistanceDriven()) &&
+				   (ca.getGasolineUsed() == cb.getGasolineUsed());
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the new list of records, containing existing instances for
+	 * records that are unchanged.
+	 * @return List of GasRecord.
+	 */
+	public List<GasRecord> getList() {
+		return list;
+	}
+	
+	/**
+	 * Returns the positions in the new list of records that changed.
+	 * @return List of positions (ascending).
+	 */
+	public List<Integer> getChangedPositions() {
+		return Collections.unmodifiableList(changed);
+	}
+	
+	/**
+	 * Returns the existing record instances that were changed or removed
+	 * and therefore should no longer be displayed.
+	 * @return List of GasRecord.
+	 */
+	public List<GasRecord> getStaleRecords() {
+		return Collections.unmodifiableList(stale);
+	}
+	
+	/**
+	 * Returns the number of records in the new list that are not in the
+	 * existing list.
+	 * @return The number of records inserted.
+	 */
+	public int getInsertedCount() {
+		return inserted;
+	}
+	
+	/**
+	 * Returns the number of existing records that are not in the new list.
+	 * @return The number of records removed.
+	 */
+	public int getRemovedCount() {
+		return removed;
+	}
+	
+	/**
+	 * Determines whether any existing record moved relative to the others.
+	 * @return true if the relative order of the existing records changed.
+	 */
+	public boolean isMoved() {
+		return moved;
+	}
+	
+	/**
+	 * Determines whether the lists are identical.
+	 * @return true if no records were inserted, removed, changed or moved.
+	 */
+	public boolean isEmpty() {
+		return !isStructural() && changed.isEmpty();
+	}
+	
+	/**
+	 * Determines whether the structure of the list changed, which means that 
+	 * positions of existing records in the list may be different. 
+	 * @return true if records were inserted, removed or moved.
+	 */
+	public boolean isStructural() {
+		return (inserted > 0) || (removed > 0) || moved;
+	}
+	
+	/**
+	 * Returns a String summarizing the differences (for debugging).
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "inserted=" + inserted + " removed=" + removed + " changed=" + changed.size() + " moved=" + moved;
+	}
+
+}
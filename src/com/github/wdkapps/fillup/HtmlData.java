@@ -1,33 +1,43 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-/**
- * An interface for a class that can be represented as or contains HTML data. 
- */
-public interface HtmlData {
-	
-	/**
-	 * Returns HTML data as a String.
-	 * @return The HTML data String.
-	 */
-	public String getHtml();
-
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+
+/**
+ * An interface for a class that can be represented as or contains HTML data. 
+ */
+public interface HtmlData {
+	
+	/**
+	 * Returns HTML data as a String.
+	 * @return The HTML data String.
+	 */
+	public String getHtml();
+	
+	/**
+	 * Writes HTML data to a specified destination as it is generated, 
+	 * without first building the entire String in memory.
+	 * @param out The destination for the HTML data (i.e. a Writer).
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	public void writeTo(Appendable out) throws IOException;
+
+}
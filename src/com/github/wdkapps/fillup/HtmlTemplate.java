@@ -0,0 +1,119 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import android.content.res.AssetManager;
+
+/**
+ * An immutable HTML page template read from a pair of asset files. The 
+ * page content is inserted between the head (top) and tail (bottom) of 
+ * the template. Templates are read from the assets only once and then
+ * cached.
+ * <p>
+ * NOTE: 
+ * Asset file names are obtained from String resources, which are 
+ * localized. The cache is therefore keyed by file name, so each locale 
+ * gets its own template.
+ */
+public final class HtmlTemplate {
+	
+	/// cache of templates that have been read, keyed by asset file names
+	private static final Map<String,HtmlTemplate> cache = new HashMap<String,HtmlTemplate>();
+	
+	/// the HTML data that precedes the page content
+	private final String head;
+	
+	/// the HTML data that follows the page content
+	private final String tail;
+	
+	/**
+	 * Returns the template for a specified pair of asset files, reading
+	 * the files only if the template is not already cached.
+	 * @param top The name of the asset file containing the head of the page.
+	 * @param bottom The name of the asset file containing the tail of the page.
+	 * @return The HtmlTemplate instance.
+	 * @throws IOException if an error occurs reading the files.
+	 */
+	public static synchronized HtmlTemplate getInstance(String top, String bottom) throws IOException {
+		String key = top + "|" + bottom;
+		HtmlTemplate template = cache.get(key);
+		if (template == null) {
+			template = new HtmlTemplate(readAssetFile(top),readAssetFile(bottom));
+			cache.put(key,template);
+		}
+		return template;
+	}
+	
+	/**
+	 * Constructs an instance of HtmlTemplate (use getInstance()).
+	 * @param head The HTML data that precedes the page content.
+	 * @param tail The HTML data that follows the page content.
+	 */
+	private HtmlTemplate(String head, String tail) {
+		this.head = head;
+		this.tail = tail;
+	}
+	
+	/**
+	 * Returns the HTML data that precedes the page content.
+	 * @return The head of the page as a String.
+	 */
+	public String getHead() {
+		return head;
+	}
+	
+	/**
+	 * Returns the HTML data that follows the page content.
+	 * @return The tail of the page as a String.
+	 */
+	public String getTail() {
+		return tail;
+	}
+	
+	/**
+	 * Reads the content of a specified asset file as String data.
+	 * @param asset The name of the asset file.
+	 * @return The content of the file as a String.
+	 * @throws IOException if an error occurs reading the file.
+	 */
+	private static String readAssetFile(String asset) throws IOException {
+		AssetManager assetmgr = App.getContext().getAssets();
+		StringBuilder text = new StringBuilder();
+		Reader reader = null;
+		try {
+			reader = new InputStreamReader(assetmgr.open(asset),"UTF-8");
+			char[] buffer = new char[4096];
+			int count;
+			while ((count = reader.read(buffer)) != -1) {
+				text.append(buffer,0,count);
+			}
+		} finally {
+			if (reader != null) reader.close();
+		}
+		return text.toString();
+	}
+
+}
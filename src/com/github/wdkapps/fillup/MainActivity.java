@@ -30,6 +30,8 @@ import android.preference.PreferenceManager;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemSelectedListener;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.ImageButton;
@@ -63,6 +65,19 @@ implements VehicleDialog.Listener, ConfirmationDialog.Listener, View.OnClickList
 	/// an adapter to populate the spinner with vehicle names
 	private ArrayAdapter<Vehicle> adapter;
 	
+	/// delay (milliseconds) after vehicle selection before prefetching its records
+	private static final long PREFETCH_DELAY = 300;
+	
+	/// starts a background read of the records for the selected vehicle
+	private final Runnable prefetch = new Runnable() {
+		@Override
+		public void run() {
+			if (getSelectedVehicle() != null) {
+				RecordPrefetcher.prefetch(selectedVehicle);
+			}
+		}
+	};
+	
     /**
      * Called when the activity is starting.
      * @see android.app.Activity#onCreate(android.os.Bundle)
@@ -113,6 +128,18 @@ implements VehicleDialog.Listener, ConfirmationDialog.Listener, View.OnClickList
         spinnerVehicles.setAdapter(adapter);
         updateVehiclesSpinnerState();
         
+        // prefetch the records for the selected vehicle once the selection settles
+        spinnerVehicles.setOnItemSelectedListener(new OnItemSelectedListener() {
+			@Override
+			public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+				schedulePrefetch();
+			}
+			@Override
+			public void onNothingSelected(AdapterView<?> parent) {
+				spinnerVehicles.removeCallbacks(prefetch);
+			}
+        });
+        
         // if the activity is not being re-initialized (for example after screen rotate)
         // start by adding a vehicle if there are none currently defined
         if ((savedInstanceState == null) && vehicles.isEmpty()) {
@@ -121,6 +148,65 @@ implements VehicleDialog.Listener, ConfirmationDialog.Listener, View.OnClickList
         
     }
     
+    /**
+     * Called when the activity will start interacting with the user.
+     * @see android.app.Activity#onResume()
+     */
+    @Override
+    protected void onResume() {
+    	super.onResume();
+    	
+    	// read the records again if those prefetched earlier were consumed or are stale
+    	Vehicle vehicle = (Vehicle)spinnerVehicles.getSelectedItem();
+    	if ((vehicle != null) && !RecordPrefetcher.isPending(vehicle)) {
+    		schedulePrefetch();
+    	}
+    }
+    
+    /**
+     * Called when the window focus changes. The first time the main window
+     * gains focus marks the end of application startup.
+     * @see android.app.Activity#onWindowFocusChanged(boolean)
+     */
+    @Override
+    public void onWindowFocusChanged(boolean hasFocus) {
+    	super.onWindowFocusChanged(hasFocus);
+    	if (hasFocus) {
+    		App.logStartupTime();
+    	}
+    }
+    
+    /**
+     * Called when the activity is going into the background.
+     * @see android.app.Activity#onPause()
+     */
+    @Override
+    protected void onPause() {
+    	spinnerVehicles.removeCallbacks(prefetch);
+    	super.onPause();
+    }
+    
+    /**
+     * Called when the activity is being destroyed. Discards records that 
+     * were prefetched but not used, rather than retaining them in memory.
+     * @see android.app.Activity#onDestroy()
+     */
+    @Override
+    protected void onDestroy() {
+    	RecordPrefetcher.invalidate();
+    	super.onDestroy();
+    }
+    
+    /**
+     * Schedules a background read of the records for the selected vehicle,
+     * replacing any read scheduled previously, so that only the selection
+     * that settles is read.
+     */
+    private void schedulePrefetch() {
+    	spinnerVehicles.removeCallbacks(prefetch);
+    	spinnerVehicles.postDelayed(prefetch,PREFETCH_DELAY);
+    }
+    
     /**
      * Enable/disable the "drop down list" of vehicles and all
      * vehicle related View instances depending on whether any vehicles
@@ -171,6 +257,11 @@ implements VehicleDialog.Listener, ConfirmationDialog.Listener, View.OnClickList
     		}
     		return true;
 
+    	case R.id.itemFleetStatistics:
+    		intent = new Intent(this,FleetStatisticsActivity.class);
+    		startActivity(intent);
+    		return true;
+
     	case R.id.itemHelp:
 			intent = new Intent(this, HtmlViewerActivity.class);
 			intent.putExtra(HtmlViewerActivity.URL,getString(R.string.url_help_html));
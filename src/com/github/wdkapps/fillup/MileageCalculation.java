@@ -1,174 +1,204 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.io.Serializable;
-
-/**
- * Implements an object to calculate gas mileage for a set of 
- * gasoline records. It calculates total distance driven, total
- * gasoline used and overall fuel efficiency (mileage) in the specified
- * units. Needs to be Serializable in order to pass between Activity 
- * instances via an Intent instance.
- */
-public class MileageCalculation implements Serializable {
-	
-	/// required to enable serialization
-	private static final long serialVersionUID = 3403673049159091140L;
-	
-	// for conversion from liters to imperial gallons
-	private static final float IMPERIAL_GALLONS_PER_LITER = 0.219969f;
-	
-	// for conversion from kilometers to miles
-	private static final float MILES_PER_KILOMETER = 0.621371f;
-	
-	/// odometer value for the previous full tank of gas 
-	protected int startOdometer;
-	
-	/// odometer value for the current full tank of gas 
-	protected int endOdometer;
-	
-	/// amount of gasoline used between fill ups  
-	protected float gasolineUsed;
-	
-	/// the preferred calculation units 
-	protected Units units;
-	
-	/**
-	 * Constructs an instance of MileageCalculation.
-	 *
-	 * @param startRecord GasRecord reflecting the previous full tank of gas.
-	 * @param units The Units of measurement to use for calculations.
-	 */
-	public MileageCalculation(GasRecord startRecord, Units units) {
-		this.startOdometer = startRecord.getOdometer();
-		this.endOdometer = this.startOdometer;
-		this.gasolineUsed = 0;
-		this.units = units;
-	}
-	
-	/**
-	 * Adds a gas record to the set of records used for calculation.
-	 * NOTE: Assumed records are added in odometer order (lowest odometer first).
-	 * @param record The GasRecord to add to the calculation set.
-	 */
-	public void add(GasRecord record) {
-		this.endOdometer = record.getOdometer();
-		this.gasolineUsed += record.getGallons();
-	}
-	
-	/**
-	 * Returns the distance driven.
-	 * @return Distance driven.
-	 */
-	public int getDistanceDriven() {
-		return endOdometer - startOdometer;
-	}
-
-	/**
-	 * Returns the amount of gasoline used.
-	 * @return Gasoline used.
-	 */
-	public float getGasolineUsed() {
-		return gasolineUsed;
-	}
-	
-	/**
-	 * Calculates the quantity of gasoline consumed per distance driven.
-	 * @return Calculated fuel efficiency (mileage) 
-	 */
-	public float getMileage() {
-		float mileage = 0;
-		int distance = getDistanceDriven();
-		
-		// avoid division by zero!
-		if ((gasolineUsed > 0) && (distance > 0)) {
-			
-			// calculate mileage in specified units
-			switch (units.getValue()) {
-			
-			case Units.MILES_PER_GALLON:
-			case Units.KILOMETERS_PER_GALLON:	
-			case Units.KILOMETERS_PER_LITER:
-				mileage = distance/gasolineUsed;
-				break;
-				
-			case Units.LITERS_PER_100_KILOMETERS:
-				mileage = (gasolineUsed * 100)/distance;
-				break;
-				
-			case Units.UK_MPG_MILES_LITERS:
-				// calculate MPG when: odometer = miles, gasolineUsed = liters
-				float miles = (float) distance;
-				float imperialGallons = gasolineUsed * IMPERIAL_GALLONS_PER_LITER;
-				mileage = miles/imperialGallons; 
-				break;
-				
-			case Units.UK_MPG_KILOMETERS_LITERS:
-				// calculate MPG when: odometer = kilometers, gasolineUsed = liters
-				miles = (float) distance * MILES_PER_KILOMETER;
-				imperialGallons = gasolineUsed * IMPERIAL_GALLONS_PER_LITER;
-				mileage = miles/imperialGallons; 
-				break;
-			}
-			
-		}
-		return mileage;
-	}
-	
-	/**
-	 * Returns quantity of gasoline used as a formatted String.
-	 * @return Quantity of gas used.
-	 */
-	public String getGasolineUsedString() {
-		return String.format(App.getLocale(),"%.3f", getGasolineUsed());
-	}
-	
-	/**
-	 * Returns the calculated mileage as a formatted String.
-	 * @return Calculated gas mileage
-	 */
-	public String getMileageString() {
-		return String.format(App.getLocale(),"%.2f", getMileage());
-	}
-	
-	/**
-	 * Returns the units of measurement used for calculations.
-	 * @return The Units of measurement.
-	 */
-	public Units getUnits() {
-		return units;
-	}
-	
-	/**
-	 * Displays object instance values for logging purposes.
-	 * @see java.lang.Object#toString()
-	 */
-	@Override
-	public String toString() {
-		return "MileageCalculation [" + 
-				"startOdometer=" + startOdometer + 
-				", endOdometer=" + endOdometer + 
-				", gasUsed=" + gasolineUsed + 
-				", units=" + units.getMileageLabel() + 
-				"]";
-	}
-
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.Serializable;
+
+/**
+ * Implements an object to calculate gas mileage for a set of 
+ * gasoline records. It calculates total distance driven, total
+ * gasoline used and overall fuel efficiency (mileage) in the specified
+ * units. Needs to be Serializable in order to pass between Activity 
+ * instances via an Intent instance.
+ */
+public class MileageCalculation implements Serializable {
+	
+	/// required to enable serialization
+	private static final long serialVersionUID = 3403673049159091140L;
+	
+	// for conversion from liters to imperial gallons
+	private static final float IMPERIAL_GALLONS_PER_LITER = 0.219969f;
+	
+	// for conversion from kilometers to miles
+	private static final float MILES_PER_KILOMETER = 0.621371f;
+	
+	/// odometer value for the previous full tank of gas 
+	protected int startOdometer;
+	
+	/// odometer value for the current full tank of gas 
+	protected int endOdometer;
+	
+	/// amount of gasoline used between fill ups  
+	protected float gasolineUsed;
+	
+	/// cost of gasoline used between fill ups
+	protected double cost;
+	
+	/// the preferred calculation units 
+	protected Units units;
+	
+	/**
+	 * Constructs an instance of MileageCalculation.
+	 *
+	 * @param startRecord GasRecord reflecting the previous full tank of gas.
+	 * @param units The Units of measurement to use for calculations.
+	 */
+	public MileageCalculation(GasRecord startRecord, Units units) {
+		this.startOdometer = startRecord.getOdometer();
+		this.endOdometer = this.startOdometer;
+		this.gasolineUsed = 0;
+		this.cost = 0;
+		this.units = units;
+	}
+	
+	/**
+	 * Constructs an instance of MileageCalculation from totals for 
+	 * distance driven and gasoline used (example: totals for a period
+	 * spanning several fill ups).
+	 *
+	 * @param distance The distance driven.
+	 * @param gasolineUsed The amount of gasoline used.
+	 * @param units The Units of measurement to use for calculations.
+	 */
+	public MileageCalculation(int distance, float gasolineUsed, Units units) {
+		this.startOdometer = 0;
+		this.endOdometer = distance;
+		this.gasolineUsed = gasolineUsed;
+		this.cost = 0;
+		this.units = units;
+	}
+	
+	/**
+	 * Adds a gas record to the set of records used for calculation.
+	 * NOTE: Assumed records are added in odometer order (lowest odometer first).
+	 * @param record The GasRecord to add to the calculation set.
+	 */
+	public void add(GasRecord record) {
+		this.endOdometer = record.getOdometer();
+		this.gasolineUsed += record.getGallons();
+		this.cost += record.getCost();
+	}
+	
+	/**
+	 * Returns the distance driven.
+	 * @return Distance driven.
+	 */
+	public int getDistanceDriven() {
+		return endOdometer - startOdometer;
+	}
+
+	/**
+	 * Returns the amount of gasoline used.
+	 * @return Gasoline used.
+	 */
+	public float getGasolineUsed() {
+		return gasolineUsed;
+	}
+	
+	/**
+	 * Returns the cost of the gasoline used.
+	 * @return Cost of gasoline used.
+	 */
+	public double getCost() {
+		return cost;
+	}
+	
+	/**
+	 * Calculates the quantity of gasoline consumed per distance driven.
+	 * @return Calculated fuel efficiency (mileage) 
+	 */
+	public float getMileage() {
+		float mileage = 0;
+		int distance = getDistanceDriven();
+		
+		// avoid division by zero!
+		if ((gasolineUsed > 0) && (distance > 0)) {
+			
+			// calculate mileage in specified units
+			switch (units.getValue()) {
+			
+			case Units.MILES_PER_GALLON:
+			case Units.KILOMETERS_PER_GALLON:	
+			case Units.KILOMETERS_PER_LITER:
+				mileage = distance/gasolineUsed;
+				break;
+				
+			case Units.LITERS_PER_100_KILOMETERS:
+				mileage = (gasolineUsed * 100)/distance;
+				break;
+				
+			case Units.UK_MPG_MILES_LITERS:
+				// calculate MPG when: odometer = miles, gasolineUsed = liters
+				float miles = (float) distance;
+				float imperialGallons = gasolineUsed * IMPERIAL_GALLONS_PER_LITER;
+				mileage = miles/imperialGallons; 
+				break;
+				
+			case Units.UK_MPG_KILOMETERS_LITERS:
+				// calculate MPG when: odometer = kilometers, gasolineUsed = liters
+				miles = (float) distance * MILES_PER_KILOMETER;
+				imperialGallons = gasolineUsed * IMPERIAL_GALLONS_PER_LITER;
+				mileage = miles/imperialGallons; 
+				break;
+			}
+			
+		}
+		return mileage;
+	}
+	
+	/**
+	 * Returns quantity of gasoline used as a formatted String.
+	 * @return Quantity of gas used.
+	 */
+	public String getGasolineUsedString() {
+		return String.format(App.getLocale(),"%.3f", getGasolineUsed());
+	}
+	
+	/**
+	 * Returns the calculated mileage as a formatted String.
+	 * @return Calculated gas mileage
+	 */
+	public String getMileageString() {
+		return String.format(App.getLocale(),"%.2f", getMileage());
+	}
+	
+	/**
+	 * Returns the units of measurement used for calculations.
+	 * @return The Units of measurement.
+	 */
+	public Units getUnits() {
+		return units;
+	}
+	
+	/**
+	 * Displays object instance values for logging purposes.
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MileageCalculation [" + 
+				"startOdometer=" + startOdometer + 
+				", endOdometer=" + endOdometer + 
+				", gasUsed=" + gasolineUsed + 
+				", units=" + units.getMileageLabel() + 
+				"]";
+	}
+
+}
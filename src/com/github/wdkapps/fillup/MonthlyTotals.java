@@ -0,0 +1,134 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+/**
+ * Represents totals of gas record data for one month: distance driven,
+ * gasoline purchased, cost, number of gas records, and the last odometer
+ * value recorded.
+ */
+public class MonthlyTotals {
+	
+	/// the month
+	private final Month month;
+	
+	/// the distance driven
+	private int distance;
+	
+	/// the amount of gasoline purchased
+	private float gallons;
+	
+	/// the cost of the gasoline purchased
+	private double cost;
+	
+	/// the number of gas records
+	private int count;
+	
+	/// the last odometer value recorded 
+	private int odometer;
+	
+	/**
+	 * Constructs an empty instance of MonthlyTotals.
+	 * @param month The month.
+	 */
+	public MonthlyTotals(Month month) {
+		this(month,0,0f,0d,0,0);
+	}
+	
+	/**
+	 * Constructs an instance of MonthlyTotals.
+	 * @param month The month.
+	 * @param distance The distance driven.
+	 * @param gallons The amount of gasoline purchased.
+	 * @param cost The cost of the gasoline purchased.
+	 * @param count The number of gas records.
+	 * @param odometer The last odometer value recorded.
+	 */
+	public MonthlyTotals(Month month, int distance, float gallons, double cost, int count, int odometer) {
+		this.month = month;
+		this.distance = distance;
+		this.gallons = gallons;
+		this.cost = cost;
+		this.count = count;
+		this.odometer = odometer;
+	}
+	
+	/**
+	 * Append the totals for another month to these totals. The last
+	 * odometer value is the greater of the two.
+	 * @param that The MonthlyTotals to append.
+	 */
+	public void append(MonthlyTotals that) {
+		this.distance += that.distance;
+		this.gallons += that.gallons;
+		this.cost += that.cost;
+		this.count += that.count;
+		this.odometer = Math.max(this.odometer,that.odometer);
+	}
+
+	/**
+	 * Getter method for the month attribute.
+	 * @return The Month.
+	 */
+	public Month getMonth() {
+		return month;
+	}
+
+	/**
+	 * Getter method for the distance attribute.
+	 * @return The distance driven.
+	 */
+	public int getDistance() {
+		return distance;
+	}
+
+	/**
+	 * Getter method for the gallons attribute.
+	 * @return The amount of gas purchased.
+	 */
+	public float getGallons() {
+		return gallons;
+	}
+
+	/**
+	 * Getter method for the cost attribute.
+	 * @return The total cost of gas purchased.
+	 */
+	public double getCost() {
+		return cost;
+	}
+
+	/**
+	 * Getter method for the count attribute.
+	 * @return The number of gas records.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Getter method for the odometer attribute.
+	 * @return The last odometer value recorded.
+	 */
+	public int getOdometer() {
+		return odometer;
+	}
+
+}
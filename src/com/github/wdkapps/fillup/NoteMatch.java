@@ -0,0 +1,164 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Comparator;
+
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+
+/**
+ * A gasoline record whose notes match a full text search, along with a 
+ * snippet of the notes showing the matching words and a rank used to 
+ * order the search results (see GasLog.searchNotes()).
+ */
+public class NoteMatch {
+	
+	/// marks the start of a matching word within the snippet
+	static final String MATCH_START = "\u0002";
+	
+	/// marks the end of a matching word within the snippet
+	static final String MATCH_END = "\u0003";
+	
+	/// marks text omitted from the snippet
+	static final String ELLIPSIS = "\u2026";
+	
+	/// the matching record
+	private final GasRecord record;
+	
+	/// the snippet of notes text, with matching words marked
+	private final String snippet;
+	
+	/// the number of distinct query terms found in the notes
+	private final int terms;
+	
+	/// the total number of matching words found in the notes
+	private final int hits;
+	
+	/**
+	 * Orders matches from best to worst: most distinct terms found, then most 
+	 * matching words, then shortest notes (the matches are a larger part of 
+	 * the text), then most recent.
+	 */
+	public static final Comparator<NoteMatch> RANK = new Comparator<NoteMatch>() {
+		@Override
+		public int compare(NoteMatch lhs, NoteMatch rhs) {
+			if (lhs.terms != rhs.terms) return (rhs.terms - lhs.terms);
+			if (lhs.hits != rhs.hits) return (rhs.hits - lhs.hits);
+			int lhsLength = lhs.getNotesLength();
+			int rhsLength = rhs.getNotesLength();
+			if (lhsLength != rhsLength) return (lhsLength - rhsLength);
+			return rhs.record.getDate().compareTo(lhs.record.getDate());
+		}
+	};
+	
+	/**
+	 * Constructs an instance of NoteMatch.
+	 * @param record The matching GasRecord.
+	 * @param snippet The snippet String returned by the SQLite snippet() function.
+	 * @param offsets The String returned by the SQLite offsets() function. This
+	 * contains four integers per matching word: column, term, byte offset and size.
+	 */
+	NoteMatch(GasRecord record, String snippet, String offsets) {
+		this.record = record;
+		this.snippet = (snippet == null) ? "" : snippet;
+		
+		// count the matching words and the distinct terms they match
+		int hits = 0;
+		long termMask = 0;
+		if (offsets != null) {
+			String[] values = offsets.trim().split(" +");
+			for (int n = 0; n + 3 < values.length; n += 4) {
+				try {
+					int term = Integer.parseInt(values[n+1]);
+					termMask |= (1L << (term & 63));
+					hits++;
+				} catch (NumberFormatException e) {
+					// ignore malformed entry
+				}
+			}
+		}
+		this.hits = hits;
+		this.terms = Long.bitCount(termMask);
+	}
+	
+	/**
+	 * Getter method for the matching record.
+	 * @return The GasRecord.
+	 */
+	public GasRecord getRecord() {
+		return record;
+	}
+	
+	/**
+	 * Getter method for the number of matching words found in the notes.
+	 * @return The number of matching words.
+	 */
+	public int getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Returns the snippet of notes text for display, with the matching words 
+	 * in bold and omitted text indicated by an ellipsis.
+	 * @return The snippet as a CharSequence.
+	 */
+	public CharSequence getSnippet() {
+		SpannableStringBuilder text = new SpannableStringBuilder();
+		int start = -1;
+		for (int n = 0; n < snippet.length(); n++) {
+			char c = snippet.charAt(n);
+			if (c == MATCH_START.charAt(0)) {
+				start = text.length();
+			} else if (c == MATCH_END.charAt(0)) {
+				if (start >= 0) {
+					text.setSpan(new StyleSpan(Typeface.BOLD),start,text.length(),Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+				}
+				start = -1;
+			} else {
+				text.append(c);
+			}
+		}
+		return text;
+	}
+	
+	/**
+	 * Returns the length of the record notes.
+	 * @return The number of characters in the notes (0 if none).
+	 */
+	private int getNotesLength() {
+		String notes = record.getNotes();
+		return (notes == null) ? 0 : notes.length();
+	}
+
+	/**
+	 * Returns a String describing the match (for debugging).
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "id=" + record.getID() + " terms=" + terms + " hits=" + hits + 
+			   " snippet=" + snippet.replace(MATCH_START,"[").replace(MATCH_END,"]");
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts tags from the notes of a gasoline record. A tag is a word 
+ * preceded by '#' (ie. "#work", "#trip-2026", "#premium"), consisting of 
+ * letters, digits, '-' and '_'. Tags are not case sensitive, and are 
+ * stored in lower case (independent of the locale, so they do not change 
+ * if the locale does).
+ */
+public class NoteTags {
+	
+	/// pattern matching a tag within notes text (group 1 = tag without '#')
+	private static final Pattern PATTERN = Pattern.compile("(?<![\\p{L}\\p{N}_#])#([\\p{L}\\p{N}_][\\p{L}\\p{N}_\\-]*)");
+
+	/**
+	 * Returns the tags contained in notes text.
+	 * @param notes The notes text (can be null).
+	 * @return A sorted Set of distinct tags in lower case, without the 
+	 * leading '#' (empty if none).
+	 */
+	public static Set<String> parse(String notes) {
+		Set<String> tags = new TreeSet<String>();
+		if (notes == null) return tags;
+		Matcher matcher = PATTERN.matcher(notes);
+		while (matcher.find()) {
+			tags.add(matcher.group(1).toLowerCase(Locale.US));
+		}
+		return tags;
+	}
+	
+	/**
+	 * Returns a tag formatted for display.
+	 * @param tag The tag (without the leading '#').
+	 * @return The tag with a leading '#'.
+	 */
+	public static String getLabel(String tag) {
+		return "#" + tag;
+	}
+
+}
@@ -23,6 +23,7 @@ import java.text.DecimalFormat;
 import java.text.Format;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import com.androidplot.xy.XYSeries;
 import com.androidplot.util.PaintUtils;
@@ -39,12 +40,8 @@ import com.androidplot.xy.XYStepMode;
 
 import android.os.Bundle;
 import android.app.Activity;
-import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.graphics.Color;
-import android.util.Log;
 import android.view.Display;
-import android.view.ViewGroup;
 
 /**
  * A plot of odometer data (distance driven).
@@ -54,7 +51,7 @@ import android.view.ViewGroup;
  * a parent TabActivity, but has been refactored to manage an XYPlot view
  * for a parent Activity. 
  */
-public class OdometerPlot implements OnSharedPreferenceChangeListener {
+public class OdometerPlot implements DataPlot {
 
 	/// for logging
 	private static final String TAG = OdometerPlot.class.getName();
@@ -111,7 +108,7 @@ public class OdometerPlot implements OnSharedPreferenceChangeListener {
     	this.plot = xyplot;
         
         // get current units of measurement
-        units = new Units(Settings.KEY_UNITS);
+        units = SettingsSnapshot.getInstance().getUnits();
         
         // create a formatter to use for drawing the plot series 
         plotFormatter = new BarFormatter(
@@ -204,7 +201,7 @@ public class OdometerPlot implements OnSharedPreferenceChangeListener {
      * preferences.
      */
     private void setPlotFontSizes() {
-    	PlotFontSize size = new PlotFontSize(activity,Settings.KEY_PLOT_FONT_SIZE);
+    	PlotFontSize size = SettingsSnapshot.getInstance().getPlotFontSize();
 
     	// plot title label
         PaintUtils.setFontSizeDp(plot.getTitleWidget().getLabelPaint(),size.getSizeDp());
@@ -295,7 +292,7 @@ public class OdometerPlot implements OnSharedPreferenceChangeListener {
     	long y = 0L;
     	for (Month month : PlotActivity.monthly) {
     		y = PlotActivity.monthly.getTrips(month).getDistance();
-    		Log.d(tag,"month="+month.toString()+" x="+x+" y="+y);
+    		if (DebugLog.ENABLED) DebugLog.d(tag,"month="+month.toString()+" x="+x+" y="+y);
     		minx = Math.min(minx, x);
     		maxx = Math.max(maxx, x);
     		miny = Math.min(miny, y);
@@ -316,9 +313,9 @@ public class OdometerPlot implements OnSharedPreferenceChangeListener {
     		average = sumy / yNumbers.size();
     	}
     	
-    	Log.d(tag,"minx="+minx+" maxx="+maxx);
-    	Log.d(tag,"miny="+miny+" maxy="+maxy);
-    	Log.d(tag,"sumy="+sumy+" size="+yNumbers.size()+" average="+average);
+    	if (DebugLog.ENABLED) DebugLog.d(tag,"minx="+minx+" maxx="+maxx);
+    	if (DebugLog.ENABLED) DebugLog.d(tag,"miny="+miny+" maxy="+maxy);
+    	if (DebugLog.ENABLED) DebugLog.d(tag,"sumy="+sumy+" size="+yNumbers.size()+" average="+average);
 
         // create a new series from the x and y axis numbers
     	String title = "";
@@ -348,46 +345,50 @@ public class OdometerPlot implements OnSharedPreferenceChangeListener {
     }
     
 	/**
-	 * Called when one or more plot preferences have changed.
-	 * @see android.content.SharedPreferences.OnSharedPreferenceChangeListener#onSharedPreferenceChanged(android.content.SharedPreferences, java.lang.String)
+	 * Called when one or more plot preferences have changed. 
+	 * Updates and redraws the plot once for the whole batch of changes.
+	 * @see com.github.wdkapps.fillup.SettingsCoordinator.Listener#onSettingsChanged(java.util.Set)
 	 */
 	@Override
-	public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+	public void onSettingsChanged(Set<String> keys) {
 		
-		if (key.equals(Settings.KEY_PLOT_DATE_RANGE)) {
-			// plot date range changed
-			redrawPlot();
-		} 
-			
-		if (key.equals(Settings.KEY_PLOT_FONT_SIZE)) {
-			// plot font size changed
-			redrawPlot();
-        }
-		
-		if (key.equals(Settings.KEY_UNITS)) {
+		if (keys.contains(Settings.KEY_UNITS)) {
 			
 	        // get new units of measurement
-	        units = new Units(Settings.KEY_UNITS);
+	        units = SettingsSnapshot.getInstance().getUnits();
 	        
 	        // update the plot to reflect new units
 	        plot.setRangeLabel(units.getDistanceLabel());
-
-	        // redraw the plot
+		}
+		
+		// redraw the plot if plot date range, font size, or units changed
+		if (keys.contains(Settings.KEY_PLOT_DATE_RANGE) ||
+			keys.contains(Settings.KEY_PLOT_FONT_SIZE) ||
+			keys.contains(Settings.KEY_UNITS)) {
 			redrawPlot();
 		}
 
 	}
 	
-	/**
-     * Sets the height of the plot view.
-     * @param height The height in pixels.
+    /**
+     * Removes all data series from the plot view to free memory.
+     * @see com.github.wdkapps.fillup.DataPlot#release()
      */
-    public void setHeight(int height) {
-    	ViewGroup.LayoutParams params = plot.getLayoutParams();
-    	params.height = height;
-    	plot.setLayoutParams(params);
-    	plot.redraw();
+    public void release() {
+    	plot.clear();
     }
 
-}
+    /**
+     * Draws the data again after a release, reflecting current preferences.
+     * @see com.github.wdkapps.fillup.DataPlot#restore()
+     */
+    public void restore() {
+    	// get current units of measurement
+    	units = SettingsSnapshot.getInstance().getUnits();
+    	plot.setRangeLabel(units.getDistanceLabel());
+
+    	// draw the plot
+    	redrawPlot();
+    }
 
+}
@@ -0,0 +1,97 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+/**
+ * Represents trip totals for a period of time: distance driven, gasoline 
+ * purchased and its cost, along with the distance and gasoline used in 
+ * mileage calculations completed during the period.
+ */
+public class PeriodTotals {
+	
+	/// the distance driven
+	private final int distance;
+	
+	/// the amount of gasoline purchased
+	private final float gallons;
+	
+	/// the cost of the gasoline purchased
+	private final double cost;
+	
+	/// the mileage calculation totals for the period
+	private final MileageCalculation calculation;
+	
+	/**
+	 * Constructs an instance of PeriodTotals.
+	 * @param distance The distance driven.
+	 * @param gallons The amount of gasoline purchased.
+	 * @param cost The cost of the gasoline purchased.
+	 * @param calculation Mileage calculation totals for the period.
+	 */
+	public PeriodTotals(int distance, float gallons, double cost, MileageCalculation calculation) {
+		this.distance = distance;
+		this.gallons = gallons;
+		this.cost = cost;
+		this.calculation = calculation;
+	}
+
+	/**
+	 * Getter method for the distance attribute.
+	 * @return The distance driven during the period.
+	 */
+	public int getDistance() {
+		return distance;
+	}
+
+	/**
+	 * Getter method for the gallons attribute.
+	 * @return The amount of gas purchased during the period.
+	 */
+	public float getGallons() {
+		return gallons;
+	}
+
+	/**
+	 * Getter method for the cost attribute.
+	 * @return The total cost of gas purchased during the period.
+	 */
+	public double getCost() {
+		return cost;
+	}
+	
+	/**
+	 * Getter method for average price per gallon paid for fuel
+	 * over the period.
+	 * @return The price of fuel per gallon (0 if no fuel purchased).
+	 */
+	public double getPrice() {
+		return (gallons > 0) ? cost/gallons : 0d;
+	}
+	
+	/**
+	 * Returns the overall mileage for calculations completed during 
+	 * the period.
+	 * @return The mileage (0 if no calculations completed).
+	 */
+	public float getMileage() {
+		return calculation.getMileage();
+	}
+
+}
@@ -19,29 +19,36 @@
 
 package com.github.wdkapps.fillup;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import com.androidplot.xy.XYPlot;
 
 import android.app.Activity;
 import android.content.Intent;
-import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.os.Bundle;
-import android.preference.PreferenceManager;
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.View;
+import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
+import android.view.ViewTreeObserver.OnScrollChangedListener;
 import android.widget.ScrollView;
 import android.widget.TextView;
 
 /**
  * Implements a group of tabs containing plots for economy, 
  * gasoline purchased, and distance driven statistics.
+ * <p>
+ * NOTE: 
+ * Only the plots that are scrolled into (or near) view are created and 
+ * drawn. Plots that are off screen release their data when memory is low, 
+ * and are drawn again when scrolled back into view.
  */
-public class PlotActivity extends Activity implements OnSharedPreferenceChangeListener {
+public class PlotActivity extends Activity implements SettingsCoordinator.Listener, OnScrollChangedListener, TagDialog.Listener {
 	
 	/// a tag string for debug logging (the name of this class)
 	@SuppressWarnings("unused")
@@ -51,7 +58,7 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
 	/// gas records for this vehicle are the data that is plotted 
 	public final static String VEHICLE = PlotActivity.class.getName() + ".VEHICLE";
 	
-	/// the data to plot
+	/// the data to plot (records with the selected tag, sorted by date)
 	public static List<GasRecord> records = null;
 	
 	/// the data aggregated per month
@@ -60,18 +67,57 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
 	/// the vehicle to display gas records for (obtained via Intent)
 	private Vehicle vehicle;
 	
-    /// the plots
-    private MileagePlot plotMileage = new MileagePlot();
-    private OdometerPlot plotOdometer = new OdometerPlot();
-    private GallonsPlot plotGallons = new GallonsPlot();
-    private CostPlot plotCost = new CostPlot();
-    private PricePlot plotPrice = new PricePlot();
+	/// all records for the vehicle, sorted by odometer value
+	private List<GasRecord> allRecords;
+	
+	/// the tag the plots are limited to (null = all records)
+	private String tag = null;
+	
+	/// ids of the records with the selected tag (null = all records)
+	private Set<Integer> tagged = null;
+	
+    /// the plots (in the order they appear in the layout)
+    private List<LazyPlot> plots = new ArrayList<LazyPlot>();
     
 	/// buttons for selection of range of data to evaluate
 	@SuppressWarnings("unused")
 	private PlotDateRangeButtons rangeButtons;
 	
 	private ScrollView scrollview;
+	
+	/// saved instance state, passed to each plot when it is created
+	private Bundle savedInstanceState;
+	
+	/// plot height in pixels (zero until layout size is known)
+	private int plotHeight = 0;
+	
+	/**
+	 * Tracks the state of one plot managed by this Activity. 
+	 */
+	private static class LazyPlot {
+		
+		/// the plot
+		final DataPlot plot;
+		
+		/// the view managed by the plot
+		final XYPlot view;
+		
+		/// true once the plot has been created
+		boolean created = false;
+		
+		/// true if the plot data has been released to free memory
+		boolean released = false;
+		
+		/**
+		 * Constructs an instance of LazyPlot.
+		 * @param plot The plot.
+		 * @param view The view managed by the plot.
+		 */
+		LazyPlot(DataPlot plot, XYPlot view) {
+			this.plot = plot;
+			this.view = view;
+		}
+	}
 
     /**
      * Called when the Activity is created.
@@ -87,25 +133,22 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
         Intent intent = getIntent();
         vehicle = (Vehicle)intent.getSerializableExtra(VEHICLE);
         
-        // read the data from the gas log 
-        GasLog gaslog = GasLog.getInstance();
-        records = gaslog.readAllRecords(vehicle);
+        // read the data from the gas log (prefetched if available)
+        allRecords = RecordPrefetcher.getRecords(vehicle);
         
-        // calculate monthly totals
-        monthly = new MonthlyTrips(records);
-        
-        // sort gas records by date
-    	Collections.sort(records,new DateComparator());
+        // select the data to plot and calculate monthly totals
+        selectRecords();
 
     	// initialize the plot range buttons
     	rangeButtons = new PlotDateRangeButtons(this,Settings.KEY_PLOT_DATE_RANGE);
     	
-        // create plots
-    	plotMileage.onCreate(savedInstanceState,this,(XYPlot)findViewById(R.id.xyMileagePlot));
-    	plotOdometer.onCreate(savedInstanceState,this,(XYPlot)findViewById(R.id.xyOdometerPlot));
-    	plotGallons.onCreate(savedInstanceState,this,(XYPlot)findViewById(R.id.xyGallonsPlot));
-    	plotCost.onCreate(savedInstanceState,this,(XYPlot)findViewById(R.id.xyCostPlot));
-    	plotPrice.onCreate(savedInstanceState,this,(XYPlot)findViewById(R.id.xyPricePlot));
+        // define plots - each is created when first scrolled near the screen
+    	this.savedInstanceState = savedInstanceState;
+    	plots.add(new LazyPlot(new MileagePlot(),(XYPlot)findViewById(R.id.xyMileagePlot)));
+    	plots.add(new LazyPlot(new OdometerPlot(),(XYPlot)findViewById(R.id.xyOdometerPlot)));
+    	plots.add(new LazyPlot(new GallonsPlot(),(XYPlot)findViewById(R.id.xyGallonsPlot)));
+    	plots.add(new LazyPlot(new CostPlot(),(XYPlot)findViewById(R.id.xyCostPlot)));
+    	plots.add(new LazyPlot(new PricePlot(),(XYPlot)findViewById(R.id.xyPricePlot)));
 
 		// set font size for plot titles to reflect preferences
 		setTitlesFontSize();
@@ -116,26 +159,43 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
 		vto.addOnGlobalLayoutListener(new OnGlobalLayoutListener() {
 	        @Override
 	        public void onGlobalLayout() {
-	        	int height = (scrollview.getHeight() * 85) / 100;
-	        	plotMileage.setHeight(height);
-	        	plotOdometer.setHeight(height);
-	        	plotGallons.setHeight(height);
-	        	plotCost.setHeight(height);
-	        	plotPrice.setHeight(height);
+	        	plotHeight = (scrollview.getHeight() * 85) / 100;
+	        	for (LazyPlot lazy : plots) {
+	        		setHeight(lazy.view,plotHeight);
+	        	}
 	        	// remove this listener or it will repeatedly run
 	        	ViewTreeObserver vto = scrollview.getViewTreeObserver();
 	        	if (vto.isAlive()) {
 	        		vto.removeGlobalOnLayoutListener (this);
 	        	}
+	        	// create visible plots once the new heights have been laid out
+	        	scrollview.post(new Runnable() {
+	        		@Override
+	        		public void run() {
+	        			createVisiblePlots();
+	        		}
+	        	});
 	        }
 	    });
 		
-        // setup to be notified when shared preferences change
-		SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(this);;
-		prefs.registerOnSharedPreferenceChangeListener(this);
+		// create plots as they are scrolled into view
+		vto.addOnScrollChangedListener(this);
+		
+        // setup to be notified when settings change
+		SettingsCoordinator.getInstance().register(this);
 
     }
 
+	/**
+	 * Called when the Activity is being destroyed.
+	 * @see android.app.Activity#onDestroy()
+	 */
+	@Override
+	protected void onDestroy() {
+		SettingsCoordinator.getInstance().unregister(this);
+		super.onDestroy();
+	}
+
 	/**
      * Initialize the contents of the Activity's standard options menu. 
      * @see android.app.Activity#onCreateOptionsMenu(android.view.Menu)
@@ -146,6 +206,17 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
         return true;
     }
     
+    /**
+     * Prepare the standard options menu to be displayed.
+     * @see android.app.Activity#onPrepareOptionsMenu(android.view.Menu)
+     */
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+    	MenuItem itemTag = menu.findItem(R.id.itemTag);
+    	itemTag.setChecked(tag != null);
+    	return super.onPrepareOptionsMenu(menu);
+    }
+    
     /**
      * Called when an item in the options menu is selected.
      * @see android.app.Activity#onOptionsItemSelected(android.view.MenuItem)
@@ -155,6 +226,15 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
 
     	switch (item.getItemId()) {
     	
+    	case R.id.itemTag:
+    		List<String> tags = GasLog.getInstance().readTags(vehicle);
+    		if (tags.isEmpty()) {
+    			Utilities.toast(this,getString(R.string.toast_no_tags));
+    		} else {
+    			TagDialog.create(this,this,R.id.itemTag,tags,tag).show();
+    		}
+    		return true;
+    	
     	case R.id.itemSettings:
     		Intent intent = new Intent(this,Settings.class);
     		startActivity(intent);
@@ -167,30 +247,144 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
     }
     
 	/**
-	 * Called when one or more shared preferences have changed.
-	 * @see android.content.SharedPreferences.OnSharedPreferenceChangeListener#onSharedPreferenceChanged(android.content.SharedPreferences, java.lang.String)
+	 * Called when one or more settings have changed. Recalculates the data 
+	 * once for the batch of changes and then notifies each plot once.
+	 * @see com.github.wdkapps.fillup.SettingsCoordinator.Listener#onSettingsChanged(java.util.Set)
 	 */
 	@Override
-	public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+	public void onSettingsChanged(Set<String> keys) {
 		
 		// update the data to reflect new units
-		if (key.equals(Settings.KEY_UNITS)) {
-        	GasRecordList.calculateMileage(records);
-            monthly = new MonthlyTrips(records);
+		if (keys.contains(Settings.KEY_UNITS)) {
+        	GasRecordList.calculateMileage(allRecords);
+        	selectRecords();
 		}
 		
 		// update title font size
-		if (key.equals(Settings.KEY_PLOT_FONT_SIZE)) {
+		if (keys.contains(Settings.KEY_PLOT_FONT_SIZE)) {
         	setTitlesFontSize();
 		}
 		
 		// notify plots that preferences have changed
-		plotMileage.onSharedPreferenceChanged(sharedPreferences,key);
-		plotOdometer.onSharedPreferenceChanged(sharedPreferences,key);
-		plotGallons.onSharedPreferenceChanged(sharedPreferences,key);
-		plotCost.onSharedPreferenceChanged(sharedPreferences,key);
-		plotPrice.onSharedPreferenceChanged(sharedPreferences,key);
+		// note: plots not yet created or released will reflect changes when drawn
+		for (LazyPlot lazy : plots) {
+			if (lazy.created && !lazy.released) {
+				lazy.plot.onSettingsChanged(keys);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Called when the user selects a tag. Limits the plots to the records 
+	 * with the selected tag (or all records) and redraws them.
+	 * @see com.github.wdkapps.fillup.TagDialog.Listener#onTagDialogResponse(int, java.lang.String)
+	 */
+	@Override
+	public void onTagDialogResponse(int id, String tag) {
+		this.tag = tag;
+		tagged = (tag == null) ? null : GasLog.getInstance().readRecordIds(new RecordQuery().setVehicle(vehicle).setTag(tag));
+		selectRecords();
+		
+		// note: plots not yet created or released will reflect the change when drawn
+		for (LazyPlot lazy : plots) {
+			if (lazy.created && !lazy.released) {
+				lazy.plot.restore();
+			}
+		}
+	}
+	
+	/**
+	 * Selects the records to plot (those with the selected tag) and 
+	 * calculates the monthly totals for them. Trips are derived from all 
+	 * records, so each selected record is the end of the same trip as when 
+	 * all records are plotted.
+	 */
+	private void selectRecords() {
+		
+        // calculate monthly totals
+		monthly = new MonthlyTrips(allRecords,tagged);
+		
+		records = new ArrayList<GasRecord>(allRecords.size());
+		for (GasRecord record : allRecords) {
+			if (MonthlyTrips.isSelected(record,tagged)) {
+				records.add(record);
+			}
+		}
 		
+        // sort gas records by date
+    	Collections.sort(records,new DateComparator());
+	}
+	
+	/**
+	 * Called when the plots are scrolled. Creates any plots that have
+	 * been scrolled into (or near) view.
+	 * @see android.view.ViewTreeObserver.OnScrollChangedListener#onScrollChanged()
+	 */
+	@Override
+	public void onScrollChanged() {
+		createVisiblePlots();
+	}
+	
+	/**
+	 * Called when the system is running low on memory. Releases the data 
+	 * for plots that are not currently in (or near) view.
+	 * @see android.app.Activity#onLowMemory()
+	 */
+	@Override
+	public void onLowMemory() {
+		super.onLowMemory();
+		for (LazyPlot lazy : plots) {
+			if (lazy.created && !lazy.released && !isNearViewport(lazy.view)) {
+				lazy.plot.release();
+				lazy.released = true;
+			}
+		}
+	}
+	
+	/**
+	 * Creates (or restores) each plot that is currently in or near 
+	 * the visible portion of the scroll view.
+	 */
+	private void createVisiblePlots() {
+		
+		// wait until layout size is known
+		if (plotHeight == 0) return;
+		
+		for (LazyPlot lazy : plots) {
+			if (!isNearViewport(lazy.view)) continue;
+			if (!lazy.created) {
+				lazy.plot.onCreate(savedInstanceState,this,lazy.view);
+				lazy.created = true;
+			} else if (lazy.released) {
+				lazy.plot.restore();
+				lazy.released = false;
+			}
+		}
+	}
+	
+	/**
+	 * Determines if a view is within the visible portion of the scroll 
+	 * view, or within half a screen above or below it.
+	 * @param view The view to test.
+	 * @return true if the view is in or near the visible area.
+	 */
+	private boolean isNearViewport(View view) {
+		int margin = scrollview.getHeight() / 2;
+		int top = scrollview.getScrollY() - margin;
+		int bottom = scrollview.getScrollY() + scrollview.getHeight() + margin;
+		return (view.getBottom() >= top) && (view.getTop() <= bottom);
+	}
+	
+    /**
+     * Sets the height of a plot view without drawing it.
+     * @param view The plot view.
+     * @param height The height in pixels.
+     */
+	private void setHeight(View view, int height) {
+    	ViewGroup.LayoutParams params = view.getLayoutParams();
+    	params.height = height;
+    	view.setLayoutParams(params);
 	}
 	
     /**
@@ -198,7 +392,7 @@ public class PlotActivity extends Activity implements OnSharedPreferenceChangeLi
      * preferences.
      */
     private void setTitlesFontSize() {
-    	PlotFontSize size = new PlotFontSize(this,Settings.KEY_PLOT_FONT_SIZE);
+    	PlotFontSize size = SettingsSnapshot.getInstance().getPlotFontSize();
     	float sizeTitle = size.getSizeDp() + 2.0f;
     	TextView title;
     	title = (TextView)findViewById(R.id.titleMileagePlot);
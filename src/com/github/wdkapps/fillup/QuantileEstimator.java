@@ -0,0 +1,198 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+/**
+ * Estimates a quantile of a stream of values in a single pass, using 
+ * constant memory. The first values are kept (sorted), so the quantile
+ * is exact for a small number of values, such as the months of a typical
+ * date range. Beyond that the estimate is maintained with the P-Square 
+ * algorithm (Jain and Chlamtac, "The P-Square Algorithm for Dynamic 
+ * Calculation of Quantiles and Histograms Without Storing Observations", 
+ * CACM 28(10), 1985), with the markers initialized from the kept values.
+ */
+public class QuantileEstimator {
+	
+	/// number of values kept for an exact result
+	static final int EXACT = 64;
+	
+	/// number of markers used by the algorithm
+	private static final int MARKERS = 5;
+
+	/// the quantile to estimate (0 to 1)
+	private final double p;
+	
+	/// the first values added, sorted
+	private final double[] values = new double[EXACT];
+	
+	/// marker heights
+	private final double[] q = new double[MARKERS];
+	
+	/// actual marker positions
+	private final int[] n = new int[MARKERS];
+	
+	/// desired marker positions
+	private final double[] desired = new double[MARKERS];
+	
+	/// increments to the desired marker positions for each value added
+	private final double[] increment = new double[MARKERS];
+	
+	/// number of values added
+	private int count = 0;
+	
+	/**
+	 * Constructs an instance of QuantileEstimator.
+	 * @param p The quantile to estimate (example: 0.5 for the median).
+	 */
+	public QuantileEstimator(double p) {
+		this.p = p;
+	}
+	
+	/**
+	 * Adds a value to the stream.
+	 * @param x The value to add.
+	 */
+	public void add(double x) {
+		
+		// keep the first values (insertion into the sorted array)
+		if (count < EXACT) {
+			int i = count++;
+			while ((i > 0) && (values[i-1] > x)) {
+				values[i] = values[i-1];
+				i--;
+			}
+			values[i] = x;
+			if (count == EXACT) {
+				initialize();
+			}
+			return;
+		}
+		count++;
+		
+		// find cell k containing the value, adjusting extreme markers
+		int k;
+		if (x < q[0]) {
+			q[0] = x;
+			k = 0;
+		} else if (x >= q[MARKERS-1]) {
+			q[MARKERS-1] = x;
+			k = MARKERS-2;
+		} else {
+			k = 0;
+			while (x >= q[k+1]) k++;
+		}
+		
+		// increment positions of markers above the value
+		for (int i = k+1; i < MARKERS; i++) {
+			n[i]++;
+		}
+		for (int i = 0; i < MARKERS; i++) {
+			desired[i] += increment[i];
+		}
+		
+		// adjust heights of the middle markers if necessary
+		for (int i = 1; i < MARKERS-1; i++) {
+			double d = desired[i] - n[i];
+			if (((d >= 1) && (n[i+1] - n[i] > 1)) || ((d <= -1) && (n[i-1] - n[i] < -1))) {
+				int s = (d >= 0) ? 1 : -1;
+				double height = parabolic(i,s);
+				if ((q[i-1] < height) && (height < q[i+1])) {
+					q[i] = height;
+				} else {
+					q[i] = linear(i,s);
+				}
+				n[i] += s;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of values added.
+	 * @return The count.
+	 */
+	public int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Returns the quantile of the values added: exact while the values 
+	 * are kept, estimated thereafter.
+	 * @return The quantile, or NaN if no values have been added.
+	 */
+	public double getValue() {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (count <= EXACT) {
+			return values[(int)Math.round(p * (count-1))];
+		}
+		return q[MARKERS/2];
+	}
+	
+	/**
+	 * Initializes the markers from the kept values: the minimum, the 
+	 * maximum, the quantile, and the quantiles half way to each extreme.
+	 */
+	private void initialize() {
+		int last = count - 1;
+		desired[0] = 0;
+		desired[1] = last * p / 2;
+		desired[2] = last * p;
+		desired[3] = last * (1 + p) / 2;
+		desired[4] = last;
+		increment[0] = 0;
+		increment[1] = p/2;
+		increment[2] = p;
+		increment[3] = (1+p)/2;
+		increment[4] = 1;
+		
+		// marker positions must be distinct and ascending
+		for (int i = 0; i < MARKERS; i++) {
+			int position = (int)Math.round(desired[i]);
+			if (i > 0) position = Math.max(position,n[i-1] + 1);
+			position = Math.min(position,last - (MARKERS-1-i));
+			n[i] = position;
+			q[i] = values[position];
+		}
+	}
+	
+	/**
+	 * Calculates a marker height using piecewise parabolic prediction.
+	 * @param i The marker index.
+	 * @param s The direction (+1 or -1) the marker is being moved.
+	 * @return The predicted height.
+	 */
+	private double parabolic(int i, int s) {
+		return q[i] + (double)s / (n[i+1] - n[i-1]) * 
+				((n[i] - n[i-1] + s) * (q[i+1] - q[i]) / (n[i+1] - n[i]) + 
+				 (n[i+1] - n[i] - s) * (q[i] - q[i-1]) / (n[i] - n[i-1]));
+	}
+	
+	/**
+	 * Calculates a marker height using linear prediction.
+	 * @param i The marker index.
+	 * @param s The direction (+1 or -1) the marker is being moved.
+	 * @return The predicted height.
+	 */
+	private double linear(int i, int s) {
+		return q[i] + s * (q[i+s] - q[i]) / (n[i+s] - n[i]);
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import android.util.Log;
+
+/**
+ * Reads the gas records for a vehicle (with mileage calculated) in the 
+ * background, ahead of the Activity that needs them. An Activity obtains
+ * the records via getRecords(), which returns the prefetched result if it 
+ * is still current, waits for the read if it is in progress, or reads
+ * the records itself otherwise.
+ * <p>
+ * NOTE: 
+ * A prefetched result is handed to only one caller, because the caller 
+ * owns (and may modify) the returned list. A result that is not taken is
+ * discarded when the log data changes (see invalidate()).
+ */
+public class RecordPrefetcher {
+	
+	/// a tag string for debug logging (the name of this class)
+	private static final String TAG = RecordPrefetcher.class.getName();
+
+	/// a single background thread for reading records
+	private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+	
+	/// the pending or completed read (null if none)
+	private static Future<List<GasRecord>> future = null;
+	
+	/// identifies the data the pending read is for (see getKey())
+	private static String key = null;
+	
+	/**
+	 * Determines whether a read of the current records for a vehicle is 
+	 * pending (or completed and not yet taken).
+	 * @param vehicle The Vehicle.
+	 * @return true if a prefetch would have nothing to do.
+	 */
+	public static synchronized boolean isPending(Vehicle vehicle) {
+		return (future != null) && getKey(vehicle).equals(key);
+	}
+	
+	/**
+	 * Starts reading the records for a vehicle in the background, unless
+	 * a read for the same data is already pending. 
+	 * @param vehicle The Vehicle to read records for.
+	 */
+	public static synchronized void prefetch(final Vehicle vehicle) {
+		String wanted = getKey(vehicle);
+		if (wanted.equals(key)) return;
+		
+		// abandon a read for other data (if not yet started)
+		if (future != null) {
+			future.cancel(false);
+		}
+		
+		FutureTask<List<GasRecord>> task = new FutureTask<List<GasRecord>>(new Callable<List<GasRecord>>() {
+			@Override
+			public List<GasRecord> call() throws Exception {
+				return GasLog.getInstance().readAllRecords(vehicle);
+			}
+		});
+		future = task;
+		key = wanted;
+		executor.execute(task);
+		
+		if (DebugLog.ENABLED) DebugLog.d(TAG,"prefetch " + wanted);
+	}
+
+	/**
+	 * Returns the gas records for a vehicle, with mileage calculated,
+	 * sorted by odometer value. 
+	 * @param vehicle The Vehicle to read records for.
+	 * @return A List of GasRecords owned by the caller.
+	 */
+	public static List<GasRecord> getRecords(Vehicle vehicle) {
+		Future<List<GasRecord>> pending = take(getKey(vehicle));
+		if (pending != null) {
+			try {
+				return pending.get();
+			} catch (Throwable t) {
+				Log.e(TAG,"prefetch failed",t);
+			}
+		}
+		return GasLog.getInstance().readAllRecords(vehicle);
+	}
+	
+	/**
+	 * Discards any pending or completed read, so that a result that is no 
+	 * longer wanted (ie. the log data has changed) is not retained.
+	 */
+	public static synchronized void invalidate() {
+		if (future != null) {
+			future.cancel(false);
+			future = null;
+			key = null;
+		}
+	}
+	
+	/**
+	 * Removes and returns the pending read if it is for the specified data.
+	 * @param wanted Identifies the data wanted (see getKey()).
+	 * @return The pending read, or null if none is pending for the data.
+	 */
+	private static synchronized Future<List<GasRecord>> take(String wanted) {
+		if ((future == null) || !wanted.equals(key) || future.isCancelled()) {
+			return null;
+		}
+		Future<List<GasRecord>> pending = future;
+		future = null;
+		key = null;
+		return pending;
+	}
+	
+	/**
+	 * Returns a key that identifies the records for a vehicle given the 
+	 * current gas log data and units of measurement (which determine the 
+	 * mileage calculations).
+	 * @param vehicle The Vehicle.
+	 * @return The key as a String.
+	 */
+	private static String getKey(Vehicle vehicle) {
+		Units units = SettingsSnapshot.getInstance().getUnits();
+		return vehicle.getID() + "|" + GasLog.getInstance().getDataVersion() + "|" + units.getValue();
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Date;
+
+/**
+ * Specifies a selection of gasoline records to read from the log: the 
+ * vehicle, a range of dates, a range of odometer values, full tank and 
+ * hidden calculation flags, a range of cost values, a tag (see NoteTags) 
+ * and/or words contained in the notes. A criterion that is not specified 
+ * (null) matches all records. Setter methods return the query, so the 
+ * criteria can be chained: 
+ * <pre>
+ * new RecordQuery().setVehicle(vehicle).setFullTank(true)
+ * </pre>
+ * The query is compiled by GasLog into an SQL selection with a parameter 
+ * for each criterion value. The SQL therefore depends only on which 
+ * criteria are specified, so the database can reuse the compiled statement 
+ * for every query of the same form.
+ */
+public class RecordQuery {
+	
+	/// vehicle id, null = all vehicles
+	private Integer vehicleId = null;
+	
+	/// start of date range (inclusive), null = no limit
+	private Date startDate = null;
+	
+	/// end of date range (exclusive), null = no limit
+	private Date endDate = null;
+	
+	/// minimum odometer value (inclusive), null = no limit
+	private Integer minimumOdometer = null;
+	
+	/// maximum odometer value (inclusive), null = no limit
+	private Integer maximumOdometer = null;
+	
+	/// full tank flag value, null = either
+	private Boolean fullTank = null;
+	
+	/// hidden calculation flag value, null = either
+	private Boolean hidden = null;
+	
+	/// minimum cost value (inclusive), null = no limit
+	private Double minimumCost = null;
+	
+	/// maximum cost value (inclusive), null = no limit
+	private Double maximumCost = null;
+	
+	/// tag (without the leading '#'), null = no limit
+	private String tag = null;
+	
+	/// text to search for in notes, null = no limit
+	private String notes = null;
+	
+	/**
+	 * Determines whether any criteria other than the vehicle have been 
+	 * specified.
+	 * @return true if the query selects all records of the vehicle.
+	 */
+	public boolean isEmpty() {
+		return (startDate == null) && (endDate == null) && 
+			   (minimumOdometer == null) && (maximumOdometer == null) &&
+			   (fullTank == null) && (hidden == null) && 
+			   (minimumCost == null) && (maximumCost == null) && 
+			   (tag == null) && (getNotesQuery() == null);
+	}
+
+	/**
+	 * Getter method for the vehicle id.
+	 * @return The vehicle id, or null if not specified.
+	 */
+	public Integer getVehicleId() {
+		return vehicleId;
+	}
+
+	/**
+	 * Setter method for the vehicle.
+	 * @param vehicle The Vehicle (must have an id), or null for all vehicles.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setVehicle(Vehicle vehicle) {
+		this.vehicleId = (vehicle == null) ? null : vehicle.getID();
+		return this;
+	}
+
+	/**
+	 * Getter method for the start of the date range.
+	 * @return The start Date (inclusive), or null if not specified.
+	 */
+	public Date getStartDate() {
+		return startDate;
+	}
+
+	/**
+	 * Getter method for the end of the date range.
+	 * @return The end Date (exclusive), or null if not specified.
+	 */
+	public Date getEndDate() {
+		return endDate;
+	}
+
+	/**
+	 * Setter method for the date range.
+	 * @param startDate The start Date (inclusive), or null for no limit.
+	 * @param endDate The end Date (exclusive), or null for no limit.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setDateRange(Date startDate, Date endDate) {
+		this.startDate = startDate;
+		this.endDate = endDate;
+		return this;
+	}
+
+	/**
+	 * Getter method for the minimum odometer value.
+	 * @return The minimum odometer value (inclusive), or null if not specified.
+	 */
+	public Integer getMinimumOdometer() {
+		return minimumOdometer;
+	}
+
+	/**
+	 * Getter method for the maximum odometer value.
+	 * @return The maximum odometer value (inclusive), or null if not specified.
+	 */
+	public Integer getMaximumOdometer() {
+		return maximumOdometer;
+	}
+
+	/**
+	 * Setter method for the range of odometer values.
+	 * @param minimumOdometer The minimum value (inclusive), or null for no limit.
+	 * @param maximumOdometer The maximum value (inclusive), or null for no limit.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setOdometerRange(Integer minimumOdometer, Integer maximumOdometer) {
+		this.minimumOdometer = minimumOdometer;
+		this.maximumOdometer = maximumOdometer;
+		return this;
+	}
+
+	/**
+	 * Getter method for the full tank criteria.
+	 * @return The full tank flag value to match, or null if not specified.
+	 */
+	public Boolean getFullTank() {
+		return fullTank;
+	}
+
+	/**
+	 * Setter method for the full tank criteria.
+	 * @param fullTank The full tank flag value to match, or null for either.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setFullTank(Boolean fullTank) {
+		this.fullTank = fullTank;
+		return this;
+	}
+
+	/**
+	 * Getter method for the hidden calculation criteria.
+	 * @return The hidden calculation flag value to match, or null if not specified.
+	 */
+	public Boolean getHidden() {
+		return hidden;
+	}
+
+	/**
+	 * Setter method for the hidden calculation criteria.
+	 * @param hidden The hidden calculation flag value to match, or null for either.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setHidden(Boolean hidden) {
+		this.hidden = hidden;
+		return this;
+	}
+
+	/**
+	 * Getter method for the minimum cost.
+	 * @return The minimum cost (inclusive), or null if not specified.
+	 */
+	public Double getMinimumCost() {
+		return minimumCost;
+	}
+
+	/**
+	 * Getter method for the maximum cost.
+	 * @return The maximum cost (inclusive), or null if not specified.
+	 */
+	public Double getMaximumCost() {
+		return maximumCost;
+	}
+
+	/**
+	 * Setter method for the range of cost values.
+	 * @param minimumCost The minimum cost (inclusive), or null for no limit.
+	 * @param maximumCost The maximum cost (inclusive), or null for no limit.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setCostRange(Double minimumCost, Double maximumCost) {
+		this.minimumCost = minimumCost;
+		this.maximumCost = maximumCost;
+		return this;
+	}
+
+	/**
+	 * Getter method for the tag.
+	 * @return The tag (without the leading '#'), or null if not specified.
+	 */
+	public String getTag() {
+		return tag;
+	}
+
+	/**
+	 * Setter method for the tag.
+	 * @param tag The tag (without the leading '#'), or null for no limit.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setTag(String tag) {
+		this.tag = tag;
+		return this;
+	}
+
+	/**
+	 * Getter method for the notes search text.
+	 * @return The text as entered by the user, or null if not specified.
+	 */
+	public String getNotes() {
+		return notes;
+	}
+
+	/**
+	 * Returns the notes search text as a full text query.
+	 * @return The full text query String, or null if not specified.
+	 * @see #getFullTextQuery(String)
+	 */
+	public String getNotesQuery() {
+		return getFullTextQuery(notes);
+	}
+
+	/**
+	 * Setter method for the notes search text.
+	 * @param notes The text as entered by the user, or null for no limit.
+	 * @return This RecordQuery.
+	 */
+	public RecordQuery setNotes(String notes) {
+		this.notes = notes;
+		return this;
+	}
+
+	/**
+	 * Converts text entered by the user to a full text query. Each word 
+	 * entered becomes a prefix term (ie. "shell sta" matches notes 
+	 * containing "Shell Station"), and all terms must match. Characters 
+	 * with special meaning to the full text query syntax are ignored.
+	 * @param text The text as entered (can be null).
+	 * @return The full text query String, or null if there are no words.
+	 */
+	public static String getFullTextQuery(String text) {
+		
+		if (text == null) return null;
+		
+		StringBuilder query = new StringBuilder();
+		for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+			if (word.length() > 0) {
+				if (query.length() > 0) query.append(' ');
+				query.append(word).append('*');
+			}
+		}
+		
+		return (query.length() > 0) ? query.toString() : null;
+	}
+
+	/**
+	 * Returns a String describing the query (for debugging).
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "vid=" + vehicleId + " start=" + startDate + " end=" + endDate + 
+			   " odometer=" + minimumOdometer + ".." + maximumOdometer + 
+			   " fulltank=" + fullTank + " hidden=" + hidden + 
+			   " cost=" + minimumCost + ".." + maximumCost + 
+			   " tag=" + tag + " notes=" + getNotesQuery();
+	}
+
+}
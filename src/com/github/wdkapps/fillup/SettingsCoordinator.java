@@ -0,0 +1,168 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.os.Handler;
+import android.os.Looper;
+import android.preference.PreferenceManager;
+
+/**
+ * Coordinates reactions to shared preference changes. A single change (or a 
+ * burst of changes, such as several settings committed together) is collected 
+ * until the main thread's current message has been handled and then delivered 
+ * to each registered listener ONCE, as a set of changed keys. This allows a 
+ * listener to recalculate a dataset (mileage, monthly trips, reports, etc.) 
+ * once per batch and then refresh its dependent views once, rather than 
+ * reacting independently to each individual change.
+ */
+public class SettingsCoordinator {
+	
+	/**
+	 * Interface for notification of a batch of settings changes.
+	 */
+	public interface Listener {
+		
+		/**
+		 * Called on the main thread after one or more settings have changed.
+		 * The SettingsSnapshot reflects all of the changes.
+		 * @param keys The set of shared preference keys that changed.
+		 */
+		public void onSettingsChanged(Set<String> keys);
+	}
+	
+	/// the singleton instance
+	private static SettingsCoordinator instance = null;
+	
+	/// handler to deliver notifications on the main thread
+	private final Handler handler = new Handler(Looper.getMainLooper());
+	
+	/// registered listeners
+	private final List<Listener> listeners = new ArrayList<Listener>();
+	
+	/// keys that changed since listeners were last notified
+	private final Set<String> pending = new LinkedHashSet<String>();
+	
+	/// flag indicating that notification of the pending keys has been posted
+	private boolean scheduled = false;
+
+	/// listener for shared preference changes (strong reference required, see SharedPreferences)
+	private final OnSharedPreferenceChangeListener prefsListener = new OnSharedPreferenceChangeListener() {
+		@Override
+		public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+			schedule(key);
+		}
+	};
+	
+	/// delivers the pending changes to the listeners
+	private final Runnable flush = new Runnable() {
+		@Override
+		public void run() {
+			notifyListeners();
+		}
+	};
+	
+	/**
+	 * Constructs the singleton instance.
+	 */
+	private SettingsCoordinator() {
+		SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(App.getContext());
+		prefs.registerOnSharedPreferenceChangeListener(prefsListener);
+	}
+	
+	/**
+	 * Obtains the singleton instance of the SettingsCoordinator.
+	 * @return SettingsCoordinator instance.
+	 */
+	public static synchronized SettingsCoordinator getInstance() {
+		if (instance == null) {
+			instance = new SettingsCoordinator();
+		}
+		return instance;
+	}
+	
+	/**
+	 * Registers a listener to be notified of settings changes. 
+	 * NOTE: Listeners are strongly referenced and must unregister 
+	 * (ie. in Activity.onDestroy()).
+	 * @param listener The listener to register.
+	 */
+	public synchronized void register(Listener listener) {
+		if (!listeners.contains(listener)) {
+			listeners.add(listener);
+		}
+	}
+	
+	/**
+	 * Unregisters a listener.
+	 * @param listener The listener to unregister.
+	 */
+	public synchronized void unregister(Listener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Records a changed key and, for the first key of a batch, posts the 
+	 * notification of listeners. Changes made before the posted notification 
+	 * runs (ie. in the same pass of the message loop) join the batch, without
+	 * delaying it.
+	 * @param key The shared preference key that changed.
+	 */
+	private synchronized void schedule(String key) {
+		pending.add(key);
+		if (!scheduled) {
+			scheduled = true;
+			handler.post(flush);
+		}
+	}
+	
+	/**
+	 * Delivers the pending set of changed keys to each registered listener. 
+	 */
+	private void notifyListeners() {
+		
+		Set<String> keys;
+		List<Listener> targets;
+		synchronized (this) {
+			scheduled = false;
+			if (pending.isEmpty()) return;
+			keys = Collections.unmodifiableSet(new LinkedHashSet<String>(pending));
+			pending.clear();
+			targets = new ArrayList<Listener>(listeners);
+		}
+		
+		// rebuild the settings snapshot once for the whole batch
+		SettingsSnapshot.refresh();
+		
+		if (DebugLog.ENABLED) DebugLog.d(SettingsCoordinator.class.getName(),"changed="+keys);
+		
+		for (Listener listener : targets) {
+			listener.onSettingsChanged(keys);
+		}
+	}
+
+}
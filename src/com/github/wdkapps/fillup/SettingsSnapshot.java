@@ -0,0 +1,210 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.preference.PreferenceManager;
+
+/**
+ * An immutable snapshot of the application settings that are consulted 
+ * while calculating, plotting and displaying data. The snapshot is rebuilt 
+ * only when a shared preference changes, so that callers can obtain the 
+ * current Units, PlotDateRange, etc. without reading and parsing shared 
+ * preferences each time. The plot date range start/end dates are computed
+ * once per snapshot (and again when the current month ends).
+ */
+public class SettingsSnapshot {
+	
+	/// the current snapshot (replaced, never modified)
+	private static volatile SettingsSnapshot instance = null;
+	
+	/// listener to rebuild the snapshot (strong reference required, see SharedPreferences)
+	private static OnSharedPreferenceChangeListener listener = null;
+	
+	/// units of measurement
+	private final Units units;
+	
+	/// range of dates to plot/report
+	private final PlotDateRange plotDateRange;
+	
+	/// font size for plots
+	private final PlotFontSize plotFontSize;
+	
+	/// flag indicating whether cost must be entered for a gas record
+	private final boolean costRequired;
+	
+	/// flag indicating whether cost should be displayed in the gas log
+	private final boolean costDisplayable;
+	
+	/// flag indicating whether notes should be displayed in the gas log
+	private final boolean notesDisplayable;
+	
+	/// time (milliseconds) at which the plot date range becomes stale (next month)
+	private final long expires;
+
+	/**
+	 * Constructs a snapshot from the current shared preference values.
+	 * @param prefs The shared preferences to read.
+	 */
+	private SettingsSnapshot(SharedPreferences prefs) {
+		Context context = App.getContext();
+		units = new Units(getInt(prefs,Settings.KEY_UNITS));
+		plotDateRange = new PlotDateRange(context,getInt(prefs,Settings.KEY_PLOT_DATE_RANGE));
+		plotFontSize = new PlotFontSize(context,getInt(prefs,Settings.KEY_PLOT_FONT_SIZE));
+		costRequired = prefs.getBoolean(context.getString(R.string.pref_key_require_cost),true);
+		costDisplayable = prefs.getBoolean(context.getString(R.string.pref_key_display_cost),true);
+		notesDisplayable = prefs.getBoolean(context.getString(R.string.pref_key_display_notes),true);
+		expires = plotDateRange.getEndDate().getTime();
+	}
+	
+	/**
+	 * Returns the current settings snapshot, building it if necessary.
+	 * @return The current SettingsSnapshot.
+	 */
+	public static SettingsSnapshot getInstance() {
+		SettingsSnapshot snapshot = instance;
+		if ((snapshot == null) || (System.currentTimeMillis() >= snapshot.expires)) {
+			snapshot = rebuild();
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Rebuilds the snapshot from shared preferences if any preference 
+	 * reflected in the snapshot no longer matches its saved value. Listeners 
+	 * are notified of preference changes in no particular order, so any listener 
+	 * depending on the snapshot should call this method before using it. 
+	 * Rebuilding happens at most once per change. 
+	 */
+	public static void refresh() {
+		SettingsSnapshot snapshot = instance;
+		if ((snapshot != null) && !snapshot.matches(getPreferences())) {
+			rebuild();
+		}
+	}
+	
+	/**
+	 * Builds a new snapshot from the current shared preference values and
+	 * makes it the current snapshot.
+	 * @return The new SettingsSnapshot.
+	 */
+	private static synchronized SettingsSnapshot rebuild() {
+		SharedPreferences prefs = getPreferences();
+		if (listener == null) {
+			listener = new OnSharedPreferenceChangeListener() {
+				@Override
+				public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+					refresh();
+				}
+			};
+			prefs.registerOnSharedPreferenceChangeListener(listener);
+		}
+		SettingsSnapshot snapshot = new SettingsSnapshot(prefs);
+		instance = snapshot;
+		return snapshot;
+	}
+	
+	/**
+	 * Determines whether this snapshot reflects the current shared preference values.
+	 * @param prefs The shared preferences to compare against.
+	 * @return true if values match.
+	 */
+	private boolean matches(SharedPreferences prefs) {
+		Context context = App.getContext();
+		return (units.getValue() == getInt(prefs,Settings.KEY_UNITS)) &&
+			   (plotDateRange.getValue() == getInt(prefs,Settings.KEY_PLOT_DATE_RANGE)) &&
+			   (plotFontSize.getValue() == getInt(prefs,Settings.KEY_PLOT_FONT_SIZE)) &&
+			   (costRequired == prefs.getBoolean(context.getString(R.string.pref_key_require_cost),true)) &&
+			   (costDisplayable == prefs.getBoolean(context.getString(R.string.pref_key_display_cost),true)) &&
+			   (notesDisplayable == prefs.getBoolean(context.getString(R.string.pref_key_display_notes),true));
+	}
+	
+	/**
+	 * Returns the default shared preferences for the application.
+	 * @return SharedPreferences
+	 */
+	private static SharedPreferences getPreferences() {
+		return PreferenceManager.getDefaultSharedPreferences(App.getContext());
+	}
+
+	/**
+	 * Returns an integer valued preference stored as a String.
+	 * @param prefs The shared preferences to read.
+	 * @param key The name of the preference to retrieve. 
+	 * @return The preference value as an integer.
+	 */
+	private static int getInt(SharedPreferences prefs, String key) {
+		return Integer.parseInt(prefs.getString(key,"0"));
+	}
+	
+	/**
+	 * Getter method for the units of measurement.
+	 * @return Units
+	 */
+	public Units getUnits() {
+		return units;
+	}
+
+	/**
+	 * Getter method for the plot date range (start/end dates precomputed).
+	 * @return PlotDateRange
+	 */
+	public PlotDateRange getPlotDateRange() {
+		return plotDateRange;
+	}
+
+	/**
+	 * Getter method for the plot font size.
+	 * @return PlotFontSize
+	 */
+	public PlotFontSize getPlotFontSize() {
+		return plotFontSize;
+	}
+
+	/**
+	 * Returns flag to indicate whether entering a value for cost
+	 * is required when editing/creating a gas record.
+	 * @return true if cost entry is required.
+	 */
+	public boolean isCostRequired() {
+		return costRequired;
+	}
+
+	/**
+	 * Returns flag to indicate whether cost value should be
+	 * displayed in the gas log.
+	 * @return true if cost value should be displayed.
+	 */
+	public boolean isCostDisplayable() {
+		return costDisplayable;
+	}
+
+	/**
+	 * Returns flag to indicate whether notes value should be
+	 * displayed in the gas log.
+	 * @return true if notes value should be displayed.
+	 */
+	public boolean isNotesDisplayable() {
+		return notesDisplayable;
+	}
+
+}
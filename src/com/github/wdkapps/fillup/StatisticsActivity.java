@@ -1,246 +1,700 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.PrintStream;
-import java.util.List;
-
-import android.net.Uri;
-import android.os.Bundle;
-import android.preference.PreferenceManager;
-import android.app.Activity;
-import android.content.Intent;
-import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
-import android.util.Log;
-import android.view.Menu;
-import android.view.MenuItem;
-import android.view.View;
-import android.webkit.WebView;
-import android.webkit.WebViewClient;
-
-/**
- * Implements an Activity that calculates and displays statistics for 
- * gas record data for a specified vehicle.
- */
-public class StatisticsActivity extends Activity implements OnSharedPreferenceChangeListener
-{
-	/// key name for the Vehicle to pass via Intent
-	/// gas records for this vehicle are the data to gather statistics for 
-	public final static String VEHICLE = StatisticsActivity.class.getName() + ".VEHICLE";
-
-	/// the vehicle (obtained via Intent)
-	private Vehicle vehicle;
-	
-	/// the data to plot
-	public static List<GasRecord> records = null;
-
-	/// the data to display statistics for
-	private MonthlyTrips monthly;
-	
-	/// the Android WebView for display of statistics data
-	private WebView webview;
-	
-	/// buttons for selection of range of data to evaluate
-	private PlotDateRangeButtons rangeButtons;
-	
-	/// the report
-	private HtmlData report;
-	
-    /**
-     * Called when the Activity is created.
-     * @see android.app.ActivityGroup#onCreate(android.os.Bundle)
-     */
-	@Override
-	protected void onCreate(Bundle savedInstanceState) {
-		super.onCreate(savedInstanceState);
-		setContentView(R.layout.activity_statistics);
-		
-        // get the vehicle from Intent
-        Intent intent = getIntent();
-        vehicle = (Vehicle)intent.getSerializableExtra(VEHICLE);
-        
-        // read the data from the gas log 
-        GasLog gaslog = GasLog.getInstance();
-        records = gaslog.readAllRecords(vehicle);
-
-        // calculate monthly totals
-        monthly = new MonthlyTrips(records);
-        
-    	// initialize the layout
-    	rangeButtons = new PlotDateRangeButtons(this,Settings.KEY_PLOT_DATE_RANGE);
-		webview = (WebView)findViewById(R.id.webviewStats);
-    	webview.getSettings().setDefaultTextEncodingName("utf-8");
-    	webview.setScrollBarStyle(View.SCROLLBARS_INSIDE_OVERLAY);
-    	
-    	// automatically scroll to top of page when data changes
-    	webview.setWebViewClient(new WebViewClient() {
-    		public void onPageFinished(WebView view, String url) {
-    			view.scrollTo(0,0);
-    		}
-    	});
-    	
-        // setup to be notified when settings change (plot range)
-		SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(this);;
-		prefs.registerOnSharedPreferenceChangeListener(this);
-
-		// generate the report
-		generateReport();
-		
-		// display the report
-		displayReport();
-	}
-	
-	
-	/**
-	 * Generates the statistics report from the monthly data.
-	 */
-	private void generateReport() {
-    	String title = rangeButtons.getPlotDateRange().getSummary();
-    	report = new StatisticsReport(title,monthly);
-	}
-	
-	/**
-	 * Display a StatisticsReport for the current monthly data set in the WebView.
-	 */
-	private void displayReport() {
-       	webview.loadDataWithBaseURL(null, report.getHtml(), "text/html", "utf-8", null);
-	}
-
-	/**
-     * Initialize the contents of the Activity's standard options menu. 
-     * @see android.app.Activity#onCreateOptionsMenu(android.view.Menu)
-     */
-	@Override
-	public boolean onCreateOptionsMenu(Menu menu) {
-		getMenuInflater().inflate(R.menu.activity_statistics, menu);
-		return true;
-	}
-	
-    /**
-     * Called when an item in the options menu is selected.
-     * @see android.app.Activity#onOptionsItemSelected(android.view.MenuItem)
-     */
-    @Override
-    public boolean onOptionsItemSelected(MenuItem item) {
-    	
-    	switch (item.getItemId()) {
-
-    	case R.id.itemShare:
-    	   	if (ExternalStorage.isWritable()) {
-    	   		shareReport();
-        	} else {
-        		Utilities.toast(this,getString(R.string.toast_external_storage_not_writable));
-        	}
-    		return true;
-    		
-    	case R.id.itemSettings:
-    		Intent intent = new Intent(this,Settings.class);
-    		startActivity(intent);
-    		return true;
-    		
-    	default:
-    		return super.onOptionsItemSelected(item);
-    	}
-    }
-    
-    /**
-     * Return the name and path to a file for storage statistics report data.
-     * @return The File.
-     */
-    protected File getReportFile() {
-    	
-    	// get path to external storage directory 
-    	File dir = ExternalStorage.getPublicDownloadDirectory();
-    	
-    	// export file is named after vehicle and stored in external storage directory
-    	String format = getString(R.string.stats_report_filename);
-    	String file = String.format(App.getLocale(),format,vehicle.getName());
-    	return new File(dir,file);
-    }
-    
-    /**
-     * Creates a statistics report file containing the report html data.
-     * @param file The report File to create.
-     * @return true if file creation successful.
-     */
-    private boolean createReportFile(File file) {
-    	boolean status = false;
-    	PrintStream out = null;
-    	try {
-    		out = new PrintStream(new FileOutputStream(file));
-    		out.println(report.getHtml());
-    		status = true;
-    	} catch(Throwable t) {
-    		Log.e(getClass().getName(),"createReportFile() failed",t);
-    	} finally {
-    		if (out != null) out.close();
-    	}
-    	return status;
-    }
-    
-    /**
-     * Create a file containing statistics report data (HTML) and prompt
-     * the user for a method to share the file. 
-     */
-    private void shareReport() {
-    	
-    	File file = getReportFile();
-	
-    	if (!createReportFile(file)) {
-    		Utilities.toast(this,getString(R.string.toast_create_report_failed));
-    	}
-
-		Utilities.toast(this, file.getAbsolutePath());
-
-		Intent intent = new Intent(Intent.ACTION_SEND);
-		intent.setType("text/html");
-		intent.putExtra(Intent.EXTRA_STREAM,Uri.fromFile(file));
-		intent.putExtra(Intent.EXTRA_SUBJECT,file.getName());
-		intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_EXCLUDE_FROM_RECENTS);
-		startActivity(Intent.createChooser(intent, getString(R.string.title_chooser_share_html)));
-    }
-
-	/**
-	 * Called when a shared preference is changed, added, or removed.
-	 * @see android.content.SharedPreferences.OnSharedPreferenceChangeListener#onSharedPreferenceChanged(android.content.SharedPreferences, java.lang.String)
-	 */
-	@Override
-	public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
-		
-		// update the display when the plot date range changes
-		if (key.equals(Settings.KEY_PLOT_DATE_RANGE)) {
-			generateReport();
-			displayReport();
-		} 
-
-		// update the display when units of measurement change
-		if (key.equals(Settings.KEY_UNITS)) {
-        	GasRecordList.calculateMileage(records);
-            monthly = new MonthlyTrips(records);
-			generateReport();
-			displayReport();
-		} 
-		
-	}
-	
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import android.net.Uri;
+import android.os.AsyncTask;
+import android.os.Build;
+import android.os.Bundle;
+import android.app.Activity;
+import android.content.Intent;
+import android.util.Log;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.View;
+import android.webkit.JavascriptInterface;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+import android.widget.ProgressBar;
+
+/**
+ * Implements an Activity that calculates and displays statistics for 
+ * gas record data for a specified vehicle.
+ */
+public class StatisticsActivity extends Activity implements SettingsCoordinator.Listener, TagDialog.Listener
+{
+	/// key name for the Vehicle to pass via Intent
+	/// gas records for this vehicle are the data to gather statistics for 
+	public final static String VEHICLE = StatisticsActivity.class.getName() + ".VEHICLE";
+
+	/// the vehicle (obtained via Intent)
+	private Vehicle vehicle;
+	
+	/// the data to plot
+	public static List<GasRecord> records = null;
+
+	/// the data to display statistics for
+	private MonthlyTrips monthly;
+	
+	/// index of trip data for year over year comparison (created on demand)
+	private TripIndex index;
+	
+	/// the records and selection the index was created for
+	private List<GasRecord> indexRecords;
+	private Set<Integer> indexTagged;
+	
+	/// flag indicating whether the report compares with the prior year
+	private boolean compare = false;
+	
+	/// the tag the report is limited to (null = all records, grouped by tag)
+	private String tag = null;
+	
+	/// ids of the records with the selected tag (null = all records)
+	private Set<Integer> tagged = null;
+	
+	/// the Android WebView for display of statistics data
+	private WebView webview;
+	
+	/// buttons for selection of range of data to evaluate
+	private PlotDateRangeButtons rangeButtons;
+	
+	/// the report
+	private volatile StatisticsReport report;
+	
+	/// the date range of the report
+	private PlotDateRange reportRange;
+	
+	/// end of the period compared with the prior year (null if no comparison)
+	private Date reportCompareEnd;
+	
+	/// the report that the comparison and tag totals have been added to
+	private volatile StatisticsReport preparedReport;
+	
+	/// task writing the report to a file to share (null if none)
+	private ShareTask shareTask = null;
+	
+	/// flag indicating whether the report is displayed in pages loaded via a JavaScript
+	/// interface (see isBridgeSafe())
+	private boolean paged;
+	
+	/// the cache key for the report (identifies the report to the WebView page)
+	private volatile String reportKey;
+	
+	/// the report HTML for display
+	private String html;
+	
+	/// the background task generating the report (null if none)
+	private ReportTask task;
+	
+	/// progress indicator displayed while the report is generated
+	private ProgressBar progress;
+	
+    /**
+     * Called when the Activity is created.
+     * @see android.app.ActivityGroup#onCreate(android.os.Bundle)
+     */
+	@Override
+	protected void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		setContentView(R.layout.activity_statistics);
+		
+        // get the vehicle from Intent
+        Intent intent = getIntent();
+        vehicle = (Vehicle)intent.getSerializableExtra(VEHICLE);
+        
+        // read the data from the gas log (prefetched if available)
+        records = RecordPrefetcher.getRecords(vehicle);
+
+        // calculate monthly totals
+        monthly = new MonthlyTrips(records,tagged);
+        
+    	// initialize the layout
+    	rangeButtons = new PlotDateRangeButtons(this,Settings.KEY_PLOT_DATE_RANGE);
+		webview = (WebView)findViewById(R.id.webviewStats);
+		progress = (ProgressBar)findViewById(R.id.progressStats);
+    	webview.getSettings().setDefaultTextEncodingName("utf-8");
+    	webview.setScrollBarStyle(View.SCROLLBARS_INSIDE_OVERLAY);
+    	
+    	// the report page loads month tables as it is scrolled (otherwise the 
+    	// entire report is displayed and JavaScript remains disabled)
+    	paged = isBridgeSafe();
+    	if (paged) {
+    		webview.getSettings().setJavaScriptEnabled(true);
+    		webview.addJavascriptInterface(new ReportBridge(),StatisticsReport.BRIDGE);
+    	}
+    	
+    	// automatically scroll to top of page when data changes
+    	webview.setWebViewClient(new WebViewClient() {
+    		public void onPageFinished(WebView view, String url) {
+    			view.scrollTo(0,0);
+    		}
+    	});
+    	
+        // setup to be notified when settings change (plot range)
+		SettingsCoordinator.getInstance().register(this);
+
+		// generate and display the report
+		generateReport();
+	}
+	
+	/**
+	 * Called when the Activity is being destroyed.
+	 * @see android.app.Activity#onDestroy()
+	 */
+	@Override
+	protected void onDestroy() {
+		SettingsCoordinator.getInstance().unregister(this);
+		cancelReport();
+		super.onDestroy();
+	}
+	
+	/**
+	 * Generates the statistics report from the monthly data and displays 
+	 * it. The report HTML is obtained from the cache if it has been 
+	 * generated previously for the same data and settings. Otherwise it
+	 * is generated by a background task, abandoning any report that is 
+	 * already being generated.
+	 */
+	private void generateReport() {
+		cancelReport();
+		PlotDateRange range = rangeButtons.getPlotDateRange();
+		String title = range.getSummary();
+		if (tag != null) {
+			title = NoteTags.getLabel(tag) + " " + title;
+		}
+    	report = new StatisticsReport(title,monthly);
+    	reportRange = range;
+    	reportCompareEnd = compare ? getComparisonEnd() : null;
+    	String key = StatisticsReportCache.getKey(vehicle,range,reportCompareEnd,tag);
+    	reportKey = key;
+    	html = StatisticsReportCache.get(key);
+    	if (html != null) {
+    		displayReport();
+    	} else {
+    		progress.setVisibility(View.VISIBLE);
+    		task = new ReportTask(report,key,range,reportCompareEnd,records,tagged);
+    		task.execute();
+    	}
+	}
+	
+	/**
+	 * Returns the end of the period compared with the prior year: the end of 
+	 * today, so the comparison (and the cached report) is the same all day.
+	 * @return The Date (midnight at the start of tomorrow).
+	 */
+	private Date getComparisonEnd() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(Calendar.HOUR_OF_DAY,0);
+		calendar.set(Calendar.MINUTE,0);
+		calendar.set(Calendar.SECOND,0);
+		calendar.set(Calendar.MILLISECOND,0);
+		calendar.add(Calendar.DAY_OF_MONTH,1);
+		return calendar.getTime();
+	}
+	
+	/**
+	 * Adds the data that is expensive to calculate to a report: the 
+	 * comparison with the prior year (if any) and, when the report is not 
+	 * limited to a tag, the totals for each tag. Called by the background 
+	 * task generating the report, or by the task sharing it. The report is 
+	 * prepared only once, even if both tasks are running.
+	 * @param report The report.
+	 * @param range The date range of the report.
+	 * @param compareEnd End of the period to compare with the prior year (null if none).
+	 * @param records The records the report is derived from.
+	 * @param tagged Ids of the records with the selected tag (null = all records).
+	 */
+	private void prepareReport(StatisticsReport report, PlotDateRange range, Date compareEnd, 
+			List<GasRecord> records, Set<Integer> tagged) {
+		synchronized (report) {
+			if (preparedReport == report) return;
+			if (compareEnd != null) {
+				setComparison(report,range,compareEnd,getIndex(records,tagged));
+			}
+			if (tagged == null) {
+				RecordQuery query = new RecordQuery()
+					.setVehicle(vehicle)
+					.setDateRange(range.getStartDate(),range.getEndDate());
+				report.setTagTotals(GasLog.getInstance().readTagTotals(query));
+			}
+			preparedReport = report;
+		}
+	}
+	
+	/**
+	 * Returns the index of trip data for a set of records, creating it if 
+	 * the index does not exist or was created for other records.
+	 * @param records The records to index.
+	 * @param tagged Ids of the records with the selected tag (null = all records).
+	 * @return The TripIndex.
+	 */
+	private synchronized TripIndex getIndex(List<GasRecord> records, Set<Integer> tagged) {
+		if ((index == null) || (indexRecords != records) || (indexTagged != tagged)) {
+			index = new TripIndex(records,tagged);
+			indexRecords = records;
+			indexTagged = tagged;
+		}
+		return index;
+	}
+	
+	/**
+	 * Adds a comparison of the selected date range (up to the end of today) 
+	 * with the same period in the prior year to a report.
+	 * @param report The report.
+	 * @param range The selected date range.
+	 * @param end The end of the period to compare.
+	 * @param index The index of trip data.
+	 */
+	private void setComparison(StatisticsReport report, PlotDateRange range, Date end, TripIndex index) {
+		
+		Date start = range.getStartDate();
+		
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(start);
+		calendar.add(Calendar.YEAR,-1);
+		Date priorStart = calendar.getTime();
+		calendar.setTime(end);
+		calendar.add(Calendar.YEAR,-1);
+		Date priorEnd = calendar.getTime();
+		
+		report.setComparison(index.getTotals(start,end),index.getTotals(priorStart,priorEnd));
+	}
+	
+	/**
+	 * Cancels the background task generating the report (if any).
+	 */
+	private void cancelReport() {
+		if (task != null) {
+			task.abandon();
+			task = null;
+		}
+	}
+	
+	/**
+	 * Display a StatisticsReport for the current monthly data set in the WebView.
+	 */
+	private void displayReport() {
+		if (shareTask == null) progress.setVisibility(View.GONE);
+       	webview.loadDataWithBaseURL(null, html, "text/html", "utf-8", null);
+	}
+	
+	/**
+	 * Determines whether a JavaScript interface can be registered with the
+	 * WebView safely. Only methods annotated with @JavascriptInterface are 
+	 * exposed to the page when both the platform and the application's
+	 * target SDK are API 17 or later; otherwise every public method of the
+	 * interface object (including getClass()) is reachable from script.
+	 * @return true if the JavaScript interface is restricted to annotated methods.
+	 */
+	private boolean isBridgeSafe() {
+		final int JELLY_BEAN_MR1 = Build.VERSION_CODES.JELLY_BEAN_MR1;
+		return (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) &&
+				(getApplicationInfo().targetSdkVersion >= JELLY_BEAN_MR1);
+	}
+	
+	/**
+	 * A background task that generates the HTML for the first page of a
+	 * report (or the entire report if not paged), caches it, and displays 
+	 * it when complete.
+	 */
+	private class ReportTask extends AsyncTask<Void,Void,String> {
+		
+		/// the report to generate
+		private final StatisticsReport report;
+		
+		/// the cache key for the report
+		private final String key;
+		
+		/// the date range of the report
+		private final PlotDateRange range;
+		
+		/// end of the period compared with the prior year (null if no comparison)
+		private final Date compareEnd;
+		
+		/// the records the report is derived from
+		private final List<GasRecord> records;
+		
+		/// ids of the records with the selected tag (null = all records)
+		private final Set<Integer> tagged;
+		
+		/**
+		 * Constructs an instance of ReportTask.
+		 * @param report The report to generate.
+		 * @param key The cache key for the report.
+		 * @param range The date range of the report.
+		 * @param compareEnd End of the period to compare with the prior year (null if none).
+		 * @param records The records the report is derived from.
+		 * @param tagged Ids of the records with the selected tag (null = all records).
+		 */
+		ReportTask(StatisticsReport report, String key, PlotDateRange range, Date compareEnd,
+				List<GasRecord> records, Set<Integer> tagged) {
+			this.report = report;
+			this.key = key;
+			this.range = range;
+			this.compareEnd = compareEnd;
+			this.records = records;
+			this.tagged = tagged;
+		}
+
+		/**
+		 * Generates the report page HTML on a background thread.
+		 * @return The report HTML, or null if cancelled.
+		 * @see android.os.AsyncTask#doInBackground(Params[])
+		 */
+		@Override
+		protected String doInBackground(Void... params) {
+			StringBuilder html = new StringBuilder();
+			try {
+				prepareReport(report,range,compareEnd,records,tagged);
+				if (paged) {
+					report.writePage(html,key);
+				} else {
+					report.writeTo(html);
+				}
+			} catch (InterruptedIOException e) {
+				return null;
+			} catch (Throwable t) {
+				// let the report produce its error page
+				return report.getHtml();
+			}
+			String result = html.toString();
+			StatisticsReportCache.put(key,result);
+			return result;
+		}
+		
+		/**
+		 * Cancels the task, stopping generation of the report before 
+		 * the next table is written.
+		 */
+		void abandon() {
+			report.cancel();
+			cancel(false);
+		}
+
+		/**
+		 * Displays the report HTML on the UI thread, unless the report 
+		 * has been superseded.
+		 * @see android.os.AsyncTask#onPostExecute(java.lang.Object)
+		 */
+		@Override
+		protected void onPostExecute(String result) {
+			if ((task != this) || (result == null)) return;
+			task = null;
+			html = result;
+			displayReport();
+		}
+	}
+	
+	/**
+	 * The JavaScript interface used by the report page to obtain the 
+	 * month tables that were not included in the first page.
+	 * <p>
+	 * NOTE: 
+	 * Methods are invoked by the WebView on a background thread, so the 
+	 * tables are generated without blocking the UI thread.
+	 */
+	private class ReportBridge {
+		
+		/**
+		 * Returns the HTML for a page of month tables in the current report.
+		 * @param token The key of the report the requesting page belongs to.
+		 * @param start Index of the first month to return.
+		 * @return The HTML for the month tables, or an empty String if the
+		 * page is not for the current report or there are no more months.
+		 */
+		@JavascriptInterface
+		public String getMonthTables(String token, int start) {
+			StatisticsReport current = report;
+			if ((current == null) || !token.equals(reportKey)) return "";
+			StringBuilder html = new StringBuilder();
+			try {
+				current.writeMonths(html,start,StatisticsReport.PAGE_SIZE);
+			} catch (IOException e) {
+				Log.e(getClass().getName(),"getMonthTables() failed",e);
+				return "";
+			}
+			return html.toString();
+		}
+	}
+
+	/**
+     * Initialize the contents of the Activity's standard options menu. 
+     * @see android.app.Activity#onCreateOptionsMenu(android.view.Menu)
+     */
+	@Override
+	public boolean onCreateOptionsMenu(Menu menu) {
+		getMenuInflater().inflate(R.menu.activity_statistics, menu);
+		return true;
+	}
+	
+    /**
+     * Prepare the standard options menu to be displayed.
+     * @see android.app.Activity#onPrepareOptionsMenu(android.view.Menu)
+     */
+	@Override
+	public boolean onPrepareOptionsMenu(Menu menu) {
+		MenuItem itemTag = menu.findItem(R.id.itemTag);
+		itemTag.setChecked(tag != null);
+		return super.onPrepareOptionsMenu(menu);
+	}
+	
+    /**
+     * Called when an item in the options menu is selected.
+     * @see android.app.Activity#onOptionsItemSelected(android.view.MenuItem)
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+    	
+    	switch (item.getItemId()) {
+
+    	case R.id.itemCompare:
+    		compare = !item.isChecked();
+    		item.setChecked(compare);
+    		generateReport();
+    		return true;
+    		
+    	case R.id.itemTag:
+    		List<String> tags = GasLog.getInstance().readTags(vehicle);
+    		if (tags.isEmpty()) {
+    			Utilities.toast(this,getString(R.string.toast_no_tags));
+    		} else {
+    			TagDialog.create(this,this,R.id.itemTag,tags,tag).show();
+    		}
+    		return true;
+    		
+    	case R.id.itemShare:
+    	   	if (ExternalStorage.isWritable()) {
+    	   		shareReport();
+        	} else {
+        		Utilities.toast(this,getString(R.string.toast_external_storage_not_writable));
+        	}
+    		return true;
+    		
+    	case R.id.itemSettings:
+    		Intent intent = new Intent(this,Settings.class);
+    		startActivity(intent);
+    		return true;
+    		
+    	default:
+    		return super.onOptionsItemSelected(item);
+    	}
+    }
+    
+    /**
+     * Return the name and path to a file for storage statistics report data.
+     * @return The File.
+     */
+    protected File getReportFile() {
+    	
+    	// get path to external storage directory 
+    	File dir = ExternalStorage.getPublicDownloadDirectory();
+    	
+    	// export file is named after vehicle and stored in external storage directory
+    	String format = getString(R.string.stats_report_filename);
+    	String file = String.format(App.getLocale(),format,vehicle.getName());
+    	return new File(dir,file);
+    }
+    
+    /**
+     * Creates a statistics report file containing the report html data.
+     * The report is written directly to the file as it is generated.
+     * @param report The report to write.
+     * @param file The report File to create.
+     * @return true if file creation successful.
+     */
+    private static boolean createReportFile(StatisticsReport report, File file) {
+    	boolean status = false;
+    	Writer out = null;
+    	try {
+    		out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),"UTF-8"));
+    		report.writeTo(out);
+    		status = true;
+    	} catch(Throwable t) {
+    		Log.e(StatisticsActivity.class.getName(),"createReportFile() failed",t);
+    	} finally {
+    		if (out != null) {
+    			try {
+    				out.close();
+    			} catch (IOException e) {
+    				Log.e(StatisticsActivity.class.getName(),"close() failed",e);
+    				status = false;
+    			}
+    		}
+    	}
+    	return status;
+    }
+    
+    /**
+     * Create a file containing statistics report data (HTML) and prompt
+     * the user for a method to share the file. The file is written by a
+     * background task, since the whole report (every month) is written. 
+     */
+    private void shareReport() {
+    	if (shareTask != null) return;
+    	progress.setVisibility(View.VISIBLE);
+    	shareTask = new ShareTask(report,reportRange,reportCompareEnd,records,tagged,getReportFile());
+    	shareTask.execute();
+    }
+    
+    /**
+     * Prompts the user for a method to share a report file.
+     * @param file The report File.
+     */
+    private void startShareActivity(File file) {
+		Utilities.toast(this, file.getAbsolutePath());
+
+		Intent intent = new Intent(Intent.ACTION_SEND);
+		intent.setType("text/html");
+		intent.putExtra(Intent.EXTRA_STREAM,Uri.fromFile(file));
+		intent.putExtra(Intent.EXTRA_SUBJECT,file.getName());
+		intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_EXCLUDE_FROM_RECENTS);
+		startActivity(Intent.createChooser(intent, getString(R.string.title_chooser_share_html)));
+    }
+    
+	/**
+	 * A task that prepares a report (if necessary) and writes it to a
+	 * file on a background thread, then prompts the user to share the file.
+	 */
+	private class ShareTask extends AsyncTask<Void,Void,Boolean> {
+		
+		/// the report to share
+		private final StatisticsReport report;
+		
+		/// the date range of the report
+		private final PlotDateRange range;
+		
+		/// end of the period compared with the prior year (null if no comparison)
+		private final Date compareEnd;
+		
+		/// the records the report is derived from
+		private final List<GasRecord> records;
+		
+		/// ids of the records with the selected tag (null = all records)
+		private final Set<Integer> tagged;
+		
+		/// the file to write
+		private final File file;
+		
+		/**
+		 * Constructs an instance of ShareTask.
+		 * @param report The report to share.
+		 * @param range The date range of the report.
+		 * @param compareEnd End of the period to compare with the prior year (null if none).
+		 * @param records The records the report is derived from.
+		 * @param tagged Ids of the records with the selected tag (null = all records).
+		 * @param file The file to write.
+		 */
+		ShareTask(StatisticsReport report, PlotDateRange range, Date compareEnd,
+				List<GasRecord> records, Set<Integer> tagged, File file) {
+			this.report = report;
+			this.range = range;
+			this.compareEnd = compareEnd;
+			this.records = records;
+			this.tagged = tagged;
+			this.file = file;
+		}
+		
+		/**
+		 * Writes the report file on a background thread.
+		 * @return true if the file was written.
+		 * @see android.os.AsyncTask#doInBackground(Params[])
+		 */
+		@Override
+		protected Boolean doInBackground(Void... params) {
+			try {
+				prepareReport(report,range,compareEnd,records,tagged);
+			} catch (Throwable t) {
+				Log.e(StatisticsActivity.class.getName(),"prepareReport() failed",t);
+				return false;
+			}
+			return createReportFile(report,file);
+		}
+		
+		/**
+		 * Prompts the user to share the file on the UI thread.
+		 * @see android.os.AsyncTask#onPostExecute(java.lang.Object)
+		 */
+		@Override
+		protected void onPostExecute(Boolean success) {
+			shareTask = null;
+			if (task == null) progress.setVisibility(View.GONE);
+			if (isFinishing()) return;
+			if (success) {
+				startShareActivity(file);
+			} else {
+				Utilities.toast(StatisticsActivity.this,getString(R.string.toast_create_report_failed));
+			}
+		}
+	}
+
+	/**
+	 * Called when one or more settings have changed. Recalculates the data 
+	 * and regenerates the report once for the batch of changes.
+	 * @see com.github.wdkapps.fillup.SettingsCoordinator.Listener#onSettingsChanged(java.util.Set)
+	 */
+	@Override
+	public void onSettingsChanged(Set<String> keys) {
+		
+		boolean unitsChanged = keys.contains(Settings.KEY_UNITS);
+		boolean rangeChanged = keys.contains(Settings.KEY_PLOT_DATE_RANGE);
+
+		// re-calculate data when units of measurement change
+		if (unitsChanged) {
+			// note: a copy, since a report task may still be reading the records
+			cancelReport();
+			records = GasRecordList.copy(records);
+        	GasRecordList.calculateMileage(records);
+            monthly = new MonthlyTrips(records,tagged);
+		} 
+		
+		// update the display when the plot date range or units change
+		if (unitsChanged || rangeChanged) {
+			generateReport();
+		}
+		
+	}
+	
+	/**
+	 * Called when the user selects a tag. Limits the report to the records 
+	 * with the selected tag, or reports all records grouped by tag.
+	 * @see com.github.wdkapps.fillup.TagDialog.Listener#onTagDialogResponse(int, java.lang.String)
+	 */
+	@Override
+	public void onTagDialogResponse(int id, String tag) {
+		cancelReport();
+		this.tag = tag;
+		tagged = (tag == null) ? null : GasLog.getInstance().readRecordIds(new RecordQuery().setVehicle(vehicle).setTag(tag));
+		monthly = new MonthlyTrips(records,tagged);
+		generateReport();
+	}
+	
+}
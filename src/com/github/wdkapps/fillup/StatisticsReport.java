@@ -1,161 +1,352 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Scanner;
-
-import android.content.res.AssetManager;
-import android.util.Log;
-
-/**
- * A report for display of statistics derived from monthly trip data.
- */
-public class StatisticsReport implements HtmlData {
-
-	/// a tag string for debug logging (the name of this class)
-	private static final String TAG = StatisticsReport.class.getName();
-	
-	/// end of line string
-	private static final String newline = System.getProperty("line.separator");
-	
-	/// the report title
-	private final String title;
-	
-	/// the monthly trip data for the report
-	private final MonthlyTrips monthly;
-	
-	/// the html data for the report
-	private StringBuilder html;
-	
-	/// one table for each month of statistical data
-	private List<HtmlData> tables;
-	
-	/**
-	 * Constructs an instance of StatisticsReport.
-	 * @param title The report title
-	 * @param monthly The monthly trip data used to generate the report.
-	 */
-	public StatisticsReport (String title, MonthlyTrips monthly) {
-
-		this.title = title;
-		this.monthly = monthly;
-		
-		// create the statistics tables
-		createTables();
-		
-		// create the entire report from the table data
-		createReport();
-	}
-
-	/**
-	 * Returns the report as an HTML String.
-	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
-	 */
-	@Override
-	public String getHtml() {
-		return html.toString();
-	}
-	
-	/**
-	 * Generates statistical tables for the report.
-	 */
-	private void createTables() {
-		String label;
-		TripRecord data;
-		tables = new LinkedList<HtmlData>();
-		List<TripRecord> months = new ArrayList<TripRecord>();
-
-		// create tables for months in range
-		for (Month month : monthly) {
-			data = monthly.getTrips(month);
-			label = month.getLongLabel();
-			tables.add(0,new StatisticsMonthTable(data,label));
-			months.add(0,data);
-		}
-
-		// create table for summary of all data in range
-		// note: no need for summary if only displaying one month table
-		if (months.size() > 1) {
-			tables.add(0,new StatisticsSummaryTable(months,title));
-		}
-
-	}
-	
-	/**
-	 * Generates an HTML page for the report.
-	 */
-	private void createReport() {
-		String stats_top = App.getContext().getString(R.string.asset_stats_top_html);
-		String stats_bottom = App.getContext().getString(R.string.asset_stats_bottom_html);
-		html = new StringBuilder();
-		try {
-			// append stats_top.html
-			html.append(readAssetFile(stats_top));
-
-			// append table data
-			for (HtmlData table : tables) {
-				html.append("<div>").append(newline);
-				html.append(table.getHtml());
-				html.append("</div>").append(newline);
-				html.append("<p/>").append(newline);
-			}
-			
-			// append stats_bottom.html
-			html.append(readAssetFile(stats_bottom));
-		} catch (Throwable t) {
-			String errmsg = App.getContext().getString(R.string.toast_create_report_failed);
-			Log.e(TAG,"Error creating report",t);
-			html = new StringBuilder();
-			html.append("<html>");
-			html.append(errmsg).append("<br/>");
-			html.append(t.getMessage());
-			html.append("/html>");
-		}
-		
-	}
-	
-	/**
-	 * Reads the content of a specified asset file as String data.
-	 * @param asset The name of the asset file.
-	 * @return The content of the file as a String.
-	 * @throws IOException if an error occurs reading the file.
-	 */
-	private String readAssetFile(String asset) throws IOException {
-		AssetManager assetmgr = App.getContext().getAssets();
-		StringBuilder text = new StringBuilder();
-		Scanner scanner = null;
-		try {
-			scanner = new Scanner(assetmgr.open(asset));
-			while (scanner.hasNextLine()){
-				text.append(scanner.nextLine());
-				text.append(newline);
-			}
-		} finally {
-			if (scanner != null) scanner.close();
-		}		
-		
-		return text.toString();
-	}
-
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.util.Log;
+
+/**
+ * A report for display of statistics derived from monthly trip data.
+ * <p>
+ * NOTE: 
+ * The statistics tables are generated one at a time as the report is 
+ * written, so the entire report need not be held in memory when it is 
+ * written to a file.
+ * <p>
+ * For display, the report can also be written in pages (see writePage()).
+ * The first page contains the summary and the most recent months, and a
+ * script that requests the remaining month tables from the application, 
+ * one page at a time, as the user scrolls to the end of the document.  
+ * The script calls a JavaScript interface that must be registered with
+ * the WebView under the name BRIDGE and implement a method with signature
+ * String getMonthTables(String token, int start) that returns the HTML
+ * from writeMonths(start,PAGE_SIZE).
+ */
+public class StatisticsReport implements HtmlData {
+
+	/// a tag string for debug logging (the name of this class)
+	private static final String TAG = StatisticsReport.class.getName();
+	
+	/// end of line string
+	private static final String newline = System.getProperty("line.separator");
+	
+	/// the number of month tables in each page of the report
+	public static final int PAGE_SIZE = 12;
+	
+	/// name of the JavaScript interface that provides month tables for a page
+	public static final String BRIDGE = "stats";
+	
+	/// the report title
+	private final String title;
+	
+	/// the monthly trip data for the report
+	private final MonthlyTrips monthly;
+	
+	/// trip data for each month in range (most recent month first)
+	private List<TripRecord> months;
+	
+	/// table label for each month in range (most recent month first)
+	private List<String> labels;
+	
+	/// totals for the current period to compare (null if no comparison)
+	private PeriodTotals current;
+	
+	/// totals for the same period in the prior year (null if no comparison)
+	private PeriodTotals prior;
+	
+	/// totals for each tag in the period (null if not grouped by tag)
+	private List<TagTotals> tags;
+	
+	/// flag indicating that writing of the report has been cancelled
+	private volatile boolean cancelled = false;
+	
+	/**
+	 * Constructs an instance of StatisticsReport.
+	 * @param title The report title
+	 * @param monthly The monthly trip data used to generate the report.
+	 */
+	public StatisticsReport (String title, MonthlyTrips monthly) {
+
+		this.title = title;
+		this.monthly = monthly;
+		
+		// collect the data for the statistics tables
+		collectMonths();
+	}
+
+	/**
+	 * Enables year over year comparison mode. The summary table will 
+	 * include the totals for the current period, the totals for the same 
+	 * period in the prior year, and the difference between them.
+	 * @param current Totals for the current period.
+	 * @param prior Totals for the same period in the prior year.
+	 */
+	public void setComparison(PeriodTotals current, PeriodTotals prior) {
+		this.current = current;
+		this.prior = prior;
+	}
+	
+	/**
+	 * Adds a table of totals for each tag in the period to the report.
+	 * @param tags The totals for each tag (see GasLog.readTagTotals()).
+	 */
+	public void setTagTotals(List<TagTotals> tags) {
+		this.tags = tags;
+	}
+	
+	/**
+	 * Returns the report as an HTML String.
+	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
+	 */
+	@Override
+	public String getHtml() {
+		StringBuilder html = new StringBuilder();
+		try {
+			writeTo(html);
+		} catch (Throwable t) {
+			String errmsg = App.getContext().getString(R.string.toast_create_report_failed);
+			Log.e(TAG,"Error creating report",t);
+			html = new StringBuilder();
+			html.append("<html>");
+			html.append(errmsg).append("<br/>");
+			html.append(t.getMessage());
+			html.append("/html>");
+		}
+		return html.toString();
+	}
+	
+	/**
+	 * Writes the report as HTML data to a specified destination, one
+	 * table at a time.
+	 * @see com.github.wdkapps.fillup.HtmlData#writeTo(java.lang.Appendable)
+	 */
+	@Override
+	public void writeTo(Appendable out) throws IOException {
+		HtmlTemplate template = getTemplate();
+		
+		// append stats_top.html
+		out.append(template.getHead());
+		
+		// append table for summary of all data in range
+		appendSummary(out);
+		
+		// append table for totals of each tag in range
+		appendTags(out);
+		
+		// append tables for months in range
+		writeMonths(out,0,months.size());
+		
+		// append stats_bottom.html
+		out.append(template.getTail());
+	}
+	
+	/**
+	 * Writes the first page of the report as HTML data to a specified 
+	 * destination. The page contains the summary table and the first
+	 * PAGE_SIZE month tables. If there are more months, it also contains
+	 * a script to load them via the BRIDGE interface as the page is 
+	 * scrolled.
+	 * @param out The destination for the HTML data.
+	 * @param token A value passed back to the BRIDGE interface by the
+	 * script to identify the report the page belongs to.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	public void writePage(Appendable out, String token) throws IOException {
+		HtmlTemplate template = getTemplate();
+		
+		// append stats_top.html
+		out.append(template.getHead());
+		
+		// append table for summary of all data in range
+		appendSummary(out);
+		
+		// append table for totals of each tag in range
+		appendTags(out);
+		
+		// append tables for the first page of months
+		writeMonths(out,0,PAGE_SIZE);
+		
+		// append script to load the remaining months on demand
+		if (months.size() > PAGE_SIZE) {
+			appendPagingScript(out,token);
+		}
+		
+		// append stats_bottom.html
+		out.append(template.getTail());
+	}
+	
+	/**
+	 * Writes the tables for a range of months in the report as HTML data 
+	 * to a specified destination. 
+	 * @param out The destination for the HTML data.
+	 * @param start Index of the first month to write (0 = most recent).
+	 * @param count The maximum number of months to write.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	public void writeMonths(Appendable out, int start, int count) throws IOException {
+		int end = Math.min(months.size(),start+count);
+		for (int n = start; n < end; n++) {
+			checkCancelled();
+			appendTable(new StatisticsMonthTable(months.get(n),labels.get(n)),out);
+		}
+	}
+	
+	/**
+	 * Returns the template for the localized report page.
+	 * @return The HtmlTemplate.
+	 * @throws IOException if an error occurs reading the template.
+	 */
+	private HtmlTemplate getTemplate() throws IOException {
+		String stats_top = App.getContext().getString(R.string.asset_stats_top_html);
+		String stats_bottom = App.getContext().getString(R.string.asset_stats_bottom_html);
+		return HtmlTemplate.getInstance(stats_top,stats_bottom);
+	}
+	
+	/**
+	 * Writes the summary table to a specified destination.
+	 * @param out The destination for the HTML data.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	private void appendSummary(Appendable out) throws IOException {
+		// note: no need for summary if only displaying one month table, unless comparing
+		if ((months.size() > 1) || (current != null)) {
+			StatisticsSummaryTable table = new StatisticsSummaryTable(months,title);
+			if (current != null) {
+				table.setComparison(current,prior);
+			}
+			appendTable(table,out);
+		}
+	}
+	
+	/**
+	 * Writes the table of totals for each tag to a specified destination.
+	 * @param out The destination for the HTML data.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	private void appendTags(Appendable out) throws IOException {
+		if ((tags != null) && !tags.isEmpty()) {
+			String title = App.getContext().getString(R.string.stats_title_tags);
+			appendTable(new StatisticsTagTable(tags,title),out);
+		}
+	}
+	
+	/**
+	 * Writes a script that appends the remaining month tables, one page
+	 * at a time, when the page is scrolled near its end. Pages are also 
+	 * appended when the document is loaded, until it is taller than the 
+	 * window (otherwise it could never be scrolled to load them).
+	 * @param out The destination for the HTML data.
+	 * @param token Identifies the report to the BRIDGE interface.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	private void appendPagingScript(Appendable out, String token) throws IOException {
+		out.append("<div id=\"more\"></div>").append(newline);
+		out.append("<script type=\"text/javascript\">").append(newline);
+		out.append("var loaded = ").append(String.valueOf(PAGE_SIZE)).append(";").append(newline);
+		out.append("var total = ").append(String.valueOf(months.size())).append(";").append(newline);
+		out.append("function loadMore() {").append(newline);
+		out.append("  if (loaded >= total) return;").append(newline);
+		out.append("  var bottom = window.pageYOffset + 2 * window.innerHeight;").append(newline);
+		out.append("  if (bottom < document.body.scrollHeight) return;").append(newline);
+		out.append("  var html = ").append(BRIDGE).append(".getMonthTables(").append(toJavaScriptString(token)).append(", loaded);").append(newline);
+		out.append("  if (!html) { loaded = total; return; }").append(newline);
+		out.append("  loaded += ").append(String.valueOf(PAGE_SIZE)).append(";").append(newline);
+		out.append("  document.getElementById(\"more\").insertAdjacentHTML(\"beforebegin\", html);").append(newline);
+		out.append("}").append(newline);
+		out.append("function fill() {").append(newline);
+		out.append("  var before;").append(newline);
+		out.append("  do { before = loaded; loadMore(); } while (loaded > before);").append(newline);
+		out.append("}").append(newline);
+		out.append("window.onscroll = fill;").append(newline);
+		out.append("window.onload = fill;").append(newline);
+		out.append("</script>").append(newline);
+	}
+	
+	/**
+	 * Returns a String as a JavaScript string literal. Characters other than
+	 * printable ASCII, and those with special meaning within a literal or an 
+	 * HTML script element, are escaped.
+	 * @param value The String.
+	 * @return The quoted and escaped literal.
+	 */
+	private static String toJavaScriptString(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (int n = 0; n < value.length(); n++) {
+			char c = value.charAt(n);
+			if ((c < 0x20) || (c > 0x7e) || (c == '"') || (c == '\'') || 
+				(c == '\\') || (c == '<') || (c == '>') || (c == '&')) {
+				literal.append(String.format("\\u%04x",(int)c));
+			} else {
+				literal.append(c);
+			}
+		}
+		return literal.append('"').toString();
+	}
+	
+	/**
+	 * Cancels writing of the report. Intended to be called from another
+	 * thread to abandon a report that is no longer needed. A write in 
+	 * progress stops before the next table by throwing an 
+	 * InterruptedIOException.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+	
+	/**
+	 * Throws an exception if writing of the report has been cancelled.
+	 * @throws InterruptedIOException if the report has been cancelled.
+	 */
+	private void checkCancelled() throws InterruptedIOException {
+		if (cancelled) {
+			throw new InterruptedIOException("report cancelled");
+		}
+	}
+	
+	/**
+	 * Collects the trip data and labels for the months in range.
+	 */
+	private void collectMonths() {
+		months = new ArrayList<TripRecord>();
+		labels = new ArrayList<String>();
+		for (Month month : monthly) {
+			months.add(0,monthly.getTrips(month));
+			labels.add(0,month.getLongLabel());
+		}
+	}
+	
+	/**
+	 * Writes a statistics table to a specified destination.
+	 * @param table The table to write.
+	 * @param out The destination for the HTML data.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	private void appendTable(HtmlData table, Appendable out) throws IOException {
+		out.append("<div>").append(newline);
+		table.writeTo(out);
+		out.append("</div>").append(newline);
+		out.append("<p/>").append(newline);
+	}
+
+}
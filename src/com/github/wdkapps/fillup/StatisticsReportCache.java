@@ -0,0 +1,114 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of generated statistics report HTML. Each report is identified
+ * by a key derived from everything the report content depends on: the 
+ * vehicle, the gas log data version, the plot date range and its dates (so
+ * a report is not reused once the current month ends), the end of the period
+ * compared with the prior year, the selected tag,
+ * the units of measurement, the currency and the locale. The least recently used 
+ * reports are evicted when the total size of the cached HTML exceeds a 
+ * limit.
+ */
+public class StatisticsReportCache {
+	
+	/// maximum total number of HTML characters to hold in the cache
+	private static final int MAX_CHARS = 512 * 1024;
+	
+	/// the cached reports, in least recently used order
+	private static final LinkedHashMap<String,String> cache = new LinkedHashMap<String,String>(16,0.75f,true);
+	
+	/// total number of HTML characters currently held in the cache
+	private static int size = 0;
+	
+	/**
+	 * Returns a key that identifies the report for a specified vehicle and
+	 * date range given the current gas log data and preference settings.
+	 * @param vehicle The Vehicle the report is generated for.
+	 * @param range The date range of the report data.
+	 * @param compareEnd End of the period the report compares with the prior year (null if none). 
+	 * @param tag The tag the report is limited to (null = all records).
+	 * @return The key as a String.
+	 */
+	public static String getKey(Vehicle vehicle, PlotDateRange range, Date compareEnd, String tag) {
+		Units units = SettingsSnapshot.getInstance().getUnits();
+		String currency = Settings.getString(Settings.KEY_CURRENCY,CurrencyManager.DEFAULT_CURRENCY);
+		StringBuilder key = new StringBuilder();
+		key.append(vehicle.getID()).append('|');
+		key.append(GasLog.getInstance().getDataVersion()).append('|');
+		key.append(range.getValue()).append('|');
+		key.append(range.getStartDate().getTime()).append('|');
+		key.append(range.getEndDate().getTime()).append('|');
+		key.append((compareEnd == null) ? "-" : String.valueOf(compareEnd.getTime())).append('|');
+		key.append(tag).append('|');
+		key.append(units.getValue()).append('|');
+		key.append(currency).append('|');
+		key.append(App.getLocale());
+		return key.toString();
+	}
+	
+	/**
+	 * Returns the cached report HTML for a specified key.
+	 * @param key The report key (see getKey()).
+	 * @return The report HTML as a String, or null if not cached.
+	 */
+	public static synchronized String get(String key) {
+		return cache.get(key);
+	}
+	
+	/**
+	 * Adds report HTML to the cache, evicting the least recently used 
+	 * reports as necessary to keep the cache within its size limit.
+	 * @param key The report key (see getKey()).
+	 * @param html The report HTML.
+	 */
+	public static synchronized void put(String key, String html) {
+		
+		// a report larger than the cache is not worth holding
+		if (html.length() > MAX_CHARS) return;
+		
+		String previous = cache.put(key,html);
+		if (previous != null) size -= previous.length();
+		size += html.length();
+		
+		Iterator<Map.Entry<String,String>> iterator = cache.entrySet().iterator();
+		while ((size > MAX_CHARS) && iterator.hasNext()) {
+			Map.Entry<String,String> eldest = iterator.next();
+			size -= eldest.getValue().length();
+			iterator.remove();
+		}
+	}
+	
+	/**
+	 * Removes all reports from the cache.
+	 */
+	public static synchronized void clear() {
+		cache.clear();
+		size = 0;
+	}
+
+}
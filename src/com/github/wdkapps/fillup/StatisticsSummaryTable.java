@@ -1,281 +1,461 @@
-/*
- * *****************************************************************************
- * Copyright 2013 William D. Kraemer
- *  
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *    
- * ****************************************************************************
- */
-
-package com.github.wdkapps.fillup;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.List;
-
-/**
- * A table for display of statistics derived from multiple months of trip data.
- */
-public class StatisticsSummaryTable implements HtmlData {
-
-	/// the trip data
-	private List<TripRecord> data;
-	
-	/// accumulation of all trip data
-	private TripRecord total;
-	
-	/// a title for the table
-	private final String title;
-
-	/// css class value
-	private final String cssClass = "summary";
-	
-	/// the html data for the table
-	private StringBuilder html;
-	
-	/// current units of measurement for display of labels
-	private Units units;
-	
-	/// gas records data was derived from
-	private ArrayList<GasRecord> records = new ArrayList<GasRecord>();
-	
-	/// a row index used during creation
-	private int row;
-	
-	/// end of line string
-	private static final String newline = System.getProperty("line.separator");
-	
-	/**
-	 * Constructs an instance of StatisticsReportTable.
-	 * @param data The trip data used to generate the table (current month at index 0)
-	 * @param title The table title.
-	 */
-	public StatisticsSummaryTable(List<TripRecord> data,  String title) {
-		this.data = data;
-		this.title = getString(R.string.stats_summary_prefix) + title;
-		this.total = new TripRecord(new Date());
-		for (TripRecord trip : data) { 
-			this.total.append(trip);
-		}
-		this.records.addAll(total.getGasRecords());
-		Collections.sort(records,new OdometerComparator());
-		createTable();
-	}
-
-	/**
-	 * Returns the table as an HTML String.
-	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
-	 */
-	@Override
-	public String getHtml() {
-		return html.toString();
-	}
-	
-	/**
-	 * Generates an HTML table from the data.
-	 */
-	private void createTable() {
-		units = new Units(Settings.KEY_UNITS);
-		html = new StringBuilder();
-		html.append("<table"+property("class",cssClass)+">").append(newline);
-		appendTableHeaderRow(title,"2");
-		row = 0;
-		appendMileageData();
-		appendDistanceData();
-		appendGallonsData();
-		appendCostData();
-		appendPriceData();
-		html.append("</table>").append(newline);
-	}	
-
-	/**
-	 * Generates a generic HTML table header row consisting of a single
-	 * cell that spans a specified number of table columns.
-	 * @param cell The header cell content as a String.
-	 * @param colspan The number of table columns that the header cell spans
-	 */
-	private void appendTableHeaderRow(String cell, String colspan) {
-		html.append("<tr"+property("class",cssClass)+">").append(newline);
-		html.append("  <th"+property("class",cssClass)+property("colspan",colspan)+">").append(cell).append("</th>").append(newline);
-		html.append("</tr>").append(newline);
-	}
-	
-	/**
-	 * Generates a generic HTML table row.<p>
-	 * NOTE: marks odd numbered rows to support alternating colors for older browsers.
-	 * @param cells The cell content for the row (each cell is one table column).
-	 */
-	private void appendTableRow(String[] cells) {
-		if ((row & 1) == 1) {
-			html.append("<tr"+property("class",cssClass+" odd")+">").append(newline);
-		} else {			
-			html.append("<tr"+property("class",cssClass)+">").append(newline);
-		}
-		for (String cell : cells) {
-			html.append("  <td"+property("class",cssClass)+">").append(cell).append("</td>").append(newline);
-		}		
-		html.append("</tr>").append(newline);
-		row++;
-	}
-	
-	/**
-	 * Appends distance statistical data to the table.
-	 */
-	private void appendDistanceData() {
-
-		// calculate monthly average
-		int months = data.size();
-		float average = 0;
-		if (months > 0) {
-			average = total.getDistance()/months;
-		}
-		
-		// create table row
-		String label = getString(R.string.stats_label_distance);
-		String value = String.format(App.getLocale(),getString(R.string.stats_calc_distance),
-    				total.getDistance().intValue(),
-    				units.getDistanceLabelLowerCase(),
-    				average);
-		value = value.replace("(","<br/>(");
-		appendTableRow(new String[]{label,value});
-	}
-	
-	/**
-	 * Appends cost statistical data to the table.
-	 */
-	private void appendCostData() {
-
-		// calculate cost per month
-		int months = data.size();
-		double per_month = 0;
-		if (months > 0) {
-			per_month = total.getCost()/months;
-		}
-		
-		// calculate cost per mile/kilometer
-		double per_mile = 0;
-		if (total.getDistance() > 0) {
-			per_mile = total.getCost()/total.getDistance();
-		}
-		
-		// create table row
-		String label = getString(R.string.stats_label_cost);
-		String value = String.format(App.getLocale(),getString(R.string.stats_calc_cost),
-    				CurrencyManager.getInstance().getSymbolicFormatter().format(total.getCost()),
-    				CurrencyManager.getInstance().getSymbolicFormatter().format(per_month),
-    				CurrencyManager.getInstance().getSymbolicFractionalFormatter().format(per_mile),
-    				units.getDistanceRatioLabel()); 
-		value = value.replace("(","<br/>(");
-		appendTableRow(new String[]{label,value});
-	}
-
-	/**
-	 * Appends gallons statistical data to the table.
-	 */
-	private void appendGallonsData() {
-
-		// calculate monthly average
-		int months = data.size();
-		float average = 0;
-		if (months > 0) {
-			average = total.getGallons()/months;
-		}
-
-		// create table row
-		String label = getString(R.string.stats_label_gallons);
-		String value = String.format(App.getLocale(),getString(R.string.stats_calc_gallons),
-    				total.getGallons(),
-    				units.getLiquidVolumeLabelLowerCase(),
-    				average);
-		value = value.replace("(","<br/>(");
-		appendTableRow(new String[]{label,value});
-	}
-
-	/**
-	 * Appends price statistical data to the table.
-	 */
-	private void appendPriceData() {
-		String label = getString(R.string.stats_label_price);;
-		String value = "-";
-		if (total.getGallons() > 0) {
-			double price = total.getCost()/total.getGallons();
-			value = String.format("%s %s",
-					CurrencyManager.getInstance().getSymbolicFormatter().format(price),
-					units.getLiquidVolumeRatioLabel());
-		}
-		appendTableRow(new String[]{label,value});
-	}
-
-	/**
-	 * Appends mileage statistical data to the table.
-	 */
-	private void appendMileageData() {
-		
-		float min = Float.MAX_VALUE;
-		float max = 0f;
-		float sum = 0f;
-		int count = 0;
-		for (GasRecord record : records) {
-			if (!record.hasCalculation()) continue;
-			if (record.isCalculationHidden()) continue;
-			float mileage = record.getCalculation().getMileage();
-			min = Math.min(min,mileage);
-			max = Math.max(max,mileage);
-			sum += mileage;
-			count++;
-		}
-		
-		String label;
-		String value;
-
-		// average
-		label = getString(R.string.stats_label_mileage_avg);
-		value = "-";
-		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",sum/count,units.getMileageLabel());
-		appendTableRow(new String[]{label,value});
-		
-		// minimum
-		label = getString(R.string.stats_label_mileage_min);
-		value = "-";
-		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",min,units.getMileageLabel());
-		appendTableRow(new String[]{label,value});
-
-		// maximum
-		label = getString(R.string.stats_label_mileage_max);
-		value = "-";
-		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",max,units.getMileageLabel());
-		appendTableRow(new String[]{label,value});
-	}
-	
-	/**
-	 * Returns an HTML property definition in the form of: attribute="value".
-	 * @param attribute The attribute name of the property.
-	 * @param value The value to be assigned to the property.
-	 * @return The property definition String.
-	 */
-	private String property(String attribute, String value) {
-		return String.format(" %s=\"%s\"", attribute, value);
-	}
-	
-	/**
-	 * Convenience method to retrieve a String resource.
-	 * @param id The desired resource identifier. 
-	 * @return The String data associated with the resource.
-	 * @see android.content.res.Resources#getString(int id)
-	 */
-	private String getString(int id) {
-		return App.getContext().getResources().getString(id);
-	}
-	
-}
+/*
+ * *****************************************************************************
+ * Copyright 2013 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A table for display of statistics derived from multiple months of trip data.
+ */
+public class StatisticsSummaryTable implements HtmlData {
+
+	/// the trip data
+	private List<TripRecord> data;
+	
+	/// accumulation of all trip data
+	private TripRecord total;
+	
+	/// a title for the table
+	private final String title;
+
+	/// css class value
+	private final String cssClass = "summary";
+	
+	/// destination for the html data while the table is being written
+	private Appendable html;
+	
+	/// current units of measurement for display of labels
+	private Units units;
+	
+	/// statistics for mileage of each fill up
+	private final StreamingStatistics mileage = new StreamingStatistics();
+	
+	/// statistics for price per gallon of each fill up
+	private final StreamingStatistics price = new StreamingStatistics();
+	
+	/// statistics for cost per distance of each fill up
+	private final StreamingStatistics costPerDistance = new StreamingStatistics();
+	
+	/// totals for the current period to compare (null if no comparison)
+	private PeriodTotals current;
+	
+	/// totals for the same period in the prior year (null if no comparison)
+	private PeriodTotals prior;
+	
+	/// a row index used during creation
+	private int row;
+	
+	/// end of line string
+	private static final String newline = System.getProperty("line.separator");
+	
+	/**
+	 * Constructs an instance of StatisticsReportTable.
+	 * @param data The trip data used to generate the table (current month at index 0)
+	 * @param title The table title.
+	 */
+	public StatisticsSummaryTable(List<TripRecord> data,  String title) {
+		this.data = data;
+		this.title = getString(R.string.stats_summary_prefix) + title;
+		this.total = new TripRecord(new Date());
+		for (TripRecord trip : data) { 
+			this.total.append(trip);
+		}
+		collectStatistics();
+	}
+	
+	/**
+	 * Adds a comparison of the current period with the same period in
+	 * the prior year to the table.
+	 * @param current Totals for the current period.
+	 * @param prior Totals for the same period in the prior year.
+	 */
+	public void setComparison(PeriodTotals current, PeriodTotals prior) {
+		this.current = current;
+		this.prior = prior;
+	}
+	
+	/**
+	 * Accumulates the per fill up statistics in a single pass through the
+	 * gas records the data was derived from.
+	 */
+	private void collectStatistics() {
+		for (GasRecord record : total.getGasRecords()) {
+			
+			if (record.getPrice() > 0) {
+				price.add(record.getPrice());
+			}
+			
+			if (!record.hasCalculation()) continue;
+			if (record.isCalculationHidden()) continue;
+			MileageCalculation calc = record.getCalculation();
+			mileage.add(calc.getMileage());
+			if ((calc.getDistanceDriven() > 0) && (calc.getCost() > 0)) {
+				costPerDistance.add(calc.getCost()/calc.getDistanceDriven());
+			}
+		}
+	}
+
+	/**
+	 * Returns the table as an HTML String.
+	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
+	 */
+	@Override
+	public String getHtml() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			writeTo(sb);
+		} catch (IOException e) {
+			// not possible - StringBuilder does not throw IOException
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Writes the table as HTML data to a specified destination.
+	 * @see com.github.wdkapps.fillup.HtmlData#writeTo(java.lang.Appendable)
+	 */
+	@Override
+	public void writeTo(Appendable out) throws IOException {
+		html = out;
+		try {
+			createTable();
+		} finally {
+			html = null;
+		}
+	}
+	
+	/**
+	 * Generates an HTML table from the data.
+	 * @throws IOException if an error occurs writing the data.
+	 */
+	private void createTable() throws IOException {
+		units = SettingsSnapshot.getInstance().getUnits();
+		html.append("<table"+property("class",cssClass)+">").append(newline);
+		appendTableHeaderRow(title,"2");
+		row = 0;
+		appendMileageData();
+		appendDistanceData();
+		appendGallonsData();
+		appendCostData();
+		appendCostPerDistanceData();
+		appendPriceData();
+		if (current != null) {
+			appendComparisonData();
+		}
+		html.append("</table>").append(newline);
+	}	
+
+	/**
+	 * Generates a generic HTML table header row consisting of a single
+	 * cell that spans a specified number of table columns.
+	 * @param cell The header cell content as a String.
+	 * @param colspan The number of table columns that the header cell spans
+	 */
+	private void appendTableHeaderRow(String cell, String colspan) throws IOException {
+		html.append("<tr"+property("class",cssClass)+">").append(newline);
+		html.append("  <th"+property("class",cssClass)+property("colspan",colspan)+">").append(cell).append("</th>").append(newline);
+		html.append("</tr>").append(newline);
+	}
+	
+	/**
+	 * Generates a generic HTML table row.<p>
+	 * NOTE: marks odd numbered rows to support alternating colors for older browsers.
+	 * @param cells The cell content for the row (each cell is one table column).
+	 */
+	private void appendTableRow(String[] cells) throws IOException {
+		if ((row & 1) == 1) {
+			html.append("<tr"+property("class",cssClass+" odd")+">").append(newline);
+		} else {			
+			html.append("<tr"+property("class",cssClass)+">").append(newline);
+		}
+		for (String cell : cells) {
+			html.append("  <td"+property("class",cssClass)+">").append(cell).append("</td>").append(newline);
+		}		
+		html.append("</tr>").append(newline);
+		row++;
+	}
+	
+	/**
+	 * Appends distance statistical data to the table.
+	 */
+	private void appendDistanceData() throws IOException {
+
+		// calculate monthly average
+		int months = data.size();
+		float average = 0;
+		if (months > 0) {
+			average = total.getDistance()/months;
+		}
+		
+		// create table row
+		String label = getString(R.string.stats_label_distance);
+		String value = String.format(App.getLocale(),getString(R.string.stats_calc_distance),
+    				total.getDistance().intValue(),
+    				units.getDistanceLabelLowerCase(),
+    				average);
+		value = value.replace("(","<br/>(");
+		appendTableRow(new String[]{label,value});
+	}
+	
+	/**
+	 * Appends cost statistical data to the table.
+	 */
+	private void appendCostData() throws IOException {
+
+		// calculate cost per month
+		int months = data.size();
+		double per_month = 0;
+		if (months > 0) {
+			per_month = total.getCost()/months;
+		}
+		
+		// calculate cost per mile/kilometer
+		double per_mile = 0;
+		if (total.getDistance() > 0) {
+			per_mile = total.getCost()/total.getDistance();
+		}
+		
+		// create table row
+		String label = getString(R.string.stats_label_cost);
+		String value = String.format(App.getLocale(),getString(R.string.stats_calc_cost),
+    				CurrencyManager.getInstance().getSymbolicFormatter().format(total.getCost()),
+    				CurrencyManager.getInstance().getSymbolicFormatter().format(per_month),
+    				CurrencyManager.getInstance().getSymbolicFractionalFormatter().format(per_mile),
+    				units.getDistanceRatioLabel()); 
+		value = value.replace("(","<br/>(");
+		appendTableRow(new String[]{label,value});
+	}
+
+	/**
+	 * Appends gallons statistical data to the table.
+	 */
+	private void appendGallonsData() throws IOException {
+
+		// calculate monthly average
+		int months = data.size();
+		float average = 0;
+		if (months > 0) {
+			average = total.getGallons()/months;
+		}
+
+		// create table row
+		String label = getString(R.string.stats_label_gallons);
+		String value = String.format(App.getLocale(),getString(R.string.stats_calc_gallons),
+    				total.getGallons(),
+    				units.getLiquidVolumeLabelLowerCase(),
+    				average);
+		value = value.replace("(","<br/>(");
+		appendTableRow(new String[]{label,value});
+	}
+
+	/**
+	 * Appends price statistical data to the table.
+	 */
+	private void appendPriceData() throws IOException {
+		String label = getString(R.string.stats_label_price);;
+		String value = "-";
+		if (total.getGallons() > 0) {
+			double price = total.getCost()/total.getGallons();
+			value = String.format("%s %s",
+					CurrencyManager.getInstance().getSymbolicFormatter().format(price),
+					units.getLiquidVolumeRatioLabel());
+		}
+		appendTableRow(new String[]{label,value});
+		
+		CurrencyFormatter formatter = CurrencyManager.getInstance().getSymbolicFormatter();
+		appendDispersionData(price,
+				R.string.stats_label_price_median,
+				R.string.stats_label_price_stddev,
+				formatter,units.getLiquidVolumeRatioLabel());
+	}
+	
+	/**
+	 * Appends cost per distance statistical data to the table.
+	 */
+	private void appendCostPerDistanceData() throws IOException {
+		CurrencyFormatter formatter = CurrencyManager.getInstance().getSymbolicFractionalFormatter();
+		appendDispersionData(costPerDistance,
+				R.string.stats_label_cost_per_distance_median,
+				R.string.stats_label_cost_per_distance_stddev,
+				formatter,units.getDistanceRatioLabel());
+	}
+	
+	/**
+	 * Appends median, percentile and standard deviation rows for a set 
+	 * of currency values to the table.
+	 * @param stats The statistics for the values.
+	 * @param medianLabel Resource id of the label for the median row.
+	 * @param stddevLabel Resource id of the label for the standard deviation row.
+	 * @param formatter The formatter for the currency values.
+	 * @param ratio A label for the unit of measure of the values (example: "per gallon").
+	 */
+	private void appendDispersionData(StreamingStatistics stats, int medianLabel, int stddevLabel, 
+			CurrencyFormatter formatter, String ratio) throws IOException {
+		
+		String label;
+		String value;
+		
+		// median and percentiles
+		label = getString(medianLabel);
+		value = "-";
+		if (stats.getCount() > 0) {
+			value = String.format(App.getLocale(),getString(R.string.stats_calc_percentiles),
+					formatter.format(stats.getMedian()) + " " + ratio,
+					formatter.format(stats.getPercentile10()),
+					formatter.format(stats.getPercentile90()));
+			value = value.replace("(","<br/>(");
+		}
+		appendTableRow(new String[]{label,value});
+		
+		// standard deviation
+		label = getString(stddevLabel);
+		value = "-";
+		if (stats.getCount() > 1) {
+			value = formatter.format(stats.getStandardDeviation()) + " " + ratio;
+		}
+		appendTableRow(new String[]{label,value});
+	}
+
+	/**
+	 * Appends rows comparing totals for the current period with the 
+	 * same period in the prior year to the table.
+	 */
+	private void appendComparisonData() throws IOException {
+		
+		CurrencyFormatter formatter = CurrencyManager.getInstance().getSymbolicFormatter();
+		
+		appendTableHeaderRow(getString(R.string.stats_label_comparison),"2");
+		
+		appendComparisonRow(R.string.stats_label_distance,
+				String.format(App.getLocale(),"%d %s",current.getDistance(),units.getDistanceLabelLowerCase()),
+				String.format(App.getLocale(),"%d",prior.getDistance()),
+				current.getDistance(),prior.getDistance());
+		
+		appendComparisonRow(R.string.stats_label_gallons,
+				String.format(App.getLocale(),"%.3f %s",current.getGallons(),units.getLiquidVolumeLabelLowerCase()),
+				String.format(App.getLocale(),"%.3f",prior.getGallons()),
+				current.getGallons(),prior.getGallons());
+		
+		appendComparisonRow(R.string.stats_label_cost,
+				formatter.format(current.getCost()),
+				formatter.format(prior.getCost()),
+				current.getCost(),prior.getCost());
+		
+		appendComparisonRow(R.string.stats_label_price,
+				formatter.format(current.getPrice()) + " " + units.getLiquidVolumeRatioLabel(),
+				formatter.format(prior.getPrice()),
+				current.getPrice(),prior.getPrice());
+		
+		appendComparisonRow(R.string.stats_label_mileage_avg,
+				String.format(App.getLocale(),"%.2f %s",current.getMileage(),units.getMileageLabel()),
+				String.format(App.getLocale(),"%.2f",prior.getMileage()),
+				current.getMileage(),prior.getMileage());
+	}
+	
+	/**
+	 * Appends a row comparing a current period value with the prior 
+	 * year value to the table.
+	 * @param id Resource id of the row label.
+	 * @param now The formatted current period value.
+	 * @param then The formatted prior year value.
+	 * @param a The current period value.
+	 * @param b The prior year value.
+	 */
+	private void appendComparisonRow(int id, String now, String then, double a, double b) throws IOException {
+		String delta = "-";
+		if (b != 0) {
+			delta = String.format(App.getLocale(),"%+.1f%%",((a - b) * 100) / b);
+		}
+		String label = getString(id);
+		String value = String.format(App.getLocale(),getString(R.string.stats_calc_comparison),now,then,delta);
+		value = value.replace("(","<br/>(");
+		appendTableRow(new String[]{label,value});
+	}
+
+	/**
+	 * Appends mileage statistical data to the table.
+	 */
+	private void appendMileageData() throws IOException {
+		
+		int count = mileage.getCount();
+		
+		String label;
+		String value;
+
+		// average
+		label = getString(R.string.stats_label_mileage_avg);
+		value = "-";
+		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",mileage.getMean(),units.getMileageLabel());
+		appendTableRow(new String[]{label,value});
+		
+		// minimum
+		label = getString(R.string.stats_label_mileage_min);
+		value = "-";
+		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",mileage.getMinimum(),units.getMileageLabel());
+		appendTableRow(new String[]{label,value});
+
+		// maximum
+		label = getString(R.string.stats_label_mileage_max);
+		value = "-";
+		if (count > 0) 	value = String.format(App.getLocale(),"%.2f %s",mileage.getMaximum(),units.getMileageLabel());
+		appendTableRow(new String[]{label,value});
+		
+		// median and percentiles
+		label = getString(R.string.stats_label_mileage_median);
+		value = "-";
+		if (count > 0) {
+			value = String.format(App.getLocale(),getString(R.string.stats_calc_percentiles),
+					String.format(App.getLocale(),"%.2f %s",mileage.getMedian(),units.getMileageLabel()),
+					String.format(App.getLocale(),"%.2f",mileage.getPercentile10()),
+					String.format(App.getLocale(),"%.2f",mileage.getPercentile90()));
+			value = value.replace("(","<br/>(");
+		}
+		appendTableRow(new String[]{label,value});
+
+		// standard deviation
+		label = getString(R.string.stats_label_mileage_stddev);
+		value = "-";
+		if (count > 1) 	value = String.format(App.getLocale(),"%.2f %s",mileage.getStandardDeviation(),units.getMileageLabel());
+		appendTableRow(new String[]{label,value});
+	}
+	
+	/**
+	 * Returns an HTML property definition in the form of: attribute="value".
+	 * @param attribute The attribute name of the property.
+	 * @param value The value to be assigned to the property.
+	 * @return The property definition String.
+	 */
+	private String property(String attribute, String value) {
+		return String.format(" %s=\"%s\"", attribute, value);
+	}
+	
+	/**
+	 * Convenience method to retrieve a String resource.
+	 * @param id The desired resource identifier. 
+	 * @return The String data associated with the resource.
+	 * @see android.content.res.Resources#getString(int id)
+	 */
+	private String getString(int id) {
+		return App.getContext().getResources().getString(id);
+	}
+	
+}
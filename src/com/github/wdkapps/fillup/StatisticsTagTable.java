@@ -0,0 +1,116 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A table for display of statistics for the gas records with each tag
+ * (see NoteTags), derived from totals grouped by tag in the gas log.
+ */
+public class StatisticsTagTable implements HtmlData {
+
+	/// the totals for each tag
+	private final List<TagTotals> data;
+	
+	/// a title for the table
+	private final String title;
+
+	/// css class value
+	private final String cssClass = "month";
+	
+	/// end of line string
+	private static final String newline = System.getProperty("line.separator");
+	
+	/**
+	 * Constructs an instance of StatisticsTagTable.
+	 * @param data The totals for each tag.
+	 * @param title The table title.
+	 */
+	public StatisticsTagTable(List<TagTotals> data, String title) {
+		this.data = data;
+		this.title = title;
+	}
+
+	/**
+	 * Returns the table as an HTML String.
+	 * @see com.github.wdkapps.fillup.HtmlData#getHtml()
+	 */
+	@Override
+	public String getHtml() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			writeTo(sb);
+		} catch (IOException e) {
+			// not possible - StringBuilder does not throw IOException
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Writes the table as HTML data to a specified destination.
+	 * @see com.github.wdkapps.fillup.HtmlData#writeTo(java.lang.Appendable)
+	 */
+	@Override
+	public void writeTo(Appendable html) throws IOException {
+		
+		Units units = SettingsSnapshot.getInstance().getUnits();
+		String format = App.getContext().getString(R.string.stats_calc_tag);
+		
+		html.append("<table"+property("class",cssClass)+">").append(newline);
+		
+		// header row 
+		html.append("<tr"+property("class",cssClass)+">").append(newline);
+		html.append("  <th"+property("class",cssClass)+property("colspan","2")+">").append(title).append("</th>").append(newline);
+		html.append("</tr>").append(newline);
+		
+		// one row per tag (odd rows marked to support alternating colors for older browsers)
+		int row = 0;
+		for (TagTotals totals : data) {
+			String label = NoteTags.getLabel(totals.getTag());
+			String value = String.format(App.getLocale(),format,
+					totals.getCount(),
+					totals.getGallons(),
+					units.getLiquidVolumeLabelLowerCase(),
+					CurrencyManager.getInstance().getSymbolicFormatter().format(totals.getCost()));
+			String cssRow = ((row & 1) == 1) ? cssClass+" odd" : cssClass;
+			html.append("<tr"+property("class",cssRow)+">").append(newline);
+			html.append("  <td"+property("class",cssClass)+">").append(label).append("</td>").append(newline);
+			html.append("  <td"+property("class",cssClass)+">").append(value).append("</td>").append(newline);
+			html.append("</tr>").append(newline);
+			row++;
+		}
+		
+		html.append("</table>").append(newline);
+	}
+	
+	/**
+	 * Returns an HTML property definition in the form of: attribute="value".
+	 * @param attribute The attribute name of the property.
+	 * @param value The value to be assigned to the property.
+	 * @return The property definition String.
+	 */
+	private String property(String attribute, String value) {
+		return String.format(" %s=\"%s\"", attribute, value);
+	}
+
+}
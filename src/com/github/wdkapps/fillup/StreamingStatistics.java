@@ -0,0 +1,139 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+/**
+ * Accumulates descriptive statistics for a stream of values in a single
+ * pass, without storing the values: count, minimum, maximum, mean, 
+ * standard deviation, and estimates of the median and the 10th and 90th 
+ * percentiles.
+ */
+public class StreamingStatistics {
+	
+	/// number of values added
+	private int count = 0;
+	
+	/// smallest value added
+	private double min = Double.NaN;
+	
+	/// largest value added
+	private double max = Double.NaN;
+	
+	/// running mean of the values added
+	private double mean = 0;
+	
+	/// running sum of squared differences from the mean
+	private double m2 = 0;
+	
+	/// percentile estimates
+	private final QuantileEstimator p10 = new QuantileEstimator(0.10);
+	private final QuantileEstimator p50 = new QuantileEstimator(0.50);
+	private final QuantileEstimator p90 = new QuantileEstimator(0.90);
+	
+	/**
+	 * Adds a value to the statistics.
+	 * @param x The value to add.
+	 */
+	public void add(double x) {
+		count++;
+		if (count == 1) {
+			min = x;
+			max = x;
+		} else {
+			min = Math.min(min,x);
+			max = Math.max(max,x);
+		}
+		
+		// Welford's method for numerically stable running variance
+		double delta = x - mean;
+		mean += delta / count;
+		m2 += delta * (x - mean);
+		
+		p10.add(x);
+		p50.add(x);
+		p90.add(x);
+	}
+	
+	/**
+	 * Returns the number of values added.
+	 * @return The count.
+	 */
+	public int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Returns the smallest value added.
+	 * @return The minimum, or NaN if no values have been added.
+	 */
+	public double getMinimum() {
+		return min;
+	}
+	
+	/**
+	 * Returns the largest value added.
+	 * @return The maximum, or NaN if no values have been added.
+	 */
+	public double getMaximum() {
+		return max;
+	}
+	
+	/**
+	 * Returns the mean of the values added.
+	 * @return The mean, or NaN if no values have been added.
+	 */
+	public double getMean() {
+		return (count > 0) ? mean : Double.NaN;
+	}
+	
+	/**
+	 * Returns the (sample) standard deviation of the values added.
+	 * @return The standard deviation, or NaN if fewer than two values 
+	 * have been added.
+	 */
+	public double getStandardDeviation() {
+		return (count > 1) ? Math.sqrt(m2 / (count-1)) : Double.NaN;
+	}
+	
+	/**
+	 * Returns an estimate of the median of the values added.
+	 * @return The median, or NaN if no values have been added.
+	 */
+	public double getMedian() {
+		return p50.getValue();
+	}
+	
+	/**
+	 * Returns an estimate of the 10th percentile of the values added.
+	 * @return The 10th percentile, or NaN if no values have been added.
+	 */
+	public double getPercentile10() {
+		return p10.getValue();
+	}
+	
+	/**
+	 * Returns an estimate of the 90th percentile of the values added.
+	 * @return The 90th percentile, or NaN if no values have been added.
+	 */
+	public double getPercentile90() {
+		return p90.getValue();
+	}
+
+}
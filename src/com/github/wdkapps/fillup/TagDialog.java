@@ -0,0 +1,95 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.List;
+
+import android.app.AlertDialog;
+import android.app.Dialog;
+import android.content.Context;
+import android.content.DialogInterface;
+import android.content.res.Resources;
+
+/**
+ * A dialog allowing a user to select a tag (see NoteTags) to limit the 
+ * data displayed to the records with that tag, or all records.
+ */
+public class TagDialog {
+	
+	protected final static String TAG = TagDialog.class.getName();
+	
+    /**
+	 * The activity that creates an instance of this dialog must
+     * implement this interface in order to receive event callbacks.
+     */
+    public interface Listener {
+        /**
+         * Called when the user selects an item to report the selection to the listener.
+		 * @param id The id value specified when the dialog was created.
+         * @param tag The selected tag, or null for all records.
+         */
+        public void onTagDialogResponse(int id, String tag);
+    }
+    
+    /**
+     * Creates an instance of the dialog.
+     * @param context The Context of the activity/application creating the dialog.
+     * @param listener A Listener to notify of dialog events.
+     * @param id An integer identifying the dialog (meaningful only to the owner).
+     * @param tags The tags to select from.
+     * @param selected The currently selected tag (null = all records).
+     * @return The Dialog.
+     */
+    public static Dialog create(
+    		Context context, 
+    		final Listener listener, 
+    		final int id,
+    		final List<String> tags,
+    		String selected) {
+
+    	final Resources res = context.getResources();
+    	
+    	// first item selects all records
+    	String[] items = new String[tags.size() + 1];
+    	items[0] = res.getString(R.string.tag_all_label);
+    	for (int n = 0; n < tags.size(); n++) {
+    		items[n+1] = NoteTags.getLabel(tags.get(n));
+    	}
+    	int checked = (selected == null) ? 0 : tags.indexOf(selected) + 1;
+    	
+        // Build the dialog and set up the click handlers
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder
+        .setTitle(R.string.title_tag_dialog)
+        .setIcon(res.getDrawable(R.drawable.ic_dialog_menu_generic))
+        .setSingleChoiceItems(items, checked, new DialogInterface.OnClickListener() {
+        	public void onClick(DialogInterface dialog, int which) {
+        		String tag = ((which > 0) && (which <= tags.size())) ? tags.get(which - 1) : null;
+        		listener.onTagDialogResponse(id,tag);
+                dialog.dismiss();
+        	}
+        });
+        
+        // return the dialog
+        return builder.create();
+    }
+
+}
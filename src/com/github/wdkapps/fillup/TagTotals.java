@@ -0,0 +1,87 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+/**
+ * Totals for the gasoline records with a specific tag (see NoteTags), 
+ * as read from the log by GasLog.readTagTotals().
+ */
+public class TagTotals {
+	
+	/// the tag (without the leading '#')
+	private final String tag;
+	
+	/// the number of records with the tag
+	private final int count;
+	
+	/// the total amount of gasoline purchased
+	private final double gallons;
+	
+	/// the total cost of the gasoline purchased
+	private final double cost;
+	
+	/**
+	 * Constructs an instance of TagTotals.
+	 * @param tag The tag.
+	 * @param count The number of records with the tag.
+	 * @param gallons The total amount of gasoline purchased.
+	 * @param cost The total cost of the gasoline purchased.
+	 */
+	public TagTotals(String tag, int count, double gallons, double cost) {
+		this.tag = tag;
+		this.count = count;
+		this.gallons = gallons;
+		this.cost = cost;
+	}
+
+	/**
+	 * Getter method for the tag.
+	 * @return The tag (without the leading '#').
+	 */
+	public String getTag() {
+		return tag;
+	}
+
+	/**
+	 * Getter method for the number of records.
+	 * @return The number of records with the tag.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Getter method for the amount of gasoline purchased.
+	 * @return The total amount of gasoline.
+	 */
+	public double getGallons() {
+		return gallons;
+	}
+
+	/**
+	 * Getter method for the cost of the gasoline purchased.
+	 * @return The total cost.
+	 */
+	public double getCost() {
+		return cost;
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An index of trip data, derived from a list of gas records, that 
+ * provides totals for an arbitrary period of time without iterating 
+ * over the records. Trips are ordered by end date and the running 
+ * totals (prefix sums) of each attribute are stored, so the totals for 
+ * a period are the difference between the running totals at its end
+ * points, which are located by binary search.
+ */
+public class TripIndex {
+	
+	/// trip end times (milliseconds), in ascending order
+	private final long[] times;
+	
+	/// running totals of trip attributes, [n] = total of the first n trips 
+	private final long[] distance;
+	private final double[] gallons;
+	private final double[] cost;
+	private final long[] calcDistance;
+	private final double[] calcGallons;
+	
+	/// the units of measurement for mileage calculations
+	private final Units units;
+	
+	/**
+	 * Constructs an instance of TripIndex.
+	 * @param data A list of gas records for trip calculations, sorted 
+	 * by odometer value, with mileage calculations performed.
+	 */
+	public TripIndex(List<GasRecord> data) {
+		this(data,null);
+	}
+	
+	/**
+	 * Constructs an instance of TripIndex that includes only the trips 
+	 * ending at selected gas records (ie. the records with a specific tag).
+	 * @param data A list of gas records for trip calculations, sorted 
+	 * by odometer value, with mileage calculations performed.
+	 * @param ids The ids of the selected records (null = all records).
+	 */
+	public TripIndex(List<GasRecord> data, Set<Integer> ids) {
+		
+		this.units = SettingsSnapshot.getInstance().getUnits();
+		
+        // derive trip information from the gas record data - each trip spans two gas records
+		// note: the first trip starts and ends at the first record (as for MonthlyTrips) 
+		List<TripRecord> trips = new ArrayList<TripRecord>(data.size());
+        if (!data.isEmpty()) {
+            Iterator<GasRecord> iterator = data.iterator();
+        	GasRecord startGas = iterator.next();
+        	if (MonthlyTrips.isSelected(startGas,ids)) trips.add(new TripRecord(startGas,startGas));
+        	while(iterator.hasNext()) {
+        		GasRecord endGas = iterator.next();
+        		if (MonthlyTrips.isSelected(endGas,ids)) trips.add(new TripRecord(startGas,endGas));
+        		startGas = endGas;
+        	}
+        }
+        
+        // order trips by date
+        Collections.sort(trips,new Comparator<TripRecord>() {
+			@Override
+			public int compare(TripRecord lhs, TripRecord rhs) {
+				return lhs.getEndDate().compareTo(rhs.getEndDate());
+			}
+        });
+        
+        // calculate running totals
+        int n = trips.size();
+        times = new long[n];
+        distance = new long[n+1];
+        gallons = new double[n+1];
+        cost = new double[n+1];
+        calcDistance = new long[n+1];
+        calcGallons = new double[n+1];
+        for (int i = 0; i < n; i++) {
+        	TripRecord trip = trips.get(i);
+        	times[i] = trip.getEndDate().getTime();
+        	distance[i+1] = distance[i] + trip.getDistance();
+        	gallons[i+1] = gallons[i] + trip.getGallons();
+        	cost[i+1] = cost[i] + trip.getCost();
+        	calcDistance[i+1] = calcDistance[i];
+        	calcGallons[i+1] = calcGallons[i];
+        	for (GasRecord record : trip.getGasRecords()) {
+    			if (!record.hasCalculation()) continue;
+    			if (record.isCalculationHidden()) continue;
+    			MileageCalculation calc = record.getCalculation();
+    			calcDistance[i+1] += calc.getDistanceDriven();
+    			calcGallons[i+1] += calc.getGasolineUsed();
+        	}
+        }
+	}
+	
+	/**
+	 * Returns the totals for trips ending within a specified period.
+	 * @param start The start of the period (inclusive).
+	 * @param end The end of the period (exclusive).
+	 * @return The PeriodTotals.
+	 */
+	public PeriodTotals getTotals(Date start, Date end) {
+		int i = indexOf(start.getTime());
+		int j = Math.max(i,indexOf(end.getTime()));
+		MileageCalculation calc = new MileageCalculation(
+				(int)(calcDistance[j] - calcDistance[i]),
+				(float)(calcGallons[j] - calcGallons[i]),
+				units);
+		return new PeriodTotals(
+				(int)(distance[j] - distance[i]),
+				(float)(gallons[j] - gallons[i]),
+				cost[j] - cost[i],
+				calc);
+	}
+	
+	/**
+	 * Returns the index of the first trip ending at or after a specified
+	 * time (binary search).
+	 * @param time The time in milliseconds.
+	 * @return The index (number of trips if all trips end before the time).
+	 */
+	private int indexOf(long time) {
+		int low = 0;
+		int high = times.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+package com.github.wdkapps.fillup;
+
+import java.util.Date;
+
+/**
+ * An immutable summary of the gas log data for a vehicle: the number of 
+ * gas records, the current odometer value, the date of the last fill up, 
+ * and the totals for the last full tank mileage calculation. Maintained 
+ * by GasLog as records are written, so that the summary can be obtained 
+ * without reading the database.
+ */
+public class VehicleSummary {
+	
+	/// the vehicle 
+	private final Vehicle vehicle;
+	
+	/// the number of gas records for the vehicle
+	private final int count;
+	
+	/// the current odometer value (-1 if no records)
+	private final int odometer;
+	
+	/// the date of the last fill up (null if no records)
+	private final Date date;
+	
+	/// distance driven for the last full tank mileage calculation (0 if none)
+	private final int distance;
+	
+	/// gasoline used for the last full tank mileage calculation (0 if none)
+	private final float gallons;
+	
+	/**
+	 * Constructs an instance of VehicleSummary for a vehicle without records.
+	 * @param vehicle The Vehicle.
+	 */
+	public VehicleSummary(Vehicle vehicle) {
+		this(vehicle,0,-1,null,0,0f);
+	}
+	
+	/**
+	 * Constructs an instance of VehicleSummary.
+	 * @param vehicle The Vehicle.
+	 * @param count The number of gas records for the vehicle.
+	 * @param odometer The current odometer value (-1 if no records).
+	 * @param date The date of the last fill up (null if no records).
+	 * @param distance Distance driven for the last full tank calculation.
+	 * @param gallons Gasoline used for the last full tank calculation.
+	 */
+	public VehicleSummary(Vehicle vehicle, int count, int odometer, Date date, int distance, float gallons) {
+		this.vehicle = vehicle;
+		this.count = count;
+		this.odometer = odometer;
+		this.date = date;
+		this.distance = distance;
+		this.gallons = gallons;
+	}
+
+	/**
+	 * Getter method for the vehicle attribute.
+	 * @return The Vehicle.
+	 */
+	public Vehicle getVehicle() {
+		return vehicle;
+	}
+
+	/**
+	 * Getter method for the record count attribute.
+	 * @return The number of gas records for the vehicle.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Getter method for the odometer attribute.
+	 * @return The current odometer value (-1 if no records).
+	 */
+	public int getOdometer() {
+		return odometer;
+	}
+
+	/**
+	 * Getter method for the date attribute.
+	 * @return The date of the last fill up (null if no records).
+	 */
+	public Date getDate() {
+		return (date == null) ? null : new Date(date.getTime());
+	}
+	
+	/**
+	 * Determines if there is a full tank mileage calculation for the vehicle.
+	 * @return true if there is a mileage calculation.
+	 */
+	public boolean hasMileage() {
+		return (distance > 0) && (gallons > 0);
+	}
+	
+	/**
+	 * Returns the mileage for the last full tank in the currently 
+	 * selected units of measurement.
+	 * @return The calculated mileage (0 if none).
+	 */
+	public float getMileage() {
+		Units units = SettingsSnapshot.getInstance().getUnits();
+		return new MileageCalculation(distance,gallons,units).getMileage();
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import android.os.Debug;
+import android.test.AndroidTestCase;
+
+/**
+ * Tests that debug logging guarded as recommended by DebugLog allocates
+ * nothing when logging is disabled. Allocations by the test thread are 
+ * counted with Debug.startAllocCounting() around the guarded calls.
+ * <p>
+ * NOTE:
+ * DebugLog.ENABLED is true in debug builds (the usual build for running 
+ * tests), where the guarded call must allocate, so the test then verifies 
+ * that the allocations are counted. The same pattern guarded by a false 
+ * constant (which is what release builds compile) must allocate nothing.
+ */
+public class DebugLogTest extends AndroidTestCase {
+	
+	/// a tag string for debug logging
+	private static final String TAG = DebugLogTest.class.getName();
+	
+	/// a compile time constant equivalent to DebugLog.ENABLED in a release build
+	private static final boolean DISABLED = false;
+	
+	/// number of guarded calls made in each measurement
+	private static final int CALLS = 1000;
+	
+	/**
+	 * Interface for the guarded calls to measure.
+	 */
+	private interface Calls {
+		
+		/**
+		 * Makes a number of guarded debug log calls.
+		 * @param count The number of calls.
+		 */
+		void run(int count);
+	}
+	
+	/**
+	 * Counts the objects allocated by the calling thread while making a 
+	 * number of guarded calls, after making the calls once to initialize 
+	 * any classes used.
+	 * @param calls The calls to measure.
+	 * @return The number of objects allocated.
+	 */
+	private static int countAllocations(Calls calls) {
+		calls.run(1);
+		Debug.startAllocCounting();
+		try {
+			Debug.resetThreadAllocCount();
+			calls.run(CALLS);
+			return Debug.getThreadAllocCount();
+		} finally {
+			Debug.stopAllocCounting();
+			Debug.resetThreadAllocCount();
+		}
+	}
+	
+	/**
+	 * A call guarded by a false constant (as in a release build) allocates
+	 * nothing, although its message is built by concatenation.
+	 */
+	public void testDisabledGuardAllocatesNothing() {
+		int count = countAllocations(new Calls() {
+			@Override
+			public void run(int count) {
+				for (int x = 0; x < count; x++) {
+					if (DISABLED) DebugLog.d(TAG,"x="+x+" y="+(x*2));
+				}
+			}
+		});
+		assertEquals(0,count);
+	}
+	
+	/**
+	 * A call guarded by DebugLog.ENABLED allocates nothing when logging 
+	 * is disabled, and the message allocations are counted when enabled.
+	 */
+	public void testDebugLogGuard() {
+		int count = countAllocations(new Calls() {
+			@Override
+			public void run(int count) {
+				for (int x = 0; x < count; x++) {
+					if (DebugLog.ENABLED) DebugLog.d(TAG,"x="+x+" y="+(x*2));
+				}
+			}
+		});
+		if (DebugLog.ENABLED) {
+			assertTrue("allocations not counted",count >= CALLS);
+		} else {
+			assertEquals(0,count);
+		}
+	}
+	
+	/**
+	 * A call with a constant message (which may omit the guard) allocates 
+	 * nothing when logging is disabled.
+	 */
+	public void testConstantMessage() {
+		if (DebugLog.ENABLED) return;
+		int count = countAllocations(new Calls() {
+			@Override
+			public void run(int count) {
+				for (int x = 0; x < count; x++) {
+					DebugLog.d(TAG,"constant message");
+				}
+			}
+		});
+		assertEquals(0,count);
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Stress tests for the formatters shared between the UI thread and 
+ * background threads: a single CurrencyFormatter used by many threads 
+ * while its locale is changed, and the per-thread date formatters of 
+ * GasRecord. The output of every call is compared with the expected 
+ * value, so that corruption of a shared formatter is detected.
+ */
+public class FormatterConcurrencyTest extends TestCase {
+	
+	/// number of threads formatting concurrently
+	private static final int THREADS = 8;
+	
+	/// number of values formatted by each thread (in each phase)
+	private static final int ITERATIONS = 5000;
+	
+	/// maximum number of failures reported
+	private static final int MAX_REPORTED = 5;
+	
+	/// descriptions of the failures detected by all threads
+	private final List<String> failures = Collections.synchronizedList(new ArrayList<String>());
+	
+	/**
+	 * Returns the expected output of a numeric currency formatter with 
+	 * two fraction digits and no grouping.
+	 * @param cents The value in cents.
+	 * @param separator The decimal separator for the locale.
+	 * @return The expected String.
+	 */
+	private static String expected(long cents, char separator) {
+		long fraction = cents % 100;
+		return (cents / 100) + String.valueOf(separator) + ((fraction < 10) ? "0" : "") + fraction;
+	}
+	
+	/**
+	 * Records a failure detected by a thread.
+	 * @param message Description of the failure.
+	 */
+	private void failure(String message) {
+		failures.add(Thread.currentThread().getName() + ": " + message);
+	}
+	
+	/**
+	 * Starts a set of threads and waits for them all to complete.
+	 * @param threads The threads.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static void startAndJoin(Thread[] threads) throws InterruptedException {
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+	
+	/**
+	 * Asserts that no thread detected a failure.
+	 */
+	private void assertNoFailures() {
+		synchronized (failures) {
+			if (!failures.isEmpty()) {
+				List<String> reported = failures.subList(0,Math.min(MAX_REPORTED,failures.size()));
+				fail(failures.size() + " failures, including " + reported);
+			}
+		}
+	}
+	
+	/**
+	 * Many threads format values with a single shared CurrencyFormatter
+	 * while its locale is switched between US (decimal point) and GERMANY
+	 * (decimal comma). Each result must be correct for one of the two 
+	 * locales. After the final locale change, each thread must format
+	 * with the final locale (its copy of the format is replaced).
+	 */
+	public void testSharedCurrencyFormatter() throws Exception {
+		
+		final CurrencyFormatter formatter = new CurrencyFormatter(true);
+		formatter.setLocale(Locale.US);
+		
+		final CountDownLatch switching = new CountDownLatch(THREADS);
+		final CountDownLatch switched = new CountDownLatch(1);
+		
+		Thread[] threads = new Thread[THREADS];
+		for (int n = 0; n < THREADS; n++) {
+			final int first = n * ITERATIONS;
+			threads[n] = new Thread("formatter-" + n) {
+				@Override
+				public void run() {
+					try {
+						// phase 1: the locale changes while formatting
+						try {
+							for (int i = 0; i < ITERATIONS; i++) {
+								long cents = 123456L * (first + i) % 10000000L;
+								String actual = formatter.format(cents / 100d);
+								if (!actual.equals(expected(cents,'.')) && !actual.equals(expected(cents,','))) {
+									failure("formatted " + cents + " cents as " + actual);
+								}
+							}
+						} finally {
+							switching.countDown();
+						}
+						
+						// phase 2: the final locale must be used
+						switched.await();
+						for (int i = 0; i < ITERATIONS; i++) {
+							long cents = first + i;
+							String actual = formatter.format(cents / 100d);
+							if (!actual.equals(expected(cents,','))) {
+								failure("after setLocale() formatted " + cents + " cents as " + actual);
+							}
+						}
+					} catch (Throwable t) {
+						failure(t.toString());
+					}
+				}
+			};
+		}
+		
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		
+		// switch locales every millisecond until all threads have completed phase 1
+		boolean us = true;
+		while (!switching.await(1,TimeUnit.MILLISECONDS)) {
+			us = !us;
+			formatter.setLocale(us ? Locale.US : Locale.GERMANY);
+		}
+		formatter.setLocale(Locale.GERMANY);
+		switched.countDown();
+		
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertNoFailures();
+		assertEquals(Locale.GERMANY,formatter.getLocale());
+	}
+	
+	/**
+	 * Many threads convert records to CSV and back and format their dates,
+	 * using the per-thread date formatters of GasRecord. The values read
+	 * from CSV must match the original record, and the displayed date must
+	 * match that of a formatter confined to the thread.
+	 */
+	public void testGasRecordFormatters() throws Exception {
+		
+		// a minute after midnight, January 1 2014 (CSV has minute resolution)
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2014,Calendar.JANUARY,1,0,1);
+		final long base = calendar.getTimeInMillis();
+		final long minute = 60 * 1000L;
+		
+		Thread[] threads = new Thread[THREADS];
+		for (int n = 0; n < THREADS; n++) {
+			final int first = n * ITERATIONS;
+			threads[n] = new Thread("record-" + n) {
+				@Override
+				public void run() {
+					try {
+						java.text.DateFormat dateFormat = 
+								android.text.format.DateFormat.getDateFormat(App.getContext());
+						for (int i = 0; i < ITERATIONS; i++) {
+							int index = first + i;
+							
+							// a different day and time for each record
+							GasRecord record = new GasRecord();
+							record.setDate(new Date(base + index * 97L * minute));
+							record.setOdometer(index);
+							record.setGallons(10f);
+							record.setCost((double)(index % 1000));
+							record.setNotes("record " + index);
+							
+							String csv = record.toStringCSV();
+							GasRecord copy = new GasRecord(csv);
+							if (!copy.getDate().equals(record.getDate()) ||
+								!copy.getOdometer().equals(record.getOdometer()) ||
+								!copy.getCost().equals(record.getCost())) {
+								failure("CSV " + csv + " read as " + copy.toStringCSV());
+							}
+							
+							String expected = dateFormat.format(record.getDate());
+							String actual = record.getDateString();
+							if (!actual.equals(expected)) {
+								failure("date " + expected + " formatted as " + actual);
+							}
+						}
+					} catch (Throwable t) {
+						failure(t.toString());
+					}
+				}
+			};
+		}
+		startAndJoin(threads);
+		
+		assertNoFailures();
+	}
+
+}
@@ -0,0 +1,261 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.io.File;
+
+import android.content.ContentValues;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+/**
+ * Benchmark of sequential record updates: the hidden calculation flag of 
+ * each of 10k records is toggled, one update at a time, both with a 
+ * precompiled, parameter-bound statement (as GasLog writes records) and 
+ * with an SQL statement built and compiled for each update (as GasLog 
+ * wrote records previously, via SQLiteDatabase.update()). 
+ * <p>
+ * NOTE:
+ * The updates are applied to a scratch database (in the cache directory) 
+ * created with the same tables, indexes and triggers as the log, so the 
+ * log itself is not modified. The elapsed times are written to the log 
+ * (logcat tag GasLogUpdateBenchmark).
+ */
+public class GasLogUpdateBenchmark extends AndroidTestCase {
+	
+	/// logcat tag for the results
+	private static final String TAG = "GasLogUpdateBenchmark";
+	
+	/// number of records updated
+	private static final int RECORDS = 10000;
+	
+	/// the vehicle id of the records
+	private static final int VID = 1;
+	
+	/// the UPDATE statement compiled once (same as GasLog.UPDATE_RECORD)
+	private static final String UPDATE_RECORD = 
+			"UPDATE Records SET _vid=?,time=?,odometer=?,gallons=?,fulltank=?,hidden=?,cost=?,notes=? WHERE _id=?";
+	
+	/// the scratch database file
+	private File file;
+	
+	/// the scratch database
+	private SQLiteDatabase db;
+	
+	/**
+	 * Creates the scratch database and a vehicle with RECORDS records.
+	 * @see android.test.AndroidTestCase#setUp()
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = new File(getContext().getCacheDir(),"benchmark.db");
+		deleteDatabaseFiles();
+		db = SQLiteDatabase.openOrCreateDatabase(file,null);
+		
+		db.beginTransaction();
+		try {
+			for (String[] commands : new String[][] {
+					GasLog.DATABASE_CREATE, GasLog.DATABASE_CREATE_INDEXES, GasLog.DATABASE_CREATE_TAGS}) {
+				for (String sql : commands) {
+					db.execSQL(sql);
+				}
+			}
+			db.execSQL("INSERT INTO Vehicles (_id,name,tanksize) VALUES (" + VID + ",'benchmark',15)");
+			SQLiteStatement insert = db.compileStatement(
+					"INSERT INTO Records (_id,_vid,time,odometer,gallons,fulltank,hidden,cost,notes) VALUES (?,?,?,?,?,?,?,?,?)");
+			for (int id = 1; id <= RECORDS; id++) {
+				insert.bindLong(1,id);
+				insert.bindLong(2,VID);
+				insert.bindLong(3,getTime(id));
+				insert.bindLong(4,getOdometer(id));
+				insert.bindDouble(5,getGallons(id));
+				insert.bindLong(6,1);
+				insert.bindLong(7,0);
+				insert.bindDouble(8,getCost(id));
+				insert.bindString(9,getNotes(id));
+				insert.executeInsert();
+			}
+			insert.close();
+			db.setTransactionSuccessful();
+		} finally {
+			db.endTransaction();
+		}
+	}
+	
+	/**
+	 * Closes and deletes the scratch database.
+	 * @see android.test.AndroidTestCase#tearDown()
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		if (db != null) db.close();
+		deleteDatabaseFiles();
+		super.tearDown();
+	}
+	
+	/**
+	 * Deletes the scratch database file and its journal (if they exist).
+	 */
+	private void deleteDatabaseFiles() {
+		file.delete();
+		new File(file.getPath() + "-journal").delete();
+	}
+	
+	/**
+	 * Returns the time of a record (one day apart, from January 1 2014).
+	 * @param id The record id.
+	 * @return The time (milliseconds).
+	 */
+	private static long getTime(int id) {
+		return 1388577600000L + id * 86400000L;
+	}
+	
+	/**
+	 * Returns the odometer value of a record.
+	 * @param id The record id.
+	 * @return The odometer value.
+	 */
+	private static int getOdometer(int id) {
+		return id * 300;
+	}
+	
+	/**
+	 * Returns the gallons value of a record.
+	 * @param id The record id.
+	 * @return The gallons value.
+	 */
+	private static float getGallons(int id) {
+		return 10f + (id % 5);
+	}
+	
+	/**
+	 * Returns the cost value of a record.
+	 * @param id The record id.
+	 * @return The cost value.
+	 */
+	private static double getCost(int id) {
+		return 35.0 + (id % 20);
+	}
+	
+	/**
+	 * Returns the notes of a record.
+	 * @param id The record id.
+	 * @return The notes.
+	 */
+	private static String getNotes(int id) {
+		return "fill up " + id;
+	}
+	
+	/**
+	 * Updates each record with a precompiled, parameter-bound statement, 
+	 * in a transaction with the changed row count query (as GasLog.updateRecord()).
+	 * @param hidden The new value of the hidden calculation flag.
+	 * @return The elapsed time (milliseconds).
+	 */
+	private long updateWithStatement(boolean hidden) {
+		SQLiteStatement update = db.compileStatement(UPDATE_RECORD);
+		SQLiteStatement changes = db.compileStatement("SELECT changes()");
+		long start = System.nanoTime();
+		for (int id = 1; id <= RECORDS; id++) {
+			db.beginTransaction();
+			try {
+				update.clearBindings();
+				DatabaseUtils.bindObjectToProgram(update,1,VID);
+				DatabaseUtils.bindObjectToProgram(update,2,getTime(id));
+				DatabaseUtils.bindObjectToProgram(update,3,getOdometer(id));
+				DatabaseUtils.bindObjectToProgram(update,4,getGallons(id));
+				DatabaseUtils.bindObjectToProgram(update,5,true);
+				DatabaseUtils.bindObjectToProgram(update,6,hidden);
+				DatabaseUtils.bindObjectToProgram(update,7,getCost(id));
+				DatabaseUtils.bindObjectToProgram(update,8,getNotes(id));
+				update.bindLong(9,id);
+				update.execute();
+				assertEquals(1,changes.simpleQueryForLong());
+				db.setTransactionSuccessful();
+			} finally {
+				db.endTransaction();
+			}
+		}
+		long elapsed = (System.nanoTime() - start) / 1000000L;
+		update.close();
+		changes.close();
+		return elapsed;
+	}
+	
+	/**
+	 * Updates each record with SQLiteDatabase.update(), which builds and
+	 * compiles an SQL statement for each call (as GasLog did previously).
+	 * @param hidden The new value of the hidden calculation flag.
+	 * @return The elapsed time (milliseconds).
+	 */
+	private long updateWithSql(boolean hidden) {
+		long start = System.nanoTime();
+		for (int id = 1; id <= RECORDS; id++) {
+			ContentValues values = new ContentValues();
+			values.put("_id",id);
+			values.put("_vid",VID);
+			values.put("time",getTime(id));
+			values.put("odometer",getOdometer(id));
+			values.put("gallons",getGallons(id));
+			values.put("fulltank",true);
+			values.put("hidden",hidden);
+			values.put("cost",getCost(id));
+			values.put("notes",getNotes(id));
+			assertEquals(1,db.update("Records",values,"_id=" + id,null));
+		}
+		return (System.nanoTime() - start) / 1000000L;
+	}
+	
+	/**
+	 * Returns the number of records with the hidden calculation flag set.
+	 * @return The number of records.
+	 */
+	private long countHidden() {
+		return DatabaseUtils.longForQuery(db,"SELECT count(*) FROM Records WHERE hidden=1",null);
+	}
+	
+	/**
+	 * Toggles the hidden calculation flag of each record on and off again 
+	 * with each method, and logs the elapsed times. The methods alternate, 
+	 * so that neither benefits from running later (with a warmer cache).
+	 */
+	public void testToggleHidden() {
+		
+		long statementOn = updateWithStatement(true);
+		assertEquals(RECORDS,countHidden());
+		long sqlOff = updateWithSql(false);
+		assertEquals(0,countHidden());
+		
+		long sqlOn = updateWithSql(true);
+		assertEquals(RECORDS,countHidden());
+		long statementOff = updateWithStatement(false);
+		assertEquals(0,countHidden());
+		
+		Log.i(TAG,RECORDS + " sequential updates (hide, unhide):" +
+				" SQL " + sqlOn + " ms, " + sqlOff + " ms;" +
+				" statement " + statementOn + " ms, " + statementOff + " ms");
+	}
+	
+}
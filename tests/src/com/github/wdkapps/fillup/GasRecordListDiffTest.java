@@ -0,0 +1,164 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for GasRecordListDiff: classification of records as inserted, 
+ * removed, changed or moved, and reuse of unchanged record instances.
+ */
+public class GasRecordListDiffTest extends TestCase {
+	
+	/// the existing list of records (ids 1 to 4, ascending odometer)
+	private List<GasRecord> existing;
+	
+	/**
+	 * Creates a gas record.
+	 * @param id The record id.
+	 * @param odometer The odometer value.
+	 * @return The GasRecord.
+	 */
+	private static GasRecord record(int id, int odometer) {
+		GasRecord record = new GasRecord();
+		record.setID(id);
+		record.setOdometer(odometer);
+		record.setGallons(10f);
+		record.setCost(30d);
+		record.setFullTank(true);
+		return record;
+	}
+	
+	/**
+	 * Creates a new list containing copies of some of the existing records.
+	 * @param ids The ids of the records to copy, in order.
+	 * @return The List of copies.
+	 */
+	private List<GasRecord> copies(Integer... ids) {
+		List<GasRecord> list = new ArrayList<GasRecord>();
+		for (Integer id : ids) {
+			list.add(new GasRecord(existing.get(GasRecordList.findById(existing,id))));
+		}
+		return list;
+	}
+	
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		existing = new ArrayList<GasRecord>();
+		for (int id = 1; id <= 4; id++) {
+			existing.add(record(id,1000 * id));
+		}
+	}
+	
+	public void testUnchanged() {
+		GasRecordListDiff diff = new GasRecordListDiff(existing,copies(1,2,3,4));
+		assertTrue(diff.isEmpty());
+		assertFalse(diff.isStructural());
+		assertTrue(diff.getStaleRecords().isEmpty());
+		
+		// the existing instances are kept
+		for (int n = 0; n < existing.size(); n++) {
+			assertSame(existing.get(n),diff.getList().get(n));
+		}
+	}
+	
+	public void testInserted() {
+		List<GasRecord> list = copies(1,2,3,4);
+		list.add(2,record(5,2500));
+		GasRecordListDiff diff = new GasRecordListDiff(existing,list);
+		assertEquals(1,diff.getInsertedCount());
+		assertEquals(0,diff.getRemovedCount());
+		assertFalse(diff.isMoved());
+		assertTrue(diff.isStructural());
+		assertTrue(diff.getChangedPositions().isEmpty());
+		assertTrue(diff.getStaleRecords().isEmpty());
+		assertSame(list.get(2),diff.getList().get(2));
+		assertSame(existing.get(2),diff.getList().get(3));
+	}
+	
+	public void testRemoved() {
+		GasRecordListDiff diff = new GasRecordListDiff(existing,copies(1,2,4));
+		assertEquals(0,diff.getInsertedCount());
+		assertEquals(1,diff.getRemovedCount());
+		assertFalse(diff.isMoved());
+		assertTrue(diff.isStructural());
+		assertEquals(Arrays.asList(existing.get(2)),diff.getStaleRecords());
+	}
+	
+	public void testChanged() {
+		List<GasRecord> list = copies(1,2,3,4);
+		list.get(1).setCost(45d);
+		GasRecordListDiff diff = new GasRecordListDiff(existing,list);
+		assertFalse(diff.isStructural());
+		assertFalse(diff.isEmpty());
+		assertEquals(Arrays.asList(1),diff.getChangedPositions());
+		assertEquals(Arrays.asList(existing.get(1)),diff.getStaleRecords());
+		assertSame(list.get(1),diff.getList().get(1));
+		assertSame(existing.get(0),diff.getList().get(0));
+	}
+	
+	public void testChangedCalculation() {
+		List<GasRecord> list = copies(1,2,3,4);
+		GasRecordList.calculateMileage(list);
+		GasRecordListDiff diff = new GasRecordListDiff(existing,list);
+		
+		// mileage is now calculated for every record but the first
+		assertFalse(diff.isStructural());
+		assertEquals(Arrays.asList(1,2,3),diff.getChangedPositions());
+	}
+	
+	public void testMoved() {
+		// record 2 now has the highest odometer value
+		List<GasRecord> list = copies(1,3,4,2);
+		list.get(3).setOdometer(5000);
+		GasRecordListDiff diff = new GasRecordListDiff(existing,list);
+		assertEquals(0,diff.getInsertedCount());
+		assertEquals(0,diff.getRemovedCount());
+		assertTrue(diff.isMoved());
+		assertTrue(diff.isStructural());
+		assertEquals(Arrays.asList(3),diff.getChangedPositions());
+	}
+	
+	public void testMovedWithoutChange() {
+		GasRecordListDiff diff = new GasRecordListDiff(existing,copies(2,1,3,4));
+		assertTrue(diff.isMoved());
+		assertTrue(diff.getChangedPositions().isEmpty());
+		assertSame(existing.get(1),diff.getList().get(0));
+	}
+	
+	public void testEmptyLists() {
+		List<GasRecord> empty = new ArrayList<GasRecord>();
+		assertTrue(new GasRecordListDiff(empty,empty).isEmpty());
+		
+		GasRecordListDiff diff = new GasRecordListDiff(empty,copies(1,2));
+		assertEquals(2,diff.getInsertedCount());
+		
+		diff = new GasRecordListDiff(existing,empty);
+		assertEquals(4,diff.getRemovedCount());
+		assertEquals(4,diff.getStaleRecords().size());
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for NoteTags: extraction of #tags from notes text.
+ */
+public class NoteTagsTest extends TestCase {
+	
+	/**
+	 * Asserts the tags parsed from notes text.
+	 * @param notes The notes text.
+	 * @param expected The expected tags (in any order).
+	 */
+	private static void assertTags(String notes, String... expected) {
+		Set<String> tags = new TreeSet<String>(Arrays.asList(expected));
+		assertEquals(notes,tags,NoteTags.parse(notes));
+	}
+	
+	public void testNoTags() {
+		assertTags(null);
+		assertTags("");
+		assertTags("filled up at the usual station");
+	}
+	
+	public void testSingleTag() {
+		assertTags("#work","work");
+		assertTags("commute #work today","work");
+		assertTags("end of line #work","work");
+	}
+	
+	public void testMultipleTags() {
+		assertTags("#trip #premium","premium","trip");
+		assertTags("#trip,#premium;#work.","premium","trip","work");
+		assertTags("(#trip) [#work]","trip","work");
+	}
+	
+	public void testTagCharacters() {
+		assertTags("#trip-2026","trip-2026");
+		assertTags("#road_trip","road_trip");
+		assertTags("#2026","2026");
+		assertTags("#_x","_x");
+		
+		// a tag cannot start with '-'
+		assertTags("#-trip");
+		
+		// letters of other languages
+		assertTags("#caf\u00e9 #\u00fcber","caf\u00e9","\u00fcber");
+	}
+	
+	public void testCaseInsensitive() {
+		assertTags("#Work #WORK #work","work");
+		
+		// not affected by the default locale (ie. Turkish dotless i)
+		Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr","TR"));
+			assertTags("#TRIP","trip");
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+	
+	public void testNotTags() {
+		// '#' within a word or repeated
+		assertTags("email@host#anchor");
+		assertTags("item#2");
+		assertTags("##double");
+		
+		// '#' alone or followed by punctuation
+		assertTags("# work");
+		assertTags("#!");
+		assertTags("#");
+	}
+	
+	public void testDuplicates() {
+		Set<String> tags = NoteTags.parse("#trip then #trip again");
+		assertEquals(1,tags.size());
+	}
+	
+	public void testSorted() {
+		assertEquals("[alpha, beta, gamma]",NoteTags.parse("#gamma #alpha #beta").toString());
+	}
+	
+	public void testLabel() {
+		assertEquals("#work",NoteTags.getLabel("work"));
+		
+		// a label parses back to the tag
+		assertTags(NoteTags.getLabel("trip-2026"),"trip-2026");
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for QuantileEstimator: the estimates are compared with the exact 
+ * quantiles of the same values, determined by sorting them.
+ */
+public class QuantileEstimatorTest extends TestCase {
+	
+	/// number of values in each generated stream
+	private static final int SIZE = 2000;
+	
+	/**
+	 * Returns the exact quantile of a set of values (nearest rank).
+	 * @param values The values.
+	 * @param p The quantile (0 to 1).
+	 * @return The quantile value.
+	 */
+	private static double exact(double[] values, double p) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[(int)Math.round(p * (sorted.length-1))];
+	}
+	
+	/**
+	 * Returns the estimated quantile of a set of values.
+	 * @param values The values, in the order added.
+	 * @param p The quantile (0 to 1).
+	 * @return The estimate.
+	 */
+	private static double estimate(double[] values, double p) {
+		QuantileEstimator estimator = new QuantileEstimator(p);
+		for (double value : values) {
+			estimator.add(value);
+		}
+		assertEquals(values.length,estimator.getCount());
+		return estimator.getValue();
+	}
+	
+	/**
+	 * Asserts that the estimates of the 10th, 50th and 90th percentiles of 
+	 * a set of values are within a tolerance of the exact values.
+	 * @param values The values.
+	 * @param tolerance The maximum difference allowed.
+	 */
+	private static void assertAccurate(double[] values, double tolerance) {
+		double[] quantiles = {0.10, 0.50, 0.90};
+		for (double p : quantiles) {
+			double expected = exact(values,p);
+			double actual = estimate(values,p);
+			assertEquals("p=" + p,expected,actual,tolerance);
+		}
+	}
+	
+	public void testNoValues() {
+		QuantileEstimator estimator = new QuantileEstimator(0.5);
+		assertEquals(0,estimator.getCount());
+		assertTrue(Double.isNaN(estimator.getValue()));
+	}
+	
+	public void testExactForFewValues() {
+		double[] values = {7, 3, 9, 1};
+		for (int count = 1; count <= values.length; count++) {
+			double[] some = Arrays.copyOf(values,count);
+			assertEquals(exact(some,0.5),estimate(some,0.5),0);
+			assertEquals(exact(some,0.9),estimate(some,0.9),0);
+		}
+	}
+	
+	public void testFiveValues() {
+		double[] values = {31, 28, 35, 22, 30};
+		assertEquals(22,estimate(values,0.10),0);
+		assertEquals(30,estimate(values,0.50),0);
+		assertEquals(35,estimate(values,0.90),0);
+	}
+	
+	public void testMonthlyValues() {
+		// a year of monthly values (ie. mileage)
+		double[] values = {31.2, 28.4, 35.0, 22.7, 30.1, 29.8, 33.3, 27.5, 24.9, 32.6, 26.0, 30.9};
+		for (int count = 1; count <= values.length; count++) {
+			double[] some = Arrays.copyOf(values,count);
+			assertEquals("count=" + count,exact(some,0.10),estimate(some,0.10),0);
+			assertEquals("count=" + count,exact(some,0.50),estimate(some,0.50),0);
+			assertEquals("count=" + count,exact(some,0.90),estimate(some,0.90),0);
+		}
+	}
+	
+	public void testExactUpToThreshold() {
+		Random random = new Random(4);
+		double[] values = new double[QuantileEstimator.EXACT];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = 100 * random.nextDouble();
+		}
+		assertAccurate(values,0);
+	}
+	
+	public void testJustBeyondThreshold() {
+		Random random = new Random(5);
+		double[] values = new double[QuantileEstimator.EXACT + 10];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = 100 * random.nextDouble();
+		}
+		// within 5% of the range
+		assertAccurate(values,5.0);
+	}
+	
+	public void testConstantValues() {
+		double[] values = new double[SIZE];
+		Arrays.fill(values,42.5);
+		assertAccurate(values,0);
+	}
+	
+	public void testUniformValues() {
+		Random random = new Random(1);
+		double[] values = new double[SIZE];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = 100 * random.nextDouble();
+		}
+		// within 2% of the range
+		assertAccurate(values,2.0);
+	}
+	
+	public void testNormalValues() {
+		Random random = new Random(2);
+		double[] values = new double[SIZE];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = 30 + 5 * random.nextGaussian();
+		}
+		// within 0.1 standard deviations
+		assertAccurate(values,0.5);
+	}
+	
+	public void testAscendingValues() {
+		double[] values = new double[SIZE];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = n;
+		}
+		assertAccurate(values,0.02 * SIZE);
+	}
+	
+	public void testDescendingValues() {
+		double[] values = new double[SIZE];
+		for (int n = 0; n < values.length; n++) {
+			values[n] = SIZE - n;
+		}
+		assertAccurate(values,0.02 * SIZE);
+	}
+
+}
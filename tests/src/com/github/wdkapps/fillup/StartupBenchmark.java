@@ -0,0 +1,118 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Arrays;
+
+import android.app.Activity;
+import android.app.Instrumentation;
+import android.app.Instrumentation.ActivityMonitor;
+import android.content.Intent;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+
+/**
+ * Benchmark of application startup: the time from launching 
+ * StartupActivity until MainActivity has drawn its first frame. 
+ * <p>
+ * NOTE:
+ * The application process is already running when instrumented, so this
+ * measures the activity startup path (startup checks, background 
+ * initialization and the main screen) rather than process creation. 
+ * Use startup-benchmark.sh to measure cold starts. The log must already
+ * exist (ie. the application has been started once and units selected).
+ * The elapsed times are written to the log (logcat tag StartupBenchmark).
+ */
+public class StartupBenchmark extends InstrumentationTestCase {
+	
+	/// logcat tag for the results
+	private static final String TAG = "StartupBenchmark";
+	
+	/// number of measured launches (after one launch to warm up)
+	private static final int LAUNCHES = 10;
+	
+	/// maximum time to wait for MainActivity to start (milliseconds)
+	private static final long TIMEOUT = 10000;
+	
+	/**
+	 * Launches the application and waits for MainActivity to draw its 
+	 * first frame, then finishes it. 
+	 * <p>
+	 * NOTE: 
+	 * The main thread becomes idle once MainActivity has been created, 
+	 * resumed and drawn (drawing is a main thread message posted when the 
+	 * window is shown), so the launch ends when the main thread is idle.
+	 * @return The elapsed time (milliseconds).
+	 */
+	private long launch() {
+		Instrumentation instrumentation = getInstrumentation();
+		ActivityMonitor monitor = instrumentation.addMonitor(MainActivity.class.getName(),null,false);
+		Activity main = null;
+		try {
+			Intent intent = new Intent(Intent.ACTION_MAIN);
+			intent.addCategory(Intent.CATEGORY_LAUNCHER);
+			intent.setClassName(instrumentation.getTargetContext(),StartupActivity.class.getName());
+			intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+			
+			long start = SystemClock.uptimeMillis();
+			instrumentation.getTargetContext().startActivity(intent);
+			main = monitor.waitForActivityWithTimeout(TIMEOUT);
+			assertNotNull("MainActivity not started (first start after install or update?)",main);
+			instrumentation.waitForIdleSync();
+			return SystemClock.uptimeMillis() - start;
+			
+		} finally {
+			instrumentation.removeMonitor(monitor);
+			if (main != null) {
+				main.finish();
+				instrumentation.waitForIdleSync();
+			}
+		}
+	}
+	
+	/**
+	 * Launches the application repeatedly and logs the time of each 
+	 * launch, along with the minimum, median and maximum. 
+	 */
+	public void testStartup() {
+		
+		assertTrue("start the application once (and select units) before the benchmark",GasLog.exists());
+		
+		// the first launch loads classes and resources not yet used by the process
+		long first = launch();
+		
+		long[] times = new long[LAUNCHES];
+		for (int n = 0; n < LAUNCHES; n++) {
+			times[n] = launch();
+		}
+		
+		String launches = Arrays.toString(times);
+		Arrays.sort(times);
+		Log.i(TAG,"StartupActivity to MainActivity first frame:" +
+				" first " + first + " ms," +
+				" min " + times[0] + " ms," +
+				" median " + times[LAUNCHES/2] + " ms," + 
+				" max " + times[LAUNCHES-1] + " ms," + 
+				" launches " + launches);
+	}
+
+}
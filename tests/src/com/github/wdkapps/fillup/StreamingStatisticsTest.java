@@ -0,0 +1,115 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for StreamingStatistics: the results are compared with values 
+ * calculated directly from the stored values.
+ */
+public class StreamingStatisticsTest extends TestCase {
+	
+	public void testNoValues() {
+		StreamingStatistics stats = new StreamingStatistics();
+		assertEquals(0,stats.getCount());
+		assertTrue(Double.isNaN(stats.getMinimum()));
+		assertTrue(Double.isNaN(stats.getMaximum()));
+		assertTrue(Double.isNaN(stats.getMean()));
+		assertTrue(Double.isNaN(stats.getStandardDeviation()));
+		assertTrue(Double.isNaN(stats.getMedian()));
+	}
+	
+	public void testOneValue() {
+		StreamingStatistics stats = new StreamingStatistics();
+		stats.add(12.5);
+		assertEquals(1,stats.getCount());
+		assertEquals(12.5,stats.getMinimum(),0);
+		assertEquals(12.5,stats.getMaximum(),0);
+		assertEquals(12.5,stats.getMean(),0);
+		assertTrue(Double.isNaN(stats.getStandardDeviation()));
+		assertEquals(12.5,stats.getMedian(),0);
+	}
+	
+	public void testKnownValues() {
+		double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+		StreamingStatistics stats = new StreamingStatistics();
+		for (double value : values) {
+			stats.add(value);
+		}
+		assertEquals(8,stats.getCount());
+		assertEquals(2,stats.getMinimum(),0);
+		assertEquals(9,stats.getMaximum(),0);
+		assertEquals(5,stats.getMean(),1e-12);
+		// sample variance = 32/7
+		assertEquals(Math.sqrt(32.0/7.0),stats.getStandardDeviation(),1e-12);
+	}
+	
+	public void testMatchesTwoPassCalculation() {
+		Random random = new Random(3);
+		double[] values = new double[1000];
+		StreamingStatistics stats = new StreamingStatistics();
+		for (int n = 0; n < values.length; n++) {
+			values[n] = 20 + 10 * random.nextDouble();
+			stats.add(values[n]);
+		}
+		
+		double sum = 0;
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		for (double value : values) {
+			sum += value;
+			min = Math.min(min,value);
+			max = Math.max(max,value);
+		}
+		double mean = sum / values.length;
+		double squares = 0;
+		for (double value : values) {
+			squares += (value - mean) * (value - mean);
+		}
+		double deviation = Math.sqrt(squares / (values.length - 1));
+		
+		assertEquals(min,stats.getMinimum(),0);
+		assertEquals(max,stats.getMaximum(),0);
+		assertEquals(mean,stats.getMean(),1e-9);
+		assertEquals(deviation,stats.getStandardDeviation(),1e-9);
+		
+		// percentile estimates are ordered and within the range
+		assertTrue(stats.getPercentile10() >= min);
+		assertTrue(stats.getPercentile10() <= stats.getMedian());
+		assertTrue(stats.getMedian() <= stats.getPercentile90());
+		assertTrue(stats.getPercentile90() <= max);
+	}
+	
+	public void testLargeOffsetIsStable() {
+		// values with a large common offset (ie. odometer readings) 
+		StreamingStatistics stats = new StreamingStatistics();
+		double[] values = {1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16};
+		for (double value : values) {
+			stats.add(value);
+		}
+		assertEquals(1e9 + 10,stats.getMean(),1e-6);
+		assertEquals(Math.sqrt(30),stats.getStandardDeviation(),1e-6);
+	}
+
+}
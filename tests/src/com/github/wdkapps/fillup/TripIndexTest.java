@@ -0,0 +1,173 @@
+/*
+ * *****************************************************************************
+ * Copyright 2014 William D. Kraemer
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *    
+ * ****************************************************************************
+ */
+
+
+package com.github.wdkapps.fillup;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for TripIndex: totals for periods whose boundaries fall exactly
+ * on the end dates of trips (start inclusive, end exclusive).
+ */
+public class TripIndexTest extends TestCase {
+	
+	/// the gas records (full tank each month, 300 miles apart)
+	private List<GasRecord> records;
+	
+	/// the index of the records
+	private TripIndex index;
+	
+	/**
+	 * Returns a Date at a specific time.
+	 */
+	private static Date date(int year, int month, int day, int hour, int minute) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(year,month,day,hour,minute,0);
+		return calendar.getTime();
+	}
+	
+	/**
+	 * Returns a Date at the start of a day.
+	 */
+	private static Date date(int year, int month, int day) {
+		return date(year,month,day,0,0);
+	}
+	
+	/**
+	 * Creates a full tank gas record.
+	 */
+	private static GasRecord record(int id, Date date, int odometer, float gallons, double cost) {
+		GasRecord record = new GasRecord();
+		record.setID(id);
+		record.setDate(date);
+		record.setOdometer(odometer);
+		record.setGallons(gallons);
+		record.setCost(cost);
+		record.setFullTank(true);
+		return record;
+	}
+	
+	/**
+	 * Creates the records. The trips end on Jan 1 (the first record), 
+	 * Feb 1, Mar 1 and at 23:59 on Mar 31.
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		records = new ArrayList<GasRecord>();
+		records.add(record(1,date(2014,Calendar.JANUARY,1),1000,10f,30d));
+		records.add(record(2,date(2014,Calendar.FEBRUARY,1),1300,10f,30d));
+		records.add(record(3,date(2014,Calendar.MARCH,1),1600,12f,36d));
+		records.add(record(4,date(2014,Calendar.MARCH,31,23,59),1900,8f,24d));
+		GasRecordList.calculateMileage(records);
+		index = new TripIndex(records);
+	}
+	
+	/**
+	 * Asserts the totals for a period.
+	 */
+	private static void assertTotals(PeriodTotals totals, int distance, float gallons, double cost) {
+		assertEquals(distance,totals.getDistance());
+		assertEquals(gallons,totals.getGallons(),0.001f);
+		assertEquals(cost,totals.getCost(),0.001d);
+	}
+	
+	public void testStartIsInclusive() {
+		// includes the trip ending at midnight Feb 1, but not Mar 1
+		PeriodTotals totals = index.getTotals(date(2014,Calendar.FEBRUARY,1),date(2014,Calendar.MARCH,1));
+		assertTotals(totals,300,10f,30d);
+	}
+	
+	public void testEndIsExclusive() {
+		// the trip ending at midnight Jan 1 is not in December
+		PeriodTotals totals = index.getTotals(date(2013,Calendar.DECEMBER,1),date(2014,Calendar.JANUARY,1));
+		assertTotals(totals,0,0f,0d);
+	}
+	
+	public void testLastMinuteOfMonth() {
+		PeriodTotals totals = index.getTotals(date(2014,Calendar.MARCH,1),date(2014,Calendar.APRIL,1));
+		assertTotals(totals,600,20f,60d);
+		
+		// one minute earlier excludes the last trip
+		totals = index.getTotals(date(2014,Calendar.MARCH,1),date(2014,Calendar.MARCH,31,23,59));
+		assertTotals(totals,300,12f,36d);
+	}
+	
+	public void testAllTrips() {
+		// the first record is a trip of zero distance (as for MonthlyTrips)
+		PeriodTotals totals = index.getTotals(date(2014,Calendar.JANUARY,1),date(2015,Calendar.JANUARY,1));
+		assertTotals(totals,900,40f,120d);
+		assertEquals(3d,totals.getPrice(),0.001d);
+	}
+	
+	public void testEmptyPeriods() {
+		Date date = date(2014,Calendar.FEBRUARY,1);
+		assertTotals(index.getTotals(date,date),0,0f,0d);
+		
+		// end before start
+		assertTotals(index.getTotals(date(2014,Calendar.APRIL,1),date(2014,Calendar.JANUARY,1)),0,0f,0d);
+		
+		// after the last trip
+		assertTotals(index.getTotals(date(2014,Calendar.APRIL,1),date(2014,Calendar.MAY,1)),0,0f,0d);
+		assertEquals(0d,index.getTotals(date(2014,Calendar.APRIL,1),date(2014,Calendar.MAY,1)).getPrice(),0d);
+	}
+	
+	public void testMatchesIteration() {
+		// totals for each day of the quarter match a sum over the trips 
+		List<TripRecord> trips = new ArrayList<TripRecord>();
+		trips.add(new TripRecord(records.get(0),records.get(0)));
+		for (int n = 1; n < records.size(); n++) {
+			trips.add(new TripRecord(records.get(n-1),records.get(n)));
+		}
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(date(2013,Calendar.DECEMBER,31));
+		while (calendar.getTime().before(date(2014,Calendar.APRIL,2))) {
+			Date start = calendar.getTime();
+			calendar.add(Calendar.DAY_OF_MONTH,1);
+			Date end = calendar.getTime();
+			int distance = 0;
+			for (TripRecord trip : trips) {
+				Date date = trip.getEndDate();
+				if (!date.before(start) && date.before(end)) {
+					distance += trip.getDistance();
+				}
+			}
+			assertEquals(start.toString(),distance,index.getTotals(start,end).getDistance());
+		}
+	}
+	
+	public void testSelectedRecords() {
+		// only the trip ending at record 3
+		TripIndex selected = new TripIndex(records,Collections.singleton(3));
+		PeriodTotals totals = selected.getTotals(date(2014,Calendar.JANUARY,1),date(2015,Calendar.JANUARY,1));
+		assertTotals(totals,300,12f,36d);
+		totals = selected.getTotals(date(2014,Calendar.MARCH,2),date(2015,Calendar.JANUARY,1));
+		assertTotals(totals,0,0f,0d);
+	}
+
+}
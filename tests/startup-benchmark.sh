@@ -0,0 +1,39 @@
+#!/bin/sh
+#
+# Measures the cold start time of the application on a connected device:
+# the time from launching StartupActivity in a new process until the 
+# first frame of MainActivity is displayed (StartupActivity finishes 
+# without drawing, so "am start -W" reports the time to MainActivity as 
+# TotalTime). The log must already exist (the application has been 
+# started once and units selected), or the units dialog is measured.
+#
+# Usage: startup-benchmark.sh [launches]   (default 10)
+#
+# See also StartupBenchmark, which measures the activity startup path
+# within a running process.
+
+PACKAGE=com.github.wdkapps.fillup
+COMPONENT=$PACKAGE/.StartupActivity
+LAUNCHES=${1:-10}
+
+times=""
+n=0
+while [ $n -lt $LAUNCHES ]; do
+	n=$((n+1))
+	
+	# kill the process so that each launch is a cold start
+	adb shell am force-stop $PACKAGE
+	sleep 2
+	
+	t=$(adb shell am start -W -n $COMPONENT | tr -d '\r' | awk '/^TotalTime:/ { print $2 }')
+	echo "launch $n: ${t:-?} ms"
+	times="$times $t"
+done
+
+echo $times | tr ' ' '\n' | sort -n | awk '
+	NF { t[++count] = $1; sum += $1 }
+	END {
+		if (count == 0) { print "no launches measured (is a device connected?)"; exit 1 }
+		printf "cold start: min %d ms, median %d ms, mean %d ms, max %d ms (%d launches)\n",
+			t[1], t[int((count+1)/2)], sum/count, t[count], count
+	}'